@@ -0,0 +1,88 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.union.adt.graph.BatchDistances;
+
+/**
+ * Benchmarks a batch of path length queries answered by
+ * BatchDistances against the same batch asked one pathLength at a
+ * time.  The pairs' sources are drawn from a fixed number of vertices,
+ * since sharing sources is what a batch exploits.  perCall on large
+ * graphs takes minutes; narrow edges on the command line.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BatchBenchmark
+{
+    /** Pairs in each batch. */
+    static final int PAIRS = 100000;
+
+    @Benchmark
+    public int[] batch(GraphState s, Pairs pairs)
+    {
+        return BatchDistances.pathLengths(s.graph, pairs.from, pairs.to);
+    }
+
+    @Benchmark
+    public int[] perCall(GraphState s, Pairs pairs)
+    {
+        int[] lengths = new int[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            lengths[i] = s.graph.pathLength(pairs.from.get(i), pairs.to.get(i));
+        }
+        return lengths;
+    }
+
+    /**
+     * The batch of pairs, made once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class Pairs
+    {
+        @Param({"100", "10000"})
+        public int sources;
+
+        List<Integer> from;
+        List<Integer> to;
+
+        @Setup(Level.Trial)
+        public void generate(GraphState s)
+        {
+            GraphShape.EdgeList list = s.edgeList;
+            Random random = new Random(sources);
+            Integer[] chosen = new Integer[sources];
+            for (int i = 0; i < sources; i++) {
+                chosen[i] = s.vertices[list.from[random.nextInt(list.size)]];
+            }
+            from = new ArrayList<Integer>(PAIRS);
+            to = new ArrayList<Integer>(PAIRS);
+            for (int i = 0; i < PAIRS; i++) {
+                from.add(chosen[random.nextInt(sources)]);
+                to.add(s.vertices[list.to[random.nextInt(list.size)]]);
+            }
+        }
+    }
+}
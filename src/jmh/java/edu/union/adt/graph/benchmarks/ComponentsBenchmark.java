@@ -0,0 +1,54 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.union.adt.graph.StronglyConnectedComponents;
+import edu.union.adt.graph.TopologicalSort;
+
+/**
+ * Benchmarks for StronglyConnectedComponents and TopologicalSort, each
+ * on one thread and in parallel.  Both include taking the snapshot
+ * they work on.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ComponentsBenchmark
+{
+    @Benchmark
+    public int tarjan(GraphState s)
+    {
+        return new StronglyConnectedComponents<Integer>(s.graph).count();
+    }
+
+    @Benchmark
+    public int forwardBackward(GraphState s)
+    {
+        return StronglyConnectedComponents.parallel(s.graph).count();
+    }
+
+    @Benchmark
+    public int kahn(GraphState s)
+    {
+        return new TopologicalSort<Integer>(s.graph).numLevels();
+    }
+
+    @Benchmark
+    public int parallelKahn(GraphState s)
+    {
+        return TopologicalSort.parallel(s.graph).numLevels();
+    }
+}
@@ -0,0 +1,80 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.union.adt.graph.GraphFile;
+import edu.union.adt.graph.IntegerCodec;
+import edu.union.adt.graph.MappedGraph;
+
+/**
+ * Benchmarks for saving a graph to a GraphFile and opening it again.
+ * Compare open with MutationBenchmark.load, which is what rebuilding
+ * a graph from scratch costs.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileBenchmark
+{
+    @Benchmark
+    public void write(GraphState s, Saved f) throws IOException
+    {
+        GraphFile.write(s.graph, f.file, f.codec);
+    }
+
+    /**
+     * Opens the file and answers one path query, which pages in only
+     * what that query touches.
+     */
+    @Benchmark
+    public int openAndQuery(GraphState s, Saved f) throws IOException
+    {
+        MappedGraph<Integer> g = GraphFile.open(f.file, f.codec);
+        int q = s.nextQuery();
+        return g.pathLength(s.from(q), s.to(q));
+    }
+
+    /**
+     * The graph, already saved to a temporary file.
+     */
+    @State(Scope.Benchmark)
+    public static class Saved
+    {
+        File file;
+        IntegerCodec codec = new IntegerCodec();
+
+        @Setup(Level.Trial)
+        public void save(GraphState s) throws IOException
+        {
+            file = File.createTempFile("graph", ".bin");
+            GraphFile.write(Implementations.load(s.implementation, s.edgeList, s.vertices),
+                            file, codec);
+        }
+
+        @TearDown(Level.Trial)
+        public void delete()
+        {
+            file.delete();
+        }
+    }
+}
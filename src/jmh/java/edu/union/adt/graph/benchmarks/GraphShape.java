@@ -0,0 +1,144 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.Random;
+
+/**
+ * The shapes of graph the benchmarks are run against.  Each shape
+ * generates an edge list over int vertex ids with (about) the
+ * requested number of edges.  Generation is seeded, so every
+ * implementation is measured on exactly the same graph.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public enum GraphShape
+{
+    /** Uniformly random edges, average out-degree eight. */
+    RANDOM {
+        EdgeList generate(int edges, Random random)
+        {
+            int n = Math.max(2, edges / 8);
+            EdgeList list = new EdgeList(n, edges);
+            for (int i = 0; i < edges; i++) {
+                list.add(random.nextInt(n), random.nextInt(n));
+            }
+            return list;
+        }
+    },
+
+    /**
+     * Preferential attachment: each new edge points at an endpoint
+     * of an earlier edge, so a few hubs end up with most of the
+     * in-edges and the degree distribution follows a power law.
+     */
+    POWER_LAW {
+        EdgeList generate(int edges, Random random)
+        {
+            int n = Math.max(2, edges / 8);
+            EdgeList list = new EdgeList(n, edges);
+            list.add(0, 1);
+            for (int i = 1; i < edges; i++) {
+                int from = random.nextInt(n);
+                int pick = random.nextInt(2 * i);
+                int to = pick % 2 == 0 ? list.from[pick / 2] : list.to[pick / 2];
+                list.add(from, to);
+            }
+            return list;
+        }
+    },
+
+    /** A square grid with edges to the right and downward neighbors. */
+    GRID {
+        EdgeList generate(int edges, Random random)
+        {
+            int side = Math.max(2, (int) Math.sqrt(edges / 2.0) + 1);
+            EdgeList list = new EdgeList(side * side, edges);
+            for (int r = 0; r < side && list.size < edges; r++) {
+                for (int c = 0; c < side && list.size < edges; c++) {
+                    int v = r * side + c;
+                    if (c + 1 < side) {
+                        list.add(v, v + 1);
+                    }
+                    if (r + 1 < side && list.size < edges) {
+                        list.add(v, v + side);
+                    }
+                }
+            }
+            return list;
+        }
+    },
+
+    /** A single long path: the worst case for traversal depth. */
+    CHAIN {
+        EdgeList generate(int edges, Random random)
+        {
+            EdgeList list = new EdgeList(edges + 1, edges);
+            for (int i = 0; i < edges; i++) {
+                list.add(i, i + 1);
+            }
+            return list;
+        }
+    },
+
+    /** Few vertices, each connected to nearly every other. */
+    DENSE {
+        EdgeList generate(int edges, Random random)
+        {
+            int n = Math.max(2, (int) Math.ceil(Math.sqrt(edges)) + 1);
+            EdgeList list = new EdgeList(n, edges);
+            for (int u = 0; u < n && list.size < edges; u++) {
+                for (int v = 0; v < n && list.size < edges; v++) {
+                    if (u != v) {
+                        list.add(u, v);
+                    }
+                }
+            }
+            return list;
+        }
+    };
+
+    /**
+     * Generates the edges for this shape.
+     *
+     * @param edges the number of edges wanted
+     * @param random the source of randomness
+     * @return the generated edges
+     */
+    abstract EdgeList generate(int edges, Random random);
+
+    /**
+     * Generates the edges for this shape from a fixed seed.
+     *
+     * @param edges the number of edges wanted
+     * @return the generated edges
+     */
+    public EdgeList generate(int edges)
+    {
+        return generate(edges, new Random(260L));
+    }
+
+    /**
+     * A list of edges as parallel int arrays.
+     */
+    public static class EdgeList
+    {
+        public final int vertices;
+        public final int[] from;
+        public final int[] to;
+        public int size;
+
+        EdgeList(int vertices, int capacity)
+        {
+            this.vertices = vertices;
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+        }
+
+        void add(int u, int v)
+        {
+            from[size] = u;
+            to[size] = v;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.union.adt.graph.Graph;
+
+/**
+ * The graph under test, parameterized by implementation, shape and
+ * size.  The edge list is generated once per trial; the graph itself
+ * is reloaded before every iteration so that benchmarks which mutate
+ * it always start from the same graph.
+ *
+ * The full parameter matrix is large.  Narrow it on the command
+ * line, e.g. -p implementation=csr -p shape=RANDOM -p edges=1000000.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@State(Scope.Benchmark)
+public class GraphState
+{
+    /** Number of precomputed (from, to) query pairs to cycle through. */
+    static final int QUERIES = 1024;
+
+    @Param({"hash", "indexed", "undirected", "csr", "concurrent", "offheap", "cached", "instrumented",
+            "weighted", "builder-balanced", "builder-read-mostly", "builder-write-heavy",
+            "builder-memory-constrained"})
+    public String implementation;
+
+    @Param({"RANDOM", "POWER_LAW", "GRID", "CHAIN", "DENSE"})
+    public GraphShape shape;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    public GraphShape.EdgeList edgeList;
+    public Integer[] vertices;
+    public Graph<Integer> graph;
+
+    private Integer[] queryFrom;
+    private Integer[] queryTo;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        edgeList = shape.generate(edges);
+        vertices = Implementations.vertices(edgeList.vertices);
+        Random random = new Random(edges);
+        queryFrom = new Integer[QUERIES];
+        queryTo = new Integer[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryFrom[i] = vertices[edgeList.from[random.nextInt(edgeList.size)]];
+            queryTo[i] = vertices[edgeList.to[random.nextInt(edgeList.size)]];
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void load()
+    {
+        graph = Implementations.load(implementation, edgeList, vertices);
+        nextQuery = 0;
+    }
+
+    /**
+     * Moves on to the next query pair.
+     *
+     * @return the index of the pair to use
+     */
+    public int nextQuery()
+    {
+        int q = nextQuery;
+        nextQuery = (q + 1) & (QUERIES - 1);
+        return q;
+    }
+
+    public Integer from(int query)
+    {
+        return queryFrom[query];
+    }
+
+    public Integer to(int query)
+    {
+        return queryTo[query];
+    }
+}
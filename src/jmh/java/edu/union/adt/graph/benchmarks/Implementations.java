@@ -0,0 +1,158 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.BulkLoader;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphBuilder;
+import edu.union.adt.graph.GraphFactory;
+
+/**
+ * Maps the names used in the benchmarks' "implementation" parameter
+ * to the GraphFactory method that creates that kind of graph.  Add a
+ * line here (and to the @Param list in GraphState) when GraphFactory learns a new
+ * implementation.  Names of the form "builder-read-mostly" build the
+ * graph with GraphFactory.builder for that workload, told the size of
+ * the edge list when there is one.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class Implementations
+{
+    /**
+     * Creates an empty graph.
+     *
+     * @param name the implementation name, as used in @Param
+     * @return a new, empty graph of that kind
+     */
+    public static <V> Graph<V> create(String name)
+    {
+        return create(name, 0, 0);
+    }
+
+    /**
+     * Creates an empty graph, passing the expected size on to the
+     * builder for the "builder-" names.
+     *
+     * @param name the implementation name, as used in @Param
+     * @param expectedVertices the number of vertices to be added
+     * @param expectedEdges the number of edges to be added
+     * @return a new, empty graph of that kind
+     */
+    public static <V> Graph<V> create(String name, int expectedVertices, int expectedEdges)
+    {
+        if (name.startsWith("builder-")) {
+            String workload = name.substring("builder-".length()).toUpperCase().replace('-', '_');
+            return GraphFactory.<V>builder()
+                .expectedVertices(expectedVertices)
+                .expectedEdges(expectedEdges)
+                .workload(GraphBuilder.Workload.valueOf(workload))
+                .build();
+        } else if (name.equals("hash")) {
+            return GraphFactory.<V>createGraph();
+        } else if (name.equals("indexed")) {
+            return GraphFactory.<V>createIndexedGraph();
+        } else if (name.equals("undirected")) {
+            return GraphFactory.<V>createUndirectedGraph();
+        } else if (name.equals("csr")) {
+            return GraphFactory.<V>createCsrGraph();
+        } else if (name.equals("concurrent")) {
+            return GraphFactory.<V>createConcurrentGraph();
+        } else if (name.equals("offheap")) {
+            return GraphFactory.<V>createOffHeapGraph();
+        } else if (name.equals("cached")) {
+            return GraphFactory.<V>createCachingGraph(GraphFactory.<V>createGraph());
+        } else if (name.equals("weighted")) {
+            return GraphFactory.<V>createWeightedGraph();
+        } else if (name.equals("instrumented")) {
+            return GraphFactory.<V>createInstrumentedGraph(GraphFactory.<V>createGraph());
+        }
+        throw new IllegalArgumentException("Unknown graph implementation: " + name);
+    }
+
+    /**
+     * Creates an empty graph of String vertices.  Besides the names
+     * create knows, this takes "string" for the graph from
+     * GraphFactory.createStringGraph, which holds only Strings and so
+     * cannot stand in for the Integer graphs of GraphState.
+     *
+     * @param name the implementation name, as used in @Param
+     * @return a new, empty graph of that kind
+     */
+    public static Graph<String> createForStrings(String name)
+    {
+        if (name.equals("string")) {
+            return GraphFactory.createStringGraph();
+        }
+        return Implementations.<String>create(name);
+    }
+
+    /**
+     * Creates a graph of the given kind holding the given edges.
+     *
+     * @param name the implementation name, as used in @Param
+     * @param edges the edges to add
+     * @param vertices the boxed vertex for each id
+     * @return the loaded graph
+     */
+    public static Graph<Integer> load(String name, GraphShape.EdgeList edges,
+                                      Integer[] vertices)
+    {
+        Graph<Integer> g = create(name, edges.vertices, edges.size);
+        for (int i = 0; i < edges.size; i++) {
+            g.addEdge(vertices[edges.from[i]], vertices[edges.to[i]]);
+        }
+        return g;
+    }
+
+    /**
+     * Creates a graph of the given kind holding the given edges, added
+     * all at once through a BulkLoader.
+     *
+     * @param name the implementation name, as used in @Param
+     * @param edges the edges to add
+     * @param vertices the boxed vertex for each id
+     * @return the loaded graph
+     */
+    public static Graph<Integer> bulkLoad(String name, GraphShape.EdgeList edges,
+                                          Integer[] vertices)
+    {
+        BulkLoader<Integer> loader = new BulkLoader<Integer>(edges.vertices, edges.size)
+            .parallel(true);
+        for (int i = 0; i < edges.size; i++) {
+            loader.addEdge(vertices[edges.from[i]], vertices[edges.to[i]]);
+        }
+        if (name.equals("csr")) {
+            return loader.buildCsrGraph();
+        }
+        return loader.addTo(Implementations.<Integer>create(name, edges.vertices, edges.size));
+    }
+
+    /**
+     * @return the boxed Integer for each id, so boxing is not measured.
+     */
+    public static Integer[] vertices(int count)
+    {
+        Integer[] vertices = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            vertices[i] = Integer.valueOf(i);
+        }
+        return vertices;
+    }
+
+    /**
+     * @return a distinct String name for each id, so building the
+     * names is not measured.
+     */
+    public static String[] names(int count)
+    {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = "vertex " + i;
+        }
+        return names;
+    }
+
+    private Implementations()
+    {
+    }
+}
@@ -0,0 +1,120 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.union.adt.graph.Graph;
+
+/**
+ * Benchmarks for the Graph operations that change the graph.  These
+ * run as single-shot batches: GraphState reloads the graph before
+ * each iteration and every invocation in the batch makes one more
+ * change to it, so each batch measures the same sequence of changes.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = MutationBenchmark.BATCH)
+@Measurement(iterations = 5, batchSize = MutationBenchmark.BATCH)
+@Fork(1)
+public class MutationBenchmark
+{
+    /** Number of changes made per measured batch. */
+    static final int BATCH = 1000;
+
+    @Benchmark
+    public void addEdge(GraphState s, Mutations m)
+    {
+        int i = m.next();
+        s.graph.addEdge(s.vertices[m.newFrom[i]], s.vertices[m.newTo[i]]);
+    }
+
+    @Benchmark
+    public void removeEdge(GraphState s, Mutations m)
+    {
+        int i = m.next();
+        s.graph.removeEdge(s.vertices[s.edgeList.from[i]], s.vertices[s.edgeList.to[i]]);
+    }
+
+    @Benchmark
+    public void removeVertex(GraphState s, Mutations m)
+    {
+        s.graph.removeVertex(s.vertices[s.edgeList.from[m.next()]]);
+    }
+
+    /**
+     * Loads a whole graph with one addEdge call per edge.
+     */
+    @Benchmark
+    @Warmup(iterations = 2, batchSize = 1)
+    @Measurement(iterations = 5, batchSize = 1)
+    public Graph<Integer> load(GraphState s)
+    {
+        return Implementations.load(s.implementation, s.edgeList, s.vertices);
+    }
+
+    /**
+     * Loads a whole graph through a BulkLoader, for comparison with
+     * load.
+     */
+    @Benchmark
+    @Warmup(iterations = 2, batchSize = 1)
+    @Measurement(iterations = 5, batchSize = 1)
+    public Graph<Integer> bulkLoad(GraphState s)
+    {
+        return Implementations.bulkLoad(s.implementation, s.edgeList, s.vertices);
+    }
+
+    /**
+     * The position within the current batch, plus edges that are not
+     * (usually) in the graph yet for addEdge to add.
+     */
+    @State(Scope.Thread)
+    public static class Mutations
+    {
+        int[] newFrom;
+        int[] newTo;
+        private int next;
+        private int size;
+
+        @Setup(Level.Trial)
+        public void generate(GraphState s)
+        {
+            Random random = new Random(BATCH);
+            newFrom = new int[BATCH];
+            newTo = new int[BATCH];
+            for (int i = 0; i < BATCH; i++) {
+                newFrom[i] = random.nextInt(s.edgeList.vertices);
+                newTo[i] = random.nextInt(s.edgeList.vertices);
+            }
+            size = s.edgeList.size;
+        }
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            next = 0;
+        }
+
+        int next()
+        {
+            int i = next;
+            next = (i + 1) % Math.min(BATCH, size);
+            return i;
+        }
+    }
+}
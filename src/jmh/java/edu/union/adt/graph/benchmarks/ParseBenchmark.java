@@ -0,0 +1,120 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.union.adt.graph.BulkLoader;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphReader;
+
+/**
+ * Benchmarks for GraphReader.  The text is generated in memory once
+ * per trial, so only parsing and loading are measured.  Besides the
+ * time per parse, JMH reports the "edges" counter as edges parsed per
+ * second.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark
+{
+    @Benchmark
+    public BulkLoader<String> parse(Text text, Edges counter) throws IOException
+    {
+        BulkLoader<String> loader = new BulkLoader<String>();
+        if (text.format.equals("edgelist")) {
+            GraphReader.readEdgeList(text.channel(), loader);
+        } else {
+            GraphReader.readAdjacencyList(text.channel(), loader);
+        }
+        counter.edges += loader.numEdgesAdded();
+        return loader;
+    }
+
+    @Benchmark
+    public Graph<String> parseAndBuild(Text text, Edges counter) throws IOException
+    {
+        return parse(text, counter).buildImmutableGraph();
+    }
+
+    /**
+     * The graph as text in the chosen format.
+     */
+    @State(Scope.Benchmark)
+    public static class Text
+    {
+        @Param({"edgelist", "adjacency"})
+        public String format;
+
+        @Param({"RANDOM", "POWER_LAW"})
+        public GraphShape shape;
+
+        @Param({"100000", "1000000"})
+        public int edges;
+
+        private byte[] bytes;
+
+        @Setup(Level.Trial)
+        public void generate() throws IOException
+        {
+            GraphShape.EdgeList list = shape.generate(edges);
+            StringBuilder text = new StringBuilder();
+            if (format.equals("edgelist")) {
+                for (int i = 0; i < list.size; i++) {
+                    text.append('v').append(list.from[i]).append(' ')
+                        .append('v').append(list.to[i]).append('\n');
+                }
+            } else {
+                BulkLoader<String> loader = new BulkLoader<String>(list.vertices, list.size);
+                for (int i = 0; i < list.size; i++) {
+                    loader.addEdge("v" + list.from[i], "v" + list.to[i]);
+                }
+                text.append(loader.buildImmutableGraph().toString());
+            }
+            bytes = text.toString().getBytes("UTF-8");
+        }
+
+        ReadableByteChannel channel()
+        {
+            return Channels.newChannel(new ByteArrayInputStream(bytes));
+        }
+    }
+
+    /**
+     * Counts edges parsed, reported per second alongside the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Edges
+    {
+        public long edges;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            edges = 0;
+        }
+    }
+}
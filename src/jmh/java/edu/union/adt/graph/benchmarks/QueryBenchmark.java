@@ -0,0 +1,136 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.union.adt.graph.GraphWriter;
+import edu.union.adt.graph.NeighborVisitor;
+
+/**
+ * Benchmarks for the read-only Graph operations.  Each invocation
+ * uses the next of a fixed set of random (from, to) pairs, drawn from
+ * edge endpoints so that most vertices are real ones.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark
+{
+    @Benchmark
+    public int numEdges(GraphState s)
+    {
+        return s.graph.numEdges();
+    }
+
+    @Benchmark
+    public int degree(GraphState s)
+    {
+        return s.graph.degree(s.from(s.nextQuery()));
+    }
+
+    @Benchmark
+    public boolean hasEdge(GraphState s)
+    {
+        int q = s.nextQuery();
+        return s.graph.hasEdge(s.from(q), s.to(q));
+    }
+
+    @Benchmark
+    public void adjacentTo(GraphState s, Blackhole bh)
+    {
+        for (Integer v : s.graph.adjacentTo(s.from(s.nextQuery()))) {
+            bh.consume(v);
+        }
+    }
+
+    @Benchmark
+    public boolean forEachNeighbor(GraphState s, final Blackhole bh)
+    {
+        return s.graph.forEachNeighbor(s.from(s.nextQuery()), new NeighborVisitor<Integer>() {
+            public boolean visit(Integer v)
+            {
+                bh.consume(v);
+                return true;
+            }
+        });
+    }
+
+    @Benchmark
+    public boolean hasPath(GraphState s)
+    {
+        int q = s.nextQuery();
+        return s.graph.hasPath(s.from(q), s.to(q));
+    }
+
+    @Benchmark
+    public int pathLength(GraphState s)
+    {
+        int q = s.nextQuery();
+        return s.graph.pathLength(s.from(q), s.to(q));
+    }
+
+    @Benchmark
+    public Object getPath(GraphState s)
+    {
+        int q = s.nextQuery();
+        return s.graph.getPath(s.from(q), s.to(q));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object distancesFrom(GraphState s)
+    {
+        return s.graph.distancesFrom(s.from(s.nextQuery()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String toStringWholeGraph(GraphState s)
+    {
+        return s.graph.toString();
+    }
+
+    /**
+     * Streams the whole graph through GraphWriter to a Writer that
+     * throws the text away, so only the writing is measured.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void writeWholeGraph(GraphState s, final Blackhole bh) throws IOException
+    {
+        GraphWriter.write(s.graph, new Writer() {
+            public void write(char[] chars, int offset, int length)
+            {
+                bh.consume(length);
+            }
+
+            public void write(String str, int offset, int length)
+            {
+                bh.consume(length);
+            }
+
+            public void flush()
+            {
+            }
+
+            public void close()
+            {
+            }
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.union.adt.graph.ReachabilityIndex;
+
+/**
+ * Benchmarks for ReachabilityIndex, to compare with
+ * QueryBenchmark.hasPath on the same graphs.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReachabilityBenchmark
+{
+    @Benchmark
+    public boolean hasPath(GraphState s, Index index)
+    {
+        int q = s.nextQuery();
+        return index.index.hasPath(s.from(q), s.to(q));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ReachabilityIndex<Integer> build(GraphState s)
+    {
+        return new ReachabilityIndex<Integer>(s.graph);
+    }
+
+    /**
+     * An index of the graph under test, rebuilt whenever it is.
+     */
+    @State(Scope.Benchmark)
+    public static class Index
+    {
+        ReachabilityIndex<Integer> index;
+
+        @Setup(Level.Iteration)
+        public void build(GraphState s)
+        {
+            index = new ReachabilityIndex<Integer>(s.graph);
+        }
+    }
+}
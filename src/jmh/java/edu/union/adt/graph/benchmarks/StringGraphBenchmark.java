@@ -0,0 +1,109 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.union.adt.graph.Graph;
+
+/**
+ * Benchmarks for graphs of String vertices, comparing the graph from
+ * GraphFactory.createStringGraph, which keeps the names as bytes in
+ * one array, with graphs that hold the String objects themselves.
+ * Each query looks its vertices up by an equal but distinct String,
+ * as a caller reading names from input would.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringGraphBenchmark
+{
+    @Benchmark
+    public Graph<String> load(Names s)
+    {
+        return s.load();
+    }
+
+    @Benchmark
+    public boolean hasEdge(Names s)
+    {
+        int q = s.nextQuery();
+        return s.graph.hasEdge(s.queryFrom[q], s.queryTo[q]);
+    }
+
+    @Benchmark
+    public int pathLength(Names s)
+    {
+        int q = s.nextQuery();
+        return s.graph.pathLength(s.queryFrom[q], s.queryTo[q]);
+    }
+
+    /**
+     * A RANDOM edge list over String names and the graph loaded from
+     * it, built once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class Names
+    {
+        @Param({"hash", "csr", "string"})
+        public String implementation;
+
+        @Param({"1000", "100000", "1000000"})
+        public int edges;
+
+        GraphShape.EdgeList edgeList;
+        String[] names;
+        Graph<String> graph;
+        String[] queryFrom;
+        String[] queryTo;
+        private int nextQuery;
+
+        @Setup(Level.Trial)
+        public void build()
+        {
+            edgeList = GraphShape.RANDOM.generate(edges);
+            names = Implementations.names(edgeList.vertices);
+            graph = load();
+            Random random = new Random(edges);
+            queryFrom = new String[GraphState.QUERIES];
+            queryTo = new String[GraphState.QUERIES];
+            for (int i = 0; i < GraphState.QUERIES; i++) {
+                queryFrom[i] = new String(names[edgeList.from[random.nextInt(edgeList.size)]]);
+                queryTo[i] = new String(names[edgeList.to[random.nextInt(edgeList.size)]]);
+            }
+        }
+
+        Graph<String> load()
+        {
+            Graph<String> g = Implementations.createForStrings(implementation);
+            for (int i = 0; i < edgeList.size; i++) {
+                g.addEdge(names[edgeList.from[i]], names[edgeList.to[i]]);
+            }
+            return g;
+        }
+
+        int nextQuery()
+        {
+            int q = nextQuery;
+            nextQuery = (q + 1) & (GraphState.QUERIES - 1);
+            return q;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.union.adt.graph.Heuristic;
+import edu.union.adt.graph.WeightedArrayGraph;
+
+/**
+ * Benchmarks for cheapest-path queries on a GRID-shaped graph made
+ * two-way, like a road map, with random weights from 10 to 12.  This
+ * compares Dijkstra's algorithm with A* guided by ten times the
+ * Manhattan distance, which never overestimates on such a grid.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightedBenchmark
+{
+    @Benchmark
+    public double dijkstra(Grid grid)
+    {
+        int q = grid.nextQuery();
+        return grid.graph.cost(grid.queryFrom[q], grid.queryTo[q]);
+    }
+
+    @Benchmark
+    public double aStar(Grid grid)
+    {
+        int q = grid.nextQuery();
+        return grid.graph.cost(grid.queryFrom[q], grid.queryTo[q], grid.manhattan);
+    }
+
+    /**
+     * A weighted grid and query pairs, built once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class Grid
+    {
+        @Param({"1000", "100000", "1000000"})
+        public int edges;
+
+        WeightedArrayGraph<Integer> graph;
+        Heuristic<Integer> manhattan;
+        Integer[] queryFrom;
+        Integer[] queryTo;
+        private int nextQuery;
+
+        @Setup(Level.Trial)
+        public void build()
+        {
+            GraphShape.EdgeList list = GraphShape.GRID.generate(edges);
+            final int side = (int) Math.round(Math.sqrt(list.vertices));
+            Integer[] vertices = Implementations.vertices(list.vertices);
+            Random random = new Random(edges);
+            graph = new WeightedArrayGraph<Integer>();
+            for (int i = 0; i < list.size; i++) {
+                Integer u = vertices[list.from[i]];
+                Integer v = vertices[list.to[i]];
+                graph.addEdge(u, v, 10 + random.nextInt(3));
+                graph.addEdge(v, u, 10 + random.nextInt(3));
+            }
+            manhattan = new Heuristic<Integer>() {
+                public double estimate(Integer vertex, Integer target)
+                {
+                    int v = vertex;
+                    int t = target;
+                    return 10 * (Math.abs(v / side - t / side) + Math.abs(v % side - t % side));
+                }
+            };
+            queryFrom = new Integer[GraphState.QUERIES];
+            queryTo = new Integer[GraphState.QUERIES];
+            for (int i = 0; i < GraphState.QUERIES; i++) {
+                queryFrom[i] = vertices[list.from[random.nextInt(list.size)]];
+                queryTo[i] = vertices[list.to[random.nextInt(list.size)]];
+            }
+        }
+
+        int nextQuery()
+        {
+            int q = nextQuery;
+            nextQuery = (q + 1) & (GraphState.QUERIES - 1);
+            return q;
+        }
+    }
+}
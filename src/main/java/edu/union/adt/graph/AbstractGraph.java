@@ -0,0 +1,233 @@
+package edu.union.adt.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A skeletal implementation of the Graph interface.  Subclasses
+ * supply the storage; this class supplies the behavior that can be
+ * written purely in terms of the rest of the Graph API, so that every
+ * implementation prints and compares the same way.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public abstract class AbstractGraph<V> implements Graph<V>
+{
+    /**
+     * Tells whether the graph is empty.
+     *
+     * @return true iff the graph is empty. A graph is empty if it has
+     * no vertices and no edges.
+     */
+    public boolean isEmpty()
+    {
+        return numVertices() == 0;
+    }
+
+    /**
+     * Gets the number of vertices with edges to a given vertex.  This
+     * version checks every vertex in the graph; implementations that
+     * index their incoming edges should override it.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of edges (x, vertex) in the graph
+     */
+    public int inDegree(V vertex)
+    {
+        if (!contains(vertex)) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        int count = 0;
+        for (V v : getVertices()) {
+            if (hasEdge(v, vertex)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor.
+     * This version iterates over adjacentTo; implementations that can
+     * walk their edges without allocating should override it.
+     *
+     * @param from the source vertex
+     * @param visitor called with each vertex adjacent to 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        for (V v : adjacentTo(from)) {
+            if (!visitor.visit(v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent from.  This
+     * version checks every vertex in the graph; implementations that
+     * index their incoming edges should override it.
+     *
+     * @param to the destination vertex
+     * @return the sources of edges into 'to', or an empty iterable if
+     * 'to' is not in the graph.
+     */
+    public Iterable<V> adjacentFrom(V to)
+    {
+        List<V> sources = new ArrayList<V>();
+        if (contains(to)) {
+            for (V v : getVertices()) {
+                if (hasEdge(v, to)) {
+                    sources.add(v);
+                }
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices,
+     * using a breadth-first search over adjacentTo.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return new BreadthFirstSearch<V>(this).hasPath(from, to);
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices, using a breadth-first search over adjacentTo.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(V from, V to)
+    {
+        return new BreadthFirstSearch<V>(this).pathLength(from, to);
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices, using a breadth-first search over adjacentTo.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getPath(V from, V to)
+    {
+        return new BreadthFirstSearch<V>(this).getPath(from, to);
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex reachable from it, using a breadth-first search
+     * over adjacentTo.
+     *
+     * @param from the source vertex
+     * @return a map from each vertex reachable from 'from' to its
+     * distance, empty if 'from' is not in the graph.
+     */
+    public Map<V, Integer> distancesFrom(V from)
+    {
+        return new BreadthFirstSearch<V>(this).distancesFrom(from);
+    }
+
+    /**
+     * Makes an immutable copy of the graph, using only the Graph API.
+     * The copy is consistent only if the graph does not change while
+     * it is being made; implementations that can change concurrently
+     * should override this.
+     *
+     * @return a read-only graph with the same vertices and edges
+     */
+    public Graph<V> snapshot()
+    {
+        return ImmutableGraph.copyOf(this);
+    }
+
+    /**
+     * Gives a string representation of the graph in the format
+     * documented by Graph.toString: one line per vertex, the vertex
+     * followed by ": " and then its adjacent vertices separated by
+     * ", ".  Use GraphWriter.write to stream a large graph to a file
+     * instead.
+     *
+     * @return the string representation of the graph
+     */
+    public String toString()
+    {
+        return GraphWriter.toString(this);
+    }
+
+    /**
+     * A graph is equal to another graph if and only if they contain
+     * the same vertices as well as the same edges, regardless of how
+     * either graph is represented.  Edges are compared as adjacency
+     * entries, not by numEdges, so an UndirectedGraph is equal to a
+     * directed graph holding each of its edges both ways, such as its
+     * snapshot.
+     *
+     * @param other the object to compare against
+     * @return true iff other is a Graph with the same vertices and edges
+     */
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object other)
+    {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Graph)) {
+            return false;
+        }
+        Graph<Object> that = (Graph<Object>) other;
+        if (numVertices() != that.numVertices()) {
+            return false;
+        }
+        long entries = 0;
+        for (V v : getVertices()) {
+            if (!that.contains(v)) {
+                return false;
+            }
+            for (V n : adjacentTo(v)) {
+                if (!that.hasEdge(v, n)) {
+                    return false;
+                }
+                entries++;
+            }
+        }
+        long thatEntries = 0;
+        for (Object v : that.getVertices()) {
+            thatEntries += that.degree(v);
+        }
+        return entries == thatEntries;
+    }
+
+    /**
+     * @return a hash code consistent with equals: it depends only on
+     * the vertices and edges of the graph.
+     */
+    public int hashCode()
+    {
+        int hash = 0;
+        for (V v : getVertices()) {
+            int row = v == null ? 0 : v.hashCode();
+            for (V n : adjacentTo(v)) {
+                row += 31 * (n == null ? 0 : n.hashCode());
+            }
+            hash += row;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,296 @@
+package edu.union.adt.graph;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The set of neighbors of one vertex.  Most vertices have only a few
+ * neighbors, so the set starts out as a small array that is searched
+ * linearly; that is both compact and, for a handful of entries,
+ * faster than hashing.  Once the set grows past ARRAY_LIMIT entries
+ * it switches to an open-addressing hash table with linear probing,
+ * so that contains, add and remove stay constant-time in expectation
+ * even for hub vertices with very many neighbors.  If a hashed set
+ * shrinks back to a few entries it returns to the array form.
+ *
+ * Removal from the hash table shifts later entries of the same probe
+ * run back into the freed slot, so no tombstones are left behind.
+ * Null is allowed as an element, as it is as a HashMap key.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+class AdjacencySet<V> extends AbstractSet<V>
+{
+    /** Largest size kept as a linearly-searched array. */
+    static final int ARRAY_LIMIT = 8;
+
+    /** Stands in for a null element, since null marks an empty slot. */
+    private static final Object NULL = new Object();
+
+    private Object[] elements;
+    private int size;
+    private boolean hashed;
+    private Set<V> view;
+
+    /**
+     * Creates an empty set.
+     */
+    AdjacencySet()
+    {
+        elements = new Object[2];
+    }
+
+    /**
+     * Creates an empty set sized for the given number of elements.
+     *
+     * @param expected the number of elements expected
+     */
+    AdjacencySet(int expected)
+    {
+        if (expected > ARRAY_LIMIT) {
+            elements = new Object[tableSize(expected)];
+            hashed = true;
+        } else {
+            elements = new Object[Math.max(2, expected)];
+        }
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean contains(Object o)
+    {
+        return indexOf(mask(o)) >= 0;
+    }
+
+    public boolean add(V v)
+    {
+        Object key = mask(v);
+        if (indexOf(key) >= 0) {
+            return false;
+        }
+        if (!hashed) {
+            if (size < ARRAY_LIMIT) {
+                if (size == elements.length) {
+                    Object[] grown = new Object[Math.min(ARRAY_LIMIT, size * 2)];
+                    System.arraycopy(elements, 0, grown, 0, size);
+                    elements = grown;
+                }
+                elements[size++] = key;
+                return true;
+            }
+            rehash(tableSize(size + 1));
+        } else if ((size + 1) * 3 > elements.length * 2) {
+            rehash(elements.length * 2);
+        }
+        insert(elements, key);
+        size++;
+        return true;
+    }
+
+    public boolean remove(Object o)
+    {
+        int i = indexOf(mask(o));
+        if (i < 0) {
+            return false;
+        }
+        size--;
+        if (!hashed) {
+            elements[i] = elements[size];
+            elements[size] = null;
+            return true;
+        }
+        deleteSlot(i);
+        if (size <= ARRAY_LIMIT / 2) {
+            toArray(ARRAY_LIMIT);
+        }
+        return true;
+    }
+
+    public void clear()
+    {
+        elements = new Object[2];
+        size = 0;
+        hashed = false;
+    }
+
+    public Iterator<V> iterator()
+    {
+        return new Iterator<V>() {
+            private int next = advance(0);
+
+            private int advance(int from)
+            {
+                if (!hashed) {
+                    return from;
+                }
+                while (from < elements.length && elements[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            public boolean hasNext()
+            {
+                return hashed ? next < elements.length : next < size;
+            }
+
+            public V next()
+            {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                V v = unmask(elements[next]);
+                next = advance(next + 1);
+                return v;
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * @return a read-only view of this set, made on first use and
+     * reused after that
+     */
+    Set<V> view()
+    {
+        if (view == null) {
+            view = Collections.unmodifiableSet(this);
+        }
+        return view;
+    }
+
+    /**
+     * Hands each element to a visitor, walking the array directly
+     * instead of through an iterator.
+     *
+     * @return false if the visitor stopped early, true otherwise
+     */
+    boolean forEachNeighbor(NeighborVisitor<? super V> visitor)
+    {
+        Object[] e = elements;
+        int end = hashed ? e.length : size;
+        for (int i = 0; i < end; i++) {
+            if (e[i] != null && !visitor.visit(AdjacencySet.<V>unmask(e[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the slot holding key, or -1 if it is not in the set.
+     */
+    private int indexOf(Object key)
+    {
+        Object[] e = elements;
+        if (!hashed) {
+            for (int i = 0; i < size; i++) {
+                if (e[i] == key || e[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = e.length - 1;
+        for (int i = slot(key, mask); e[i] != null; i = (i + 1) & mask) {
+            if (e[i] == key || e[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Empties slot i and moves later entries of its probe run back so
+     * that every entry is still reachable from its home slot.
+     */
+    private void deleteSlot(int i)
+    {
+        Object[] e = elements;
+        int mask = e.length - 1;
+        e[i] = null;
+        for (int j = (i + 1) & mask; e[j] != null; j = (j + 1) & mask) {
+            int home = slot(e[j], mask);
+            boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stays) {
+                e[i] = e[j];
+                e[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    private void rehash(int capacity)
+    {
+        Object[] table = new Object[capacity];
+        for (V v : this) {
+            insert(table, mask(v));
+        }
+        elements = table;
+        hashed = true;
+    }
+
+    private void toArray(int capacity)
+    {
+        Object[] array = new Object[capacity];
+        int n = 0;
+        for (Object o : elements) {
+            if (o != null) {
+                array[n++] = o;
+            }
+        }
+        elements = array;
+        hashed = false;
+    }
+
+    private static void insert(Object[] table, Object key)
+    {
+        int mask = table.length - 1;
+        int i = slot(key, mask);
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+    }
+
+    private static int slot(Object key, int mask)
+    {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return the smallest power-of-two table that holds n entries
+     * at most two-thirds full.
+     */
+    private static int tableSize(int n)
+    {
+        int capacity = 16;
+        while (n * 3 > capacity * 2) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static Object mask(Object o)
+    {
+        return o == null ? NULL : o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unmask(Object o)
+    {
+        return o == NULL ? null : (T) o;
+    }
+}
@@ -0,0 +1,297 @@
+package edu.union.adt.graph;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Answers large batches of path length queries at once.  Asking
+ * pathLength for each pair searches the graph once per pair; a batch
+ * instead groups its pairs by source, runs one breadth-first search
+ * per distinct source, and reads off every target of that source from
+ * the same search.  Each search stops as soon as all of its targets
+ * have been reached.
+ *
+ * The searches run in parallel on the shared ForkJoinPool, over an
+ * ImmutableGraph snapshot of the graph, so the graph may go on
+ * changing while a batch runs and the answers are consistent with
+ * each other.  A batch of pairs that are all different costs a little
+ * more than the per-pair calls, for the snapshot; the more pairs share
+ * a source, the more a batch saves.
+ *
+ * As with pathLength, a pair whose vertices are equal has length 0,
+ * and a pair with no path, or a vertex not in the graph, has length
+ * Integer.MAX_VALUE.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class BatchDistances
+{
+    /** Split the sources into this many tasks per pool thread. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /**
+     * Gets the length of the shortest path for each of a list of
+     * pairs.
+     *
+     * @param graph the graph to search
+     * @param from the source vertex of each pair
+     * @param to the destination vertex of each pair
+     * @return the length of the shortest path from from.get(i) to
+     * to.get(i) at index i
+     * @throws IllegalArgumentException if from and to differ in size
+     */
+    public static <V> int[] pathLengths(Graph<V> graph, List<? extends V> from,
+                                        List<? extends V> to)
+    {
+        final int[] lengths = new int[pairs(from, to)];
+        run(graph, from.toArray(), to.toArray(), new Sink() {
+            void found(int pair, int length)
+            {
+                lengths[pair] = length;
+            }
+        });
+        return lengths;
+    }
+
+    /**
+     * Gets the length of the shortest path for each of a list of
+     * pairs, handing each answer to a callback as soon as it is known
+     * instead of storing them all.
+     *
+     * @param graph the graph to search
+     * @param from the source vertex of each pair
+     * @param to the destination vertex of each pair
+     * @param callback called once for each pair, possibly from several
+     * threads at once
+     * @throws IllegalArgumentException if from and to differ in size
+     */
+    public static <V> void pathLengths(Graph<V> graph, List<? extends V> from,
+                                       List<? extends V> to,
+                                       final DistanceCallback<? super V> callback)
+    {
+        pairs(from, to);
+        final Object[] sources = from.toArray();
+        final Object[] destinations = to.toArray();
+        run(graph, sources, destinations, new Sink() {
+            void found(int pair, int length)
+            {
+                callback.distance(pair, BatchDistances.<V>cast(sources[pair]),
+                                  BatchDistances.<V>cast(destinations[pair]), length);
+            }
+        });
+    }
+
+    /**
+     * Gets the length of the shortest path from each of a list of
+     * sources to each of a list of targets.
+     *
+     * @param graph the graph to search
+     * @param sources the source vertices
+     * @param targets the destination vertices
+     * @return a matrix with the length of the shortest path from
+     * sources.get(i) to targets.get(j) at [i][j]
+     */
+    public static <V> int[][] pathLengthMatrix(Graph<V> graph, List<? extends V> sources,
+                                               List<? extends V> targets)
+    {
+        Object[] rows = sources.toArray();
+        Object[] columns = targets.toArray();
+        final int width = columns.length;
+        Object[] from = new Object[rows.length * width];
+        Object[] to = new Object[from.length];
+        for (int k = 0; k < from.length; k++) {
+            from[k] = rows[k / width];
+            to[k] = columns[k % width];
+        }
+        final int[][] matrix = new int[rows.length][width];
+        run(graph, from, to, new Sink() {
+            void found(int pair, int length)
+            {
+                matrix[pair / width][pair % width] = length;
+            }
+        });
+        return matrix;
+    }
+
+    private static int pairs(List<?> from, List<?> to)
+    {
+        if (from.size() != to.size()) {
+            throw new IllegalArgumentException("Got " + from.size() + " sources but "
+                                               + to.size() + " destinations");
+        }
+        return from.size();
+    }
+
+    /**
+     * Answers the trivial pairs directly, then groups the rest by
+     * source with a counting sort and searches from each source.
+     */
+    private static <V> void run(Graph<V> graph, Object[] from, Object[] to, Sink sink)
+    {
+        ImmutableGraph<V> snapshot = ImmutableGraph.copyOf(graph.snapshot());
+        int n = snapshot.numVertices();
+        int[] source = new int[from.length];
+        int[] target = new int[from.length];
+        int[] start = new int[n + 1];
+        for (int k = 0; k < from.length; k++) {
+            source[k] = snapshot.idOf(BatchDistances.<V>cast(from[k]));
+            target[k] = snapshot.idOf(BatchDistances.<V>cast(to[k]));
+            if (BreadthFirstSearch.equal(from[k], to[k])) {
+                source[k] = -1;
+                sink.found(k, 0);
+            } else if (source[k] < 0 || target[k] < 0) {
+                source[k] = -1;
+                sink.found(k, Integer.MAX_VALUE);
+            } else {
+                start[source[k] + 1]++;
+            }
+        }
+        int groups = 0;
+        for (int u = 0; u < n; u++) {
+            if (start[u + 1] > 0) {
+                groups++;
+            }
+            start[u + 1] += start[u];
+        }
+        int[] order = new int[start[n]];
+        int[] next = new int[n];
+        int[] groupSource = new int[groups];
+        groups = 0;
+        for (int u = 0; u < n; u++) {
+            next[u] = start[u];
+            if (start[u + 1] > start[u]) {
+                groupSource[groups++] = u;
+            }
+        }
+        for (int k = 0; k < from.length; k++) {
+            if (source[k] >= 0) {
+                order[next[source[k]]++] = k;
+            }
+        }
+
+        int tasks = SharedPool.get().getParallelism() * TASKS_PER_THREAD;
+        Searches all = new Searches(snapshot.offsets(), snapshot.targets(), start, order,
+                                    target, groupSource, sink,
+                                    Math.max(1, (groups + tasks - 1) / tasks), 0, groups);
+        if (groups <= all.chunk) {
+            all.compute();
+        } else {
+            SharedPool.get().invoke(all);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object vertex)
+    {
+        return (V) vertex;
+    }
+
+    /**
+     * Where the answers go.
+     */
+    private abstract static class Sink
+    {
+        abstract void found(int pair, int length);
+    }
+
+    /**
+     * Searches from groupSource[lo] through groupSource[hi - 1],
+     * splitting until there are at most chunk sources per task.  The
+     * pairs with source u are order[start[u]] through
+     * order[start[u + 1] - 1].
+     */
+    private static class Searches extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] start;
+        private final int[] order;
+        private final int[] target;
+        private final int[] groupSource;
+        private final Sink sink;
+        private final int chunk;
+        private final int lo;
+        private final int hi;
+
+        Searches(int[] offsets, int[] targets, int[] start, int[] order, int[] target,
+                 int[] groupSource, Sink sink, int chunk, int lo, int hi)
+        {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.start = start;
+            this.order = order;
+            this.target = target;
+            this.groupSource = groupSource;
+            this.sink = sink;
+            this.chunk = chunk;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute()
+        {
+            if (hi - lo > chunk) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(split(lo, mid), split(mid, hi));
+                return;
+            }
+            int n = offsets.length - 1;
+            int[] queue = new int[n];
+            int[] dist = new int[n];
+            int[] stamp = new int[n];
+            int[] wanted = new int[n];
+            int epoch = 0;
+            for (int g = lo; g < hi; g++) {
+                epoch++;
+                int u = groupSource[g];
+                int remaining = 0;
+                for (int i = start[u]; i < start[u + 1]; i++) {
+                    int t = target[order[i]];
+                    if (wanted[t] != epoch) {
+                        wanted[t] = epoch;
+                        remaining++;
+                    }
+                }
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = u;
+                stamp[u] = epoch;
+                dist[u] = 0;
+                if (wanted[u] == epoch) {
+                    remaining--;
+                }
+                while (head < tail && remaining > 0) {
+                    int x = queue[head++];
+                    for (int e = offsets[x], end = offsets[x + 1]; e < end; e++) {
+                        int v = targets[e];
+                        if (stamp[v] != epoch) {
+                            stamp[v] = epoch;
+                            dist[v] = dist[x] + 1;
+                            queue[tail++] = v;
+                            if (wanted[v] == epoch) {
+                                remaining--;
+                            }
+                        }
+                    }
+                }
+                for (int i = start[u]; i < start[u + 1]; i++) {
+                    int t = target[order[i]];
+                    sink.found(order[i], stamp[t] == epoch ? dist[t] : Integer.MAX_VALUE);
+                }
+            }
+        }
+
+        private Searches split(int from, int to)
+        {
+            return new Searches(offsets, targets, start, order, target, groupSource,
+                                sink, chunk, from, to);
+        }
+    }
+
+    private BatchDistances()
+    {
+    }
+}
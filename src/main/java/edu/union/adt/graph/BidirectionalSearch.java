@@ -0,0 +1,251 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+
+/**
+ * Shortest-path search between two vertices that searches forward
+ * from the source (along adjacentTo) and backward from the
+ * destination (along adjacentFrom) at the same time, one whole level
+ * at a time, always expanding whichever frontier is smaller.  The
+ * search is over when the two meet.  On large graphs with a small
+ * diameter this visits far fewer vertices than a one-sided
+ * breadth-first search, whose frontier grows with every level.
+ *
+ * The forward half walks each vertex's neighbors with
+ * Graph.forEachNeighbor and one visitor reused for the whole search.
+ * Graph has no such walk for incoming edges, so the backward half
+ * feeds adjacentFrom through the same kind of visitor.  It calls
+ * adjacentFrom for every vertex it expands, so this only pays off on
+ * graphs that index their incoming edges.
+ *
+ * Like BreadthFirstSearch, a BidirectionalSearch keeps state between
+ * calls and should not be shared between threads.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class BidirectionalSearch<V>
+{
+    private final Graph<V> graph;
+
+    /** Forward side: each reached vertex maps to its predecessor. */
+    private Map<V, V> forward;
+    /** Backward side: each reached vertex maps to its successor. */
+    private Map<V, V> backward;
+    private V meeting;
+    private int bestLength;
+    private long expanded;
+    private long followed;
+
+    /**
+     * Creates a search over the given graph.
+     *
+     * @param graph the graph to search
+     */
+    public BidirectionalSearch(Graph<V> graph)
+    {
+        this.graph = graph;
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return pathLength(from, to) != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the number of edges on the shortest path from 'from' to
+     * 'to', 0 if they are the same vertex, or Integer.MAX_VALUE if
+     * there is no path.
+     */
+    public int pathLength(V from, V to)
+    {
+        if (BreadthFirstSearch.equal(from, to)) {
+            return 0;
+        }
+        try {
+            return search(from, to) ? bestLength : Integer.MAX_VALUE;
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Gets the vertices along the shortest path connecting two given
+     * vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the vertices along the shortest path from 'from' to
+     * 'to', including both.  If either vertex is not in the graph or
+     * there is no path, the list is empty.
+     */
+    public List<V> getPath(V from, V to)
+    {
+        List<V> path = new ArrayList<V>();
+        if (!graph.contains(from) || !graph.contains(to)) {
+            return path;
+        }
+        if (BreadthFirstSearch.equal(from, to)) {
+            path.add(from);
+            return path;
+        }
+        try {
+            if (!search(from, to)) {
+                return path;
+            }
+            BreadthFirstSearch.walkBack(forward, from, meeting, path);
+            for (V v = meeting; !BreadthFirstSearch.equal(v, to); ) {
+                v = backward.get(v);
+                path.add(v);
+            }
+            return path;
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Runs the two searches until they meet or one runs out of
+     * vertices.  On success, 'meeting' is a vertex on a shortest path
+     * and 'bestLength' is that path's length.
+     *
+     * @return true iff a path was found
+     */
+    private boolean search(V from, V to)
+    {
+        if (!graph.contains(from) || !graph.contains(to)) {
+            return false;
+        }
+        forward = new HashMap<V, V>();
+        backward = new HashMap<V, V>();
+        forward.put(from, from);
+        backward.put(to, to);
+        Meet forwardSide = new Meet(forward, backward, to);
+        Meet backwardSide = new Meet(backward, forward, from);
+        List<V> forwardLevel = new ArrayList<V>();
+        List<V> backwardLevel = new ArrayList<V>();
+        forwardLevel.add(from);
+        backwardLevel.add(to);
+        int forwardDepth = 0;
+        int backwardDepth = 0;
+        bestLength = Integer.MAX_VALUE;
+
+        while (!forwardLevel.isEmpty() && !backwardLevel.isEmpty()) {
+            if (forwardLevel.size() <= backwardLevel.size()) {
+                forwardLevel = expand(forwardLevel, forwardSide, ++forwardDepth, true);
+            } else {
+                backwardLevel = expand(backwardLevel, backwardSide, ++backwardDepth, false);
+            }
+            if (bestLength != Integer.MAX_VALUE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expands one whole level of one side.  Every vertex discovered
+     * that the other side has already reached completes a path; the
+     * shortest such path is remembered.  The whole level is expanded
+     * even after a meeting, because a later vertex in the level may
+     * meet the other side closer to its end.
+     *
+     * @param level the vertices at the current depth of this side
+     * @param side this side's visitor
+     * @param depth the depth of the vertices being discovered
+     * @param isForward true to follow edges forward
+     * @return the next level of this side
+     */
+    private List<V> expand(List<V> level, Meet side, int depth, boolean isForward)
+    {
+        side.next = new ArrayList<V>();
+        side.depth = depth;
+        expanded += level.size();
+        for (V u : level) {
+            side.u = u;
+            if (isForward) {
+                graph.forEachNeighbor(u, side);
+            } else {
+                for (V v : graph.adjacentFrom(u)) {
+                    side.visit(v);
+                }
+            }
+        }
+        return side.next;
+    }
+
+    /**
+     * @return the number of links followed from v to reach end.
+     */
+    private static <V> int chainLength(Map<V, V> links, V v, V end)
+    {
+        int length = 0;
+        for (; !BreadthFirstSearch.equal(v, end); v = links.get(v)) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Links each vertex the first time this side sees it to u, the
+     * vertex being expanded, and notes any that the other side has
+     * already reached.
+     */
+    private class Meet implements NeighborVisitor<V>
+    {
+        private final Map<V, V> mine;
+        private final Map<V, V> theirs;
+        private final V theirEnd;
+        private List<V> next;
+        private int depth;
+        private V u;
+
+        Meet(Map<V, V> mine, Map<V, V> theirs, V theirEnd)
+        {
+            this.mine = mine;
+            this.theirs = theirs;
+            this.theirEnd = theirEnd;
+        }
+
+        public boolean visit(V v)
+        {
+            followed++;
+            if (mine.containsKey(v)) {
+                return true;
+            }
+            mine.put(v, u);
+            if (theirs.containsKey(v)) {
+                int length = depth + chainLength(theirs, v, theirEnd);
+                if (length < bestLength) {
+                    bestLength = length;
+                    meeting = v;
+                }
+            } else {
+                next.add(v);
+            }
+            return true;
+        }
+    }
+
+    private void reset()
+    {
+        forward = null;
+        backward = null;
+        meeting = null;
+        SearchCounter.record(expanded, followed);
+        expanded = 0;
+        followed = 0;
+    }
+}
@@ -0,0 +1,292 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+
+/**
+ * Breadth-first search between two vertices of any Graph.  The
+ * frontier is a FIFO ArrayDeque, so vertices need not be Comparable
+ * and each step is constant-time; every vertex is visited at most
+ * once, so the search terminates on cyclic graphs; and the search
+ * stops as soon as the destination is discovered.  Neighbors are
+ * walked with Graph.forEachNeighbor, so no iterator is made per
+ * vertex.
+ *
+ * The three queries do only as much bookkeeping as they need:
+ * hasPath keeps a visited set, pathLength adds only a count of the
+ * vertices left in the current level, and getPath keeps a parent per
+ * vertex so it can walk the path back.  The frontier is reused from
+ * one search to the next, so a BreadthFirstSearch should not be
+ * shared between threads.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class BreadthFirstSearch<V>
+{
+    private final Graph<V> graph;
+    private final ArrayDeque<V> frontier;
+    private long expanded;
+    private long followed;
+
+    /**
+     * Creates a search over the given graph.
+     *
+     * @param graph the graph to search
+     */
+    public BreadthFirstSearch(Graph<V> graph)
+    {
+        this.graph = graph;
+        this.frontier = new ArrayDeque<V>();
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     * A vertex always has a (zero-length) path to itself.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        if (equal(from, to)) {
+            return true;
+        }
+        if (!graph.contains(from) || !graph.contains(to)) {
+            return false;
+        }
+        Discover discover = new Discover(from, to);
+        frontier.clear();
+        frontier.add(from);
+        try {
+            while (!frontier.isEmpty()) {
+                if (!graph.forEachNeighbor(next(), discover)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices, without building the path itself.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the number of edges on the shortest path from 'from' to
+     * 'to', 0 if they are the same vertex, or Integer.MAX_VALUE if
+     * there is no path.
+     */
+    public int pathLength(V from, V to)
+    {
+        if (equal(from, to)) {
+            return 0;
+        }
+        if (!graph.contains(from) || !graph.contains(to)) {
+            return Integer.MAX_VALUE;
+        }
+        Discover discover = new Discover(from, to);
+        frontier.clear();
+        frontier.add(from);
+        int depth = 0;
+        try {
+            while (!frontier.isEmpty()) {
+                depth++;
+                for (int left = frontier.size(); left > 0; left--) {
+                    if (!graph.forEachNeighbor(next(), discover)) {
+                        return depth;
+                    }
+                }
+            }
+            return Integer.MAX_VALUE;
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Gets the vertices along the shortest path connecting two given
+     * vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the vertices along the shortest path from 'from' to
+     * 'to', including both.  If either vertex is not in the graph or
+     * there is no path, the list is empty.
+     */
+    public List<V> getPath(V from, V to)
+    {
+        List<V> path = new ArrayList<V>();
+        if (!graph.contains(from) || !graph.contains(to)) {
+            return path;
+        }
+        if (equal(from, to)) {
+            path.add(from);
+            return path;
+        }
+        Record record = new Record(from, to);
+        frontier.clear();
+        frontier.add(from);
+        try {
+            while (!frontier.isEmpty()) {
+                record.u = next();
+                if (!graph.forEachNeighbor(record.u, record)) {
+                    return walkBack(record.parent, from, to, path);
+                }
+            }
+            return path;
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex reachable from it.
+     *
+     * @param from the source vertex
+     * @return a map from each vertex reachable from 'from', including
+     * 'from' itself, to its distance.  Empty if 'from' is not in the
+     * graph.
+     */
+    public Map<V, Integer> distancesFrom(V from)
+    {
+        Measure measure = new Measure();
+        if (!graph.contains(from)) {
+            return measure.distances;
+        }
+        measure.distances.put(from, 0);
+        frontier.clear();
+        frontier.add(from);
+        try {
+            while (!frontier.isEmpty()) {
+                measure.depth++;
+                for (int left = frontier.size(); left > 0; left--) {
+                    graph.forEachNeighbor(next(), measure);
+                }
+            }
+            return measure.distances;
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * @return the next vertex to expand, counting it
+     */
+    private V next()
+    {
+        expanded++;
+        return frontier.poll();
+    }
+
+    /**
+     * Ends a search, reporting its work to any SearchCounter.
+     */
+    private void finish()
+    {
+        frontier.clear();
+        SearchCounter.record(expanded, followed);
+        expanded = 0;
+        followed = 0;
+    }
+
+    /**
+     * Fills in the path from 'from' to 'to' by following parents
+     * back from 'to'.
+     */
+    static <V> List<V> walkBack(Map<V, V> parent, V from, V to, List<V> path)
+    {
+        for (V v = to; !equal(v, from); v = parent.get(v)) {
+            path.add(v);
+        }
+        path.add(from);
+        Collections.reverse(path);
+        return path;
+    }
+
+    static boolean equal(Object a, Object b)
+    {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Queues each vertex the first time it is seen, and stops the
+     * search when it sees the destination.
+     */
+    private class Discover implements NeighborVisitor<V>
+    {
+        private final Set<V> visited = new HashSet<V>();
+        private final V to;
+
+        Discover(V from, V to)
+        {
+            this.to = to;
+            visited.add(from);
+        }
+
+        public boolean visit(V v)
+        {
+            followed++;
+            if (visited.add(v)) {
+                if (equal(v, to)) {
+                    return false;
+                }
+                frontier.add(v);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Like Discover, but also remembers that each vertex was first
+     * reached from u.
+     */
+    private class Record implements NeighborVisitor<V>
+    {
+        private final Map<V, V> parent = new HashMap<V, V>();
+        private final V to;
+        private V u;
+
+        Record(V from, V to)
+        {
+            this.to = to;
+            parent.put(from, from);
+        }
+
+        public boolean visit(V v)
+        {
+            followed++;
+            if (!parent.containsKey(v)) {
+                parent.put(v, u);
+                if (equal(v, to)) {
+                    return false;
+                }
+                frontier.add(v);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Records the distance of each vertex the first time it is seen.
+     */
+    private class Measure implements NeighborVisitor<V>
+    {
+        private final Map<V, Integer> distances = new HashMap<V, Integer>();
+        private int depth;
+
+        public boolean visit(V v)
+        {
+            followed++;
+            if (!distances.containsKey(v)) {
+                distances.put(v, depth);
+                frontier.add(v);
+            }
+            return true;
+        }
+    }
+}
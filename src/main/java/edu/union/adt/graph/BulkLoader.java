@@ -0,0 +1,374 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds a graph from a large batch of edges much faster than calling
+ * addEdge once per edge.  addEdge looks both of its vertices up in a
+ * hash map and then appends two ints to a pair of arrays.  A caller
+ * that already knows its vertices can skip the lookups: intern gives
+ * each vertex an int id once, and addEdgeById then costs only the two
+ * ints.  build then sorts the edges into rows with a counting
+ * sort, sorts each row and drops duplicate edges, and hands the
+ * finished arrays straight to the graph, which never has to grow,
+ * rehash or check for duplicates.
+ *
+ * <PRE>
+ * ImmutableGraph&lt;String&gt; g = new BulkLoader&lt;String&gt;(vertices, edges)
+ *     .parallel(true)
+ *     .addEdges(from, to)
+ *     .buildImmutableGraph();
+ * </PRE>
+ *
+ * With parallel(true) the per-row sorting and de-duplication, which is
+ * most of the work, is spread over a ForkJoinPool.  A BulkLoader is
+ * meant to be filled by one thread.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class BulkLoader<V>
+{
+    /** Rows handled by one task when building in parallel. */
+    private static final int GRAIN = 4096;
+
+    private final Map<V, Integer> ids;
+    private Object[] names;
+    private int vertexCount;
+
+    private int[] from;
+    private int[] to;
+    private int edgeCount;
+
+    private boolean parallel;
+
+    /**
+     * Creates an empty loader.
+     */
+    public BulkLoader()
+    {
+        this(16, 16);
+    }
+
+    /**
+     * Creates an empty loader sized for a given number of vertices and
+     * edges, so that nothing needs to grow while it is filled.
+     *
+     * @param expectedVertices the number of distinct vertices expected
+     * @param expectedEdges the number of edges expected
+     */
+    public BulkLoader(int expectedVertices, int expectedEdges)
+    {
+        ids = new HashMap<V, Integer>(Math.max(16, (int) (expectedVertices / 0.75f) + 1));
+        names = new Object[Math.max(16, expectedVertices)];
+        from = new int[Math.max(16, expectedEdges)];
+        to = new int[from.length];
+    }
+
+    /**
+     * Chooses whether build sorts rows in parallel.
+     *
+     * @param parallel true to use a ForkJoinPool
+     * @return this loader
+     */
+    public BulkLoader<V> parallel(boolean parallel)
+    {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * Adds a vertex, which need not have any edges.
+     *
+     * @param vertex the vertex to add
+     * @return this loader
+     */
+    public BulkLoader<V> addVertex(V vertex)
+    {
+        id(vertex);
+        return this;
+    }
+
+    /**
+     * Adds an edge.  Duplicate edges are dropped when the graph is
+     * built.
+     *
+     * @param source the source vertex of the edge
+     * @param target the destination vertex of the edge
+     * @return this loader
+     */
+    public BulkLoader<V> addEdge(V source, V target)
+    {
+        append(id(source), id(target));
+        return this;
+    }
+
+    /**
+     * Gets the id of a vertex, adding the vertex if it is new.  Ids
+     * run from 0 in the order vertices are first seen.
+     *
+     * @param vertex a vertex
+     * @return the vertex's id
+     */
+    public int intern(V vertex)
+    {
+        return id(vertex);
+    }
+
+    /**
+     * Adds an edge between two vertices given by the ids intern
+     * returned, without looking either of them up.  Duplicate edges
+     * are dropped when the graph is built.
+     *
+     * @param source the id of the source vertex
+     * @param target the id of the destination vertex
+     * @return this loader
+     * @throws IllegalArgumentException if either id was not given out
+     * by intern
+     */
+    public BulkLoader<V> addEdgeById(int source, int target)
+    {
+        if (source < 0 || source >= vertexCount) {
+            throw new IllegalArgumentException("No vertex with id " + source);
+        }
+        if (target < 0 || target >= vertexCount) {
+            throw new IllegalArgumentException("No vertex with id " + target);
+        }
+        append(source, target);
+        return this;
+    }
+
+    private void append(int u, int w)
+    {
+        if (edgeCount == from.length) {
+            from = Arrays.copyOf(from, edgeCount * 2);
+            to = Arrays.copyOf(to, edgeCount * 2);
+        }
+        from[edgeCount] = u;
+        to[edgeCount] = w;
+        edgeCount++;
+    }
+
+    /**
+     * Adds the edges (sources[i], targets[i]) for every i.
+     *
+     * @param sources the source vertex of each edge
+     * @param targets the destination vertex of each edge
+     * @return this loader
+     */
+    public BulkLoader<V> addEdges(V[] sources, V[] targets)
+    {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Got " + sources.length + " sources but "
+                                               + targets.length + " targets");
+        }
+        reserve(sources.length);
+        for (int i = 0; i < sources.length; i++) {
+            addEdge(sources[i], targets[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds an edge (key, value) for every entry.
+     *
+     * @param edges the edges to add
+     * @return this loader
+     */
+    public BulkLoader<V> addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges)
+    {
+        if (edges instanceof Collection) {
+            reserve(((Collection<?>) edges).size());
+        }
+        for (Map.Entry<? extends V, ? extends V> edge : edges) {
+            addEdge(edge.getKey(), edge.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of distinct vertices added so far.
+     */
+    public int numVertices()
+    {
+        return vertexCount;
+    }
+
+    /**
+     * @return the number of edges added so far, counting duplicates.
+     */
+    public int numEdgesAdded()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Builds a read-only graph from the edges added so far.
+     *
+     * @return an ImmutableGraph holding every vertex and edge added
+     */
+    public ImmutableGraph<V> buildImmutableGraph()
+    {
+        int[] offsets = new int[vertexCount + 1];
+        int[] targets = rows(offsets);
+        return new ImmutableGraph<V>(Arrays.copyOf(names, vertexCount), offsets, targets);
+    }
+
+    /**
+     * Builds a CsrGraph from the edges added so far.  The graph starts
+     * out compacted and can be changed afterward like any other.
+     *
+     * @return a CsrGraph holding every vertex and edge added
+     */
+    public CsrGraph<V> buildCsrGraph()
+    {
+        int[] offsets = new int[vertexCount + 1];
+        int[] targets = rows(offsets);
+        return new CsrGraph<V>(Arrays.copyOf(names, vertexCount), offsets, targets);
+    }
+
+    /**
+     * Adds every vertex and edge to an existing graph, one row at a
+     * time and with duplicates already dropped.  A HashGraph is filled
+     * directly, with each new vertex's neighbor set created at its
+     * final size.
+     *
+     * @param graph the graph to add to
+     * @return graph
+     */
+    public <G extends Graph<V>> G addTo(G graph)
+    {
+        int[] offsets = new int[vertexCount + 1];
+        int[] targets = rows(offsets);
+        if (graph instanceof HashGraph) {
+            ((HashGraph<V>) graph).addRows(names, offsets, targets);
+            return graph;
+        }
+        for (int u = 0; u < vertexCount; u++) {
+            V source = vertex(u);
+            graph.addVertex(source);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                graph.addEdge(source, vertex(targets[e]));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Sorts the edges into rows: a counting sort by source, then a
+     * sort of each row so duplicates can be dropped.
+     *
+     * @param offsets filled in with the row offsets
+     * @return the targets, row by row, each row sorted and without
+     * duplicates
+     */
+    private int[] rows(int[] offsets)
+    {
+        int n = vertexCount;
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[from[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] targets = new int[edgeCount];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < edgeCount; i++) {
+            targets[next[from[i]]++] = to[i];
+        }
+
+        int[] kept = new int[n];
+        Rows rows = new Rows(offsets, targets, kept, 0, n);
+        if (parallel && n > GRAIN) {
+            SharedPool.get().invoke(rows);
+        } else {
+            rows.compute();
+        }
+
+        int[] compacted = new int[edgeCount];
+        int size = 0;
+        for (int u = 0; u < n; u++) {
+            System.arraycopy(targets, offsets[u], compacted, size, kept[u]);
+            offsets[u] = size;
+            size += kept[u];
+        }
+        offsets[n] = size;
+        return size == edgeCount ? compacted : Arrays.copyOf(compacted, size);
+    }
+
+    /**
+     * Sorts and de-duplicates rows [lo, hi), recording how many
+     * entries each row keeps.  Rows are independent, so ranges of
+     * rows can be handled in parallel.
+     */
+    private static class Rows extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] kept;
+        private final int lo;
+        private final int hi;
+
+        Rows(int[] offsets, int[] targets, int[] kept, int lo, int hi)
+        {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.kept = kept;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute()
+        {
+            if (hi - lo > GRAIN && getPool() != null) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Rows(offsets, targets, kept, lo, mid),
+                          new Rows(offsets, targets, kept, mid, hi));
+                return;
+            }
+            for (int u = lo; u < hi; u++) {
+                int start = offsets[u];
+                int end = offsets[u + 1];
+                Arrays.sort(targets, start, end);
+                int size = 0;
+                for (int e = start; e < end; e++) {
+                    if (size == 0 || targets[e] != targets[start + size - 1]) {
+                        targets[start + size++] = targets[e];
+                    }
+                }
+                kept[u] = size;
+            }
+        }
+    }
+
+    private void reserve(int more)
+    {
+        if (edgeCount + more > from.length) {
+            from = Arrays.copyOf(from, edgeCount + more);
+            to = Arrays.copyOf(to, edgeCount + more);
+        }
+    }
+
+    private int id(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id != null) {
+            return id;
+        }
+        if (vertexCount == names.length) {
+            names = Arrays.copyOf(names, vertexCount * 2);
+        }
+        names[vertexCount] = vertex;
+        ids.put(vertex, vertexCount);
+        return vertexCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertex(int id)
+    {
+        return (V) names[id];
+    }
+}
@@ -0,0 +1,424 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+
+/**
+ * Wraps another graph and remembers the answers to path queries, so
+ * that asking the same question again before the graph changes costs
+ * a map lookup instead of a search.  Two caches are kept, each bounded
+ * and evicting the least recently used entry when full:
+ *
+ * <UL>
+ * <LI>shortest paths, by (from, to), which answer getPath, pathLength
+ * and hasPath;
+ * <LI>breadth-first distance maps, by source, which answer
+ * distancesFrom and also pathLength and hasPath from that source.
+ * </UL>
+ *
+ * Every change must go through the CachingGraph, which keeps the
+ * caches right as follows.  Adding a vertex changes no path between
+ * existing vertices, and queries about missing vertices are never
+ * cached, so it invalidates nothing.  Adding an edge can shorten any
+ * path, so it empties both caches.  Removing an edge or vertex can
+ * only lengthen paths that went through it, so only the entries that
+ * used it are dropped.  If the wrapped graph ever removes more than it
+ * was asked to, both caches are emptied.  Methods that neither query
+ * paths nor change the graph pass straight through.
+ *
+ * hits, misses, evictions and invalidations count how well the
+ * caches are doing.  A CachingGraph is not safe for use by more than
+ * one thread at once, even for queries, since a query updates the
+ * caches.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class CachingGraph<V> extends AbstractGraph<V>
+{
+    /** Paths kept by default. */
+    public static final int DEFAULT_PATHS = 4096;
+
+    /** Distance maps kept by default; each may be as big as the graph. */
+    public static final int DEFAULT_TREES = 16;
+
+    private final Graph<V> graph;
+    private final Map<Pair<V>, List<V>> paths;
+    private final Map<V, Map<V, Integer>> trees;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Wraps a graph with caches of the default sizes.
+     *
+     * @param graph the graph to wrap
+     */
+    public CachingGraph(Graph<V> graph)
+    {
+        this(graph, DEFAULT_PATHS, DEFAULT_TREES);
+    }
+
+    /**
+     * Wraps a graph.
+     *
+     * @param graph the graph to wrap
+     * @param maxPaths the most shortest paths to keep
+     * @param maxTrees the most distance maps to keep
+     */
+    public CachingGraph(Graph<V> graph, final int maxPaths, final int maxTrees)
+    {
+        this.graph = graph;
+        this.paths = new LinkedHashMap<Pair<V>, List<V>>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Pair<V>, List<V>> eldest)
+            {
+                return evict(size() > maxPaths);
+            }
+        };
+        this.trees = new LinkedHashMap<V, Map<V, Integer>>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<V, Map<V, Integer>> eldest)
+            {
+                return evict(size() > maxTrees);
+            }
+        };
+    }
+
+    /**
+     * @return the number of queries answered from a cache
+     */
+    public long hits()
+    {
+        return hits;
+    }
+
+    /**
+     * @return the number of queries that had to search the graph
+     */
+    public long misses()
+    {
+        return misses;
+    }
+
+    /**
+     * @return the number of entries dropped to make room
+     */
+    public long evictions()
+    {
+        return evictions;
+    }
+
+    /**
+     * @return the number of entries dropped because the graph changed
+     */
+    public long invalidations()
+    {
+        return invalidations;
+    }
+
+    /**
+     * Empties both caches.  Call this after changing the wrapped graph
+     * directly.
+     */
+    public void clear()
+    {
+        invalidations += paths.size() + trees.size();
+        paths.clear();
+        trees.clear();
+    }
+
+    public int numVertices()
+    {
+        return graph.numVertices();
+    }
+
+    public int numEdges()
+    {
+        return graph.numEdges();
+    }
+
+    public int degree(V vertex)
+    {
+        return graph.degree(vertex);
+    }
+
+    public int inDegree(V vertex)
+    {
+        return graph.inDegree(vertex);
+    }
+
+    /**
+     * Adds an edge.  If the edge is new, every cached answer may now
+     * be wrong, so both caches are emptied.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to)
+    {
+        int before = graph.numEdges();
+        graph.addEdge(from, to);
+        if (graph.numEdges() != before) {
+            clear();
+        }
+    }
+
+    public void addVertex(V vertex)
+    {
+        graph.addVertex(vertex);
+    }
+
+    public Iterable<V> getVertices()
+    {
+        return graph.getVertices();
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        return graph.adjacentTo(from);
+    }
+
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        return graph.forEachNeighbor(from, visitor);
+    }
+
+    public Iterable<V> adjacentFrom(V to)
+    {
+        return graph.adjacentFrom(to);
+    }
+
+    public boolean contains(V vertex)
+    {
+        return graph.contains(vertex);
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        return graph.hasEdge(from, to);
+    }
+
+    /**
+     * Removes a vertex, dropping the cached answers whose path or
+     * distance map included it.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    public void removeVertex(V toRemove)
+    {
+        if (!graph.contains(toRemove)) {
+            return;
+        }
+        graph.removeVertex(toRemove);
+        Iterator<List<V>> p = paths.values().iterator();
+        while (p.hasNext()) {
+            if (p.next().contains(toRemove)) {
+                p.remove();
+                invalidations++;
+            }
+        }
+        Iterator<Map<V, Integer>> t = trees.values().iterator();
+        while (t.hasNext()) {
+            if (t.next().containsKey(toRemove)) {
+                t.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Removes an edge, dropping the cached paths that used it and the
+     * distance maps in which it may have been a tree edge.  If the
+     * edge back went with it, as in an UndirectedGraph, the entries
+     * that used that are dropped too.
+     */
+    public void removeEdge(V from, V to)
+    {
+        int before = graph.numEdges();
+        boolean hadReverse = graph.hasEdge(to, from);
+        graph.removeEdge(from, to);
+        int removed = before - graph.numEdges();
+        if (removed == 0) {
+            return;
+        }
+        if (removed > 1) {
+            clear();
+            return;
+        }
+        dropUsing(from, to);
+        if (hadReverse && !graph.hasEdge(to, from)) {
+            dropUsing(to, from);
+        }
+    }
+
+    /**
+     * Drops the cached answers that may have used the edge (from, to).
+     */
+    private void dropUsing(V from, V to)
+    {
+        Iterator<List<V>> p = paths.values().iterator();
+        while (p.hasNext()) {
+            if (usesEdge(p.next(), from, to)) {
+                p.remove();
+                invalidations++;
+            }
+        }
+        Iterator<Map<V, Integer>> t = trees.values().iterator();
+        while (t.hasNext()) {
+            Map<V, Integer> distances = t.next();
+            Integer d = distances.get(from);
+            if (d != null && Integer.valueOf(d + 1).equals(distances.get(to))) {
+                t.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return pathLength(from, to) != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices, from the cached distance map for 'from' if there is
+     * one, otherwise from the cached shortest path.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(V from, V to)
+    {
+        if (BreadthFirstSearch.equal(from, to)) {
+            return 0;
+        }
+        Map<V, Integer> distances = trees.get(from);
+        if (distances != null) {
+            hits++;
+            Integer d = distances.get(to);
+            return d == null ? Integer.MAX_VALUE : d;
+        }
+        List<V> path = path(from, to);
+        return path.isEmpty() ? Integer.MAX_VALUE : path.size() - 1;
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return a read-only list of the vertices along the shortest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getPath(V from, V to)
+    {
+        return path(from, to);
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex reachable from it.
+     *
+     * @param from the source vertex
+     * @return a read-only map from each vertex reachable from 'from'
+     * to its distance, empty if 'from' is not in the graph.
+     */
+    public Map<V, Integer> distancesFrom(V from)
+    {
+        Map<V, Integer> distances = trees.get(from);
+        if (distances != null) {
+            hits++;
+            return distances;
+        }
+        misses++;
+        distances = Collections.unmodifiableMap(graph.distancesFrom(from));
+        if (graph.contains(from)) {
+            trees.put(from, distances);
+        }
+        return distances;
+    }
+
+    public Graph<V> snapshot()
+    {
+        return graph.snapshot();
+    }
+
+    private List<V> path(V from, V to)
+    {
+        Pair<V> key = new Pair<V>(from, to);
+        List<V> path = paths.get(key);
+        if (path != null) {
+            hits++;
+            return path;
+        }
+        misses++;
+        List<V> found = new ArrayList<V>();
+        for (V v : graph.getPath(from, to)) {
+            found.add(v);
+        }
+        path = Collections.unmodifiableList(found);
+        if (graph.contains(from) && graph.contains(to)) {
+            paths.put(key, path);
+        }
+        return path;
+    }
+
+    private boolean evict(boolean full)
+    {
+        if (full) {
+            evictions++;
+        }
+        return full;
+    }
+
+    private static <V> boolean usesEdge(List<V> path, V from, V to)
+    {
+        for (int i = 0; i + 1 < path.size(); i++) {
+            if (BreadthFirstSearch.equal(path.get(i), from)
+                && BreadthFirstSearch.equal(path.get(i + 1), to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A (from, to) query, as a cache key.
+     */
+    private static class Pair<V>
+    {
+        private final V from;
+        private final V to;
+
+        Pair(V from, V to)
+        {
+            this.from = from;
+            this.to = to;
+        }
+
+        public boolean equals(Object other)
+        {
+            if (!(other instanceof Pair)) {
+                return false;
+            }
+            Pair<?> that = (Pair<?>) other;
+            return BreadthFirstSearch.equal(from, that.from)
+                && BreadthFirstSearch.equal(to, that.to);
+        }
+
+        public int hashCode()
+        {
+            return 31 * (from == null ? 0 : from.hashCode()) + (to == null ? 0 : to.hashCode());
+        }
+    }
+}
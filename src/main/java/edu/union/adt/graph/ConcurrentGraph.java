@@ -0,0 +1,397 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A graph that many threads can read and change at once without any
+ * outside locking.  Vertices live in a ConcurrentHashMap and each
+ * vertex's neighbors (and, for removeVertex, its predecessors) in a
+ * set backed by another ConcurrentHashMap.
+ *
+ * Reads (contains, hasEdge, degree, adjacentTo, numEdges and the
+ * path queries) take no locks at all.  They see every change that
+ * finished before they started, and may or may not see changes made
+ * while they run, in the same way as ConcurrentHashMap iterators.
+ *
+ * Changes lock only the stripes of the vertices they touch: a vertex
+ * hashes to one of a fixed number of locks, and addEdge and removeEdge
+ * take the locks for their two endpoints, always in stripe order, so
+ * threads working on different parts of the graph do not wait for one
+ * another.  removeVertex may touch any number of vertices, so it takes
+ * every stripe; it is expected to be rare compared to edge changes.
+ *
+ * Null vertices are not allowed.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class ConcurrentGraph<V> extends AbstractGraph<V>
+{
+    private final ConcurrentMap<V, Set<V>> edges;
+    private final ConcurrentMap<V, Set<V>> incoming;
+    private final AtomicInteger edgeCount;
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Create an empty graph sized for the number of available
+     * processors.
+     */
+    public ConcurrentGraph()
+    {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create an empty graph.
+     *
+     * @param concurrencyLevel the number of threads expected to
+     * change the graph at once; the graph uses at least this many
+     * lock stripes.
+     */
+    public ConcurrentGraph(int concurrencyLevel)
+    {
+        this(0, concurrencyLevel);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices,
+     * so that filling it never resizes the vertex maps.
+     *
+     * @param expectedVertices the number of vertices expected
+     * @param concurrencyLevel the number of threads expected to
+     * change the graph at once
+     */
+    public ConcurrentGraph(int expectedVertices, int concurrencyLevel)
+    {
+        int n = 1;
+        while (n < concurrencyLevel) {
+            n <<= 1;
+        }
+        int capacity = Math.max(16, (int) (expectedVertices / 0.75f) + 1);
+        edges = new ConcurrentHashMap<V, Set<V>>(capacity, 0.75f, n);
+        incoming = new ConcurrentHashMap<V, Set<V>>(capacity, 0.75f, n);
+        edgeCount = new AtomicInteger();
+        stripes = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices()
+    {
+        return edges.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges()
+    {
+        return edgeCount.get();
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex)
+    {
+        return neighbors(edges, vertex).size();
+    }
+
+    /**
+     * Gets the number of vertices with edges to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of edges (x, vertex) in the graph
+     */
+    public int inDegree(V vertex)
+    {
+        return neighbors(incoming, vertex).size();
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to)
+    {
+        int a = stripe(from);
+        int b = stripe(to);
+        lock(a, b);
+        try {
+            Set<V> out = vertex(from);
+            vertex(to);
+            if (out.add(to)) {
+                incoming.get(to).add(from);
+                edgeCount.incrementAndGet();
+            }
+        } finally {
+            unlock(a, b);
+        }
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex)
+    {
+        int a = stripe(vertex);
+        lock(a, a);
+        try {
+            vertex(vertex);
+        } finally {
+            unlock(a, a);
+        }
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices()
+    {
+        return Collections.unmodifiableSet(edges.keySet());
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.  The collection is
+     * a live, read-only view that reflects later changes.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from)
+    {
+        Set<V> out = edges.get(from);
+        return out == null ? Collections.<V>emptySet() : Collections.unmodifiableSet(out);
+    }
+
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor,
+     * iterating the adjacency set directly.  Like adjacentTo, it may
+     * or may not see changes made while it runs.
+     *
+     * @param from the source vertex
+     * @param visitor called with each vertex adjacent to 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        Set<V> out = edges.get(from);
+        if (out != null) {
+            for (V v : out) {
+                if (!visitor.visit(v)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent from.  The
+     * collection is a live, read-only view that reflects later
+     * changes.
+     *
+     * @param to the destination vertex
+     * @return the sources of edges into 'to', or an empty iterator if
+     * 'to' is not a vertex in the graph.
+     */
+    public Iterable<V> adjacentFrom(V to)
+    {
+        Set<V> in = incoming.get(to);
+        return in == null ? Collections.<V>emptySet() : Collections.unmodifiableSet(in);
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex)
+    {
+        return edges.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        Set<V> out = edges.get(from);
+        return out != null && out.contains(to);
+    }
+
+    /**
+     * Removes a vertex from the graph, along with every edge into or
+     * out of it.  Takes every lock stripe while it works.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    public void removeVertex(V toRemove)
+    {
+        lockAll();
+        try {
+            Set<V> out = edges.remove(toRemove);
+            if (out == null) {
+                return;
+            }
+            Set<V> in = incoming.remove(toRemove);
+            for (V v : in) {
+                Set<V> predecessorOut = edges.get(v);
+                if (predecessorOut != null && predecessorOut.remove(toRemove)) {
+                    edgeCount.decrementAndGet();
+                }
+            }
+            for (V v : out) {
+                if (!v.equals(toRemove)) {
+                    incoming.get(v).remove(toRemove);
+                }
+                edgeCount.decrementAndGet();
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * <p>Postcondition: If from and to were in the graph and (from,
+     * to) was an edge in the graph, then numEdges = numEdges' - 1
+     */
+    public void removeEdge(V from, V to)
+    {
+        int a = stripe(from);
+        int b = stripe(to);
+        lock(a, b);
+        try {
+            Set<V> out = edges.get(from);
+            if (out != null && out.remove(to)) {
+                incoming.get(to).remove(from);
+                edgeCount.decrementAndGet();
+            }
+        } finally {
+            unlock(a, b);
+        }
+    }
+
+    /**
+     * Makes an immutable copy of the graph as it is now.  Writers are
+     * held off only while the copy is made; readers are never blocked,
+     * and once the copy exists it can be traversed for as long as
+     * needed without holding up anyone.
+     *
+     * @return a read-only graph with the same vertices and edges
+     */
+    public Graph<V> snapshot()
+    {
+        lockAll();
+        try {
+            return ImmutableGraph.copyOf(this);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Gets the neighbor set of a vertex, adding the vertex if it is
+     * new.  The caller must hold the vertex's stripe.
+     */
+    private Set<V> vertex(V v)
+    {
+        Set<V> out = edges.get(v);
+        if (out == null) {
+            incoming.put(v, ConcurrentGraph.<V>newSet());
+            out = newSet();
+            edges.put(v, out);
+        }
+        return out;
+    }
+
+    private Set<V> neighbors(Map<V, Set<V>> map, V vertex)
+    {
+        Set<V> set = map.get(vertex);
+        if (set == null) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return set;
+    }
+
+    private static <V> Set<V> newSet()
+    {
+        return Collections.newSetFromMap(new ConcurrentHashMap<V, Boolean>(4, 0.75f, 1));
+    }
+
+    private int stripe(Object v)
+    {
+        int h = v.hashCode();
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+
+    private void lock(int a, int b)
+    {
+        stripes[Math.min(a, b)].lock();
+        if (a != b) {
+            stripes[Math.max(a, b)].lock();
+        }
+    }
+
+    private void unlock(int a, int b)
+    {
+        if (a != b) {
+            stripes[Math.max(a, b)].unlock();
+        }
+        stripes[Math.min(a, b)].unlock();
+    }
+
+    private void lockAll()
+    {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll()
+    {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+}
@@ -0,0 +1,724 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+
+/**
+ * A graph that stores its edges in compressed sparse row (CSR) form.
+ * Each vertex is interned to a dense int id the first time it is
+ * seen, and the neighbors of vertex i are the ids
+ * targets[offsets[i]] through targets[offsets[i + 1] - 1].  An edge
+ * therefore costs four bytes instead of a boxed reference in a list,
+ * and traversals walk plain int arrays.
+ *
+ * CSR arrays cannot grow in place, so new edges go into a small
+ * per-vertex delta buffer and removed edges leave a tombstone behind.
+ * Once the buffered changes are large compared to the compacted
+ * arrays (or before a traversal) the graph is compacted: the arrays
+ * are rebuilt with the buffered edges merged in and the tombstones
+ * dropped.  Compaction is amortized against the edges added, so
+ * addEdge stays constant-time on average.
+ *
+ * distancesFrom uses ParallelBreadthFirstSearch, which also needs the
+ * edges the other way round; those reverse arrays are built from the
+ * compacted ones on first use and kept until the next compaction.
+ * Point-to-point queries stay on one thread and stop as soon as they
+ * reach their destination, so a short query on a large graph costs
+ * no more than the part of the graph it explores.
+ *
+ * Ids come from a VertexDictionary, and callers that already hold
+ * them can skip the lookup with addEdgeById and hasEdgeById.  Ids
+ * freed by removeVertex are reused by later vertices.
+ *
+ * This representation suits large graphs that are built once and
+ * then mostly read.  removeVertex must find the edges into the
+ * removed vertex and is linear in the number of edges.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class CsrGraph<V> extends AbstractGraph<V> implements IdGraph<V>
+{
+    /** Marks a removed edge in the compacted targets array. */
+    private static final int TOMBSTONE = -1;
+
+    /** Never compact for fewer buffered changes than this. */
+    private static final int MIN_PENDING = 1024;
+
+    private final VertexDictionary<V> dictionary;
+
+    private int[] offsets;
+    private int[] targets;
+    private int csrVertices;
+    private int deadSlots;
+
+    private int[] inOffsets;
+    private int[] sources;
+
+    private int[][] pending;
+    private int[] pendingCount;
+    private int pendingEdges;
+
+    private int[] degrees;
+    private int edgeCount;
+
+    /** Compact only once more changes than this are buffered. */
+    private final int minPending;
+
+    private CsrSearch search;
+
+    /**
+     * Create an empty graph.
+     */
+    public CsrGraph()
+    {
+        this(0);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices,
+     * so that adding them never rehashes or copies the per-vertex
+     * arrays.
+     *
+     * @param expectedVertices the number of vertices expected
+     */
+    public CsrGraph(int expectedVertices)
+    {
+        this(expectedVertices, 0);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices
+     * and edges.  Up to the expected number of edges are buffered
+     * before the first compaction, so loading them copies the edge
+     * arrays once rather than at every doubling.
+     *
+     * @param expectedVertices the number of vertices expected
+     * @param expectedEdges the number of edges expected
+     */
+    public CsrGraph(int expectedVertices, int expectedEdges)
+    {
+        this(new VertexDictionary<V>(expectedVertices), expectedVertices, expectedEdges);
+    }
+
+    /**
+     * Create an empty graph that numbers its vertices with a given
+     * dictionary, such as one from VertexDictionary.forStrings.  The
+     * graph takes the dictionary over, and it must be empty.
+     *
+     * @param dictionary the dictionary to use
+     */
+    public CsrGraph(VertexDictionary<V> dictionary)
+    {
+        this(dictionary, 0, 0);
+    }
+
+    private CsrGraph(VertexDictionary<V> dictionary, int expectedVertices, int expectedEdges)
+    {
+        if (dictionary.idLimit() != 0) {
+            throw new IllegalArgumentException("Dictionary is not empty");
+        }
+        int capacity = Math.max(16, expectedVertices);
+        this.dictionary = dictionary;
+        minPending = Math.max(MIN_PENDING, expectedEdges);
+        offsets = new int[1];
+        targets = new int[0];
+        pending = new int[capacity][];
+        pendingCount = new int[capacity];
+        degrees = new int[capacity];
+        search = new CsrSearch();
+    }
+
+    /**
+     * Creates a graph from already-compacted arrays, which the caller
+     * hands over and does not touch again.  Every id in
+     * 0..names.length-1 must be a vertex, and rows must not contain
+     * duplicates.  Used by BulkLoader.
+     *
+     * @param names the vertex for each id
+     * @param offsets the row offsets, names.length + 1 of them
+     * @param targets the edge targets
+     */
+    CsrGraph(Object[] names, int[] offsets, int[] targets)
+    {
+        int n = names.length;
+        int capacity = Math.max(16, n);
+        this.dictionary = new VertexDictionary<V>(n);
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            V name = (V) names[i];
+            dictionary.intern(name);
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.csrVertices = n;
+        this.minPending = MIN_PENDING;
+        this.pending = new int[capacity][];
+        this.pendingCount = new int[capacity];
+        this.degrees = new int[capacity];
+        for (int u = 0; u < n; u++) {
+            degrees[u] = offsets[u + 1] - offsets[u];
+        }
+        this.edgeCount = targets.length;
+        this.search = new CsrSearch();
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices()
+    {
+        return dictionary.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex)
+    {
+        int id = dictionary.id(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return degrees[id];
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to)
+    {
+        addEdgeById(intern(from), intern(to));
+    }
+
+    /**
+     * Adds a directed edge between two vertices given by id.  If
+     * there is already an edge between them, does nothing.
+     *
+     * @param u the id of the source vertex
+     * @param w the id of the destination vertex
+     * @throws IllegalArgumentException if either id is not a vertex's
+     */
+    public void addEdgeById(int u, int w)
+    {
+        checkId(u);
+        checkId(w);
+        if (indexInCsr(u, w) >= 0 || indexInPending(u, w) >= 0) {
+            return;
+        }
+        int[] row = pending[u];
+        if (row == null) {
+            row = pending[u] = new int[4];
+        } else if (pendingCount[u] == row.length) {
+            row = pending[u] = Arrays.copyOf(row, row.length * 2);
+        }
+        row[pendingCount[u]++] = w;
+        pendingEdges++;
+        degrees[u]++;
+        edgeCount++;
+        if (pendingEdges > Math.max(minPending, targets.length)) {
+            compact();
+        }
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex)
+    {
+        intern(vertex);
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices()
+    {
+        return dictionary.vertices();
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.  A vertex y is
+     * "adjacent to" vertex x if there is an edge (x, y) in the graph.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from)
+    {
+        int u = dictionary.id(from);
+        if (u < 0) {
+            return Collections.<V>emptyList();
+        }
+        List<V> adjacent = new ArrayList<V>(degrees[u]);
+        if (u < csrVertices) {
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                if (targets[e] != TOMBSTONE) {
+                    adjacent.add(vertex(targets[e]));
+                }
+            }
+        }
+        for (int i = 0; i < pendingCount[u]; i++) {
+            adjacent.add(vertex(pending[u][i]));
+        }
+        return Collections.unmodifiableList(adjacent);
+    }
+
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor,
+     * straight from the compacted arrays and its delta buffer.
+     *
+     * @param from the source vertex
+     * @param visitor called with each vertex adjacent to 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        int u = dictionary.id(from);
+        if (u < 0) {
+            return true;
+        }
+        if (u < csrVertices) {
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                if (targets[e] != TOMBSTONE && !visitor.visit(vertex(targets[e]))) {
+                    return false;
+                }
+            }
+        }
+        for (int i = 0; i < pendingCount[u]; i++) {
+            if (!visitor.visit(vertex(pending[u][i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex)
+    {
+        return dictionary.id(vertex) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        int u = dictionary.id(from);
+        int w = dictionary.id(to);
+        return u >= 0 && w >= 0 && (indexInCsr(u, w) >= 0 || indexInPending(u, w) >= 0);
+    }
+
+    /**
+     * Tells whether an edge exists between two vertices given by id.
+     *
+     * @param u the id of the source vertex
+     * @param w the id of the destination vertex
+     * @return true iff there is an edge from u to w
+     * @throws IllegalArgumentException if either id is not a vertex's
+     */
+    public boolean hasEdgeById(int u, int w)
+    {
+        checkId(u);
+        checkId(w);
+        return indexInCsr(u, w) >= 0 || indexInPending(u, w) >= 0;
+    }
+
+    /**
+     * Removes a vertex from the graph, along with every edge into or
+     * out of it.  Finding the edges into the vertex means scanning
+     * every row, so this is linear in the number of edges.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    public void removeVertex(V toRemove)
+    {
+        int x = dictionary.id(toRemove);
+        if (x < 0) {
+            return;
+        }
+        clearRow(x);
+        for (int u = 0; u < dictionary.idLimit(); u++) {
+            if (!dictionary.contains(u)) {
+                continue;
+            }
+            int e = indexInCsr(u, x);
+            if (e >= 0) {
+                targets[e] = TOMBSTONE;
+                deadSlots++;
+                degrees[u]--;
+                edgeCount--;
+            } else if (removePending(u, x)) {
+                degrees[u]--;
+                edgeCount--;
+            }
+        }
+        dictionary.remove(toRemove);
+        maybeCompact();
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * <p>Postcondition: If from and to were in the graph and (from,
+     * to) was an edge in the graph, then numEdges = numEdges' - 1
+     */
+    public void removeEdge(V from, V to)
+    {
+        int u = dictionary.id(from);
+        int w = dictionary.id(to);
+        if (u < 0 || w < 0) {
+            return;
+        }
+        int e = indexInCsr(u, w);
+        if (e >= 0) {
+            targets[e] = TOMBSTONE;
+            deadSlots++;
+        } else if (!removePending(u, w)) {
+            return;
+        }
+        degrees[u]--;
+        edgeCount--;
+        maybeCompact();
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return pathLength(from, to) != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.  The length of a path is the number of edges in the
+     * graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(V from, V to)
+    {
+        if (BreadthFirstSearch.equal(from, to)) {
+            return 0;
+        }
+        int u = dictionary.id(from);
+        int w = dictionary.id(to);
+        if (u < 0 || w < 0) {
+            return Integer.MAX_VALUE;
+        }
+        compact();
+        return search.distance(offsets, targets, u, w);
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices, from 'from' to 'to' inclusive.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to'.  If there is no path, the collection
+     * is empty.
+     */
+    public Iterable<V> getPath(V from, V to)
+    {
+        List<V> path = new ArrayList<V>();
+        int u = dictionary.id(from);
+        int w = dictionary.id(to);
+        if (u < 0 || w < 0) {
+            return path;
+        }
+        compact();
+        int[] found = search.path(offsets, targets, u, w);
+        if (found != null) {
+            for (int id : found) {
+                path.add(vertex(id));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it, searching in parallel
+     * on large graphs.
+     *
+     * @param from the source vertex
+     * @return a map from each vertex reachable from 'from' to the
+     * length of the shortest path to it.  'from' itself is included,
+     * with length 0.  If 'from' is not a vertex in the graph, the map
+     * is empty.
+     */
+    public Map<V, Integer> distancesFrom(V from)
+    {
+        Map<V, Integer> distances = new HashMap<V, Integer>();
+        int u = dictionary.id(from);
+        if (u < 0) {
+            return distances;
+        }
+        compact();
+        int[] found = parallelSearch().distances(u, -1);
+        for (int v = 0; v < found.length; v++) {
+            if (found[v] != ParallelBreadthFirstSearch.UNREACHED) {
+                distances.put(vertex(v), found[v]);
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Makes an immutable copy of the graph as it is now.  The
+     * compacted arrays are copied directly, so this costs little more
+     * than the memory for the copy.
+     *
+     * @return a read-only graph with the same vertices and edges
+     */
+    public Graph<V> snapshot()
+    {
+        if (dictionary.size() != dictionary.idLimit()) {
+            return ImmutableGraph.copyOf(this);
+        }
+        compact();
+        return new ImmutableGraph<V>(dictionary.toArray(),
+                                     offsets.clone(), targets.clone());
+    }
+
+    /**
+     * Gets a parallel search over the compacted arrays, building the
+     * reverse arrays it needs if they are out of date.
+     */
+    private ParallelBreadthFirstSearch parallelSearch()
+    {
+        if (inOffsets == null) {
+            int n = csrVertices;
+            inOffsets = new int[n + 1];
+            for (int e = 0; e < targets.length; e++) {
+                inOffsets[targets[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                inOffsets[v + 1] += inOffsets[v];
+            }
+            sources = new int[targets.length];
+            int[] next = Arrays.copyOf(inOffsets, n);
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    sources[next[targets[e]]++] = u;
+                }
+            }
+        }
+        return new ParallelBreadthFirstSearch(offsets, targets, inOffsets, sources);
+    }
+
+    /**
+     * Rebuilds the compressed arrays, merging in the buffered edges
+     * and dropping tombstones.  Does nothing if there are no buffered
+     * changes.  Traversals call this themselves; it is public so that
+     * a caller who has just finished loading a graph can pay the cost
+     * up front.
+     */
+    public void compact()
+    {
+        int idCount = dictionary.idLimit();
+        if (pendingEdges == 0 && deadSlots == 0 && csrVertices == idCount) {
+            return;
+        }
+        int[] newOffsets = new int[idCount + 1];
+        for (int u = 0; u < idCount; u++) {
+            newOffsets[u + 1] = newOffsets[u] + degrees[u];
+        }
+        int[] newTargets = new int[edgeCount];
+        for (int u = 0; u < idCount; u++) {
+            int next = newOffsets[u];
+            if (u < csrVertices) {
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    if (targets[e] != TOMBSTONE) {
+                        newTargets[next++] = targets[e];
+                    }
+                }
+            }
+            if (pendingCount[u] > 0) {
+                System.arraycopy(pending[u], 0, newTargets, next, pendingCount[u]);
+            }
+            pending[u] = null;
+            pendingCount[u] = 0;
+        }
+        offsets = newOffsets;
+        targets = newTargets;
+        inOffsets = null;
+        sources = null;
+        csrVertices = idCount;
+        pendingEdges = 0;
+        deadSlots = 0;
+    }
+
+    /**
+     * Compacts if enough tombstones have piled up.
+     */
+    private void maybeCompact()
+    {
+        if (deadSlots > Math.max(MIN_PENDING, targets.length / 2)) {
+            compact();
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException unless id belongs to a
+     * vertex in the graph.
+     */
+    private void checkId(int id)
+    {
+        if (!dictionary.contains(id)) {
+            throw new IllegalArgumentException("No vertex with id " + id);
+        }
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return the vertex's id, or -1 if it is not in the graph
+     */
+    public int idOf(V vertex)
+    {
+        return dictionary.id(vertex);
+    }
+
+    /**
+     * Gets the id for a vertex, adding the vertex if it is new.
+     * Ids freed by removeVertex are handed out again before new ones.
+     *
+     * @param vertex a vertex
+     * @return the vertex's id
+     */
+    public int intern(V vertex)
+    {
+        int x = dictionary.intern(vertex);
+        if (x >= degrees.length) {
+            int size = Math.max(x + 1, degrees.length * 2);
+            pending = Arrays.copyOf(pending, size);
+            pendingCount = Arrays.copyOf(pendingCount, size);
+            degrees = Arrays.copyOf(degrees, size);
+        }
+        return x;
+    }
+
+    /**
+     * @param id the id of a vertex in the graph
+     * @return the vertex
+     */
+    public V vertex(int id)
+    {
+        return dictionary.vertex(id);
+    }
+
+    /**
+     * @return the index in targets of the edge (u, w), or -1.
+     */
+    private int indexInCsr(int u, int w)
+    {
+        if (u < csrVertices) {
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                if (targets[e] == w) {
+                    return e;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index in u's delta buffer of the edge (u, w), or -1.
+     */
+    private int indexInPending(int u, int w)
+    {
+        int[] row = pending[u];
+        for (int i = 0; i < pendingCount[u]; i++) {
+            if (row[i] == w) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes (u, w) from u's delta buffer by moving the last entry
+     * into its place.
+     *
+     * @return true iff the edge was in the buffer
+     */
+    private boolean removePending(int u, int w)
+    {
+        int i = indexInPending(u, w);
+        if (i < 0) {
+            return false;
+        }
+        pending[u][i] = pending[u][--pendingCount[u]];
+        pendingEdges--;
+        return true;
+    }
+
+    /**
+     * Drops every edge out of vertex x.
+     */
+    private void clearRow(int x)
+    {
+        if (x < csrVertices) {
+            for (int e = offsets[x], end = offsets[x + 1]; e < end; e++) {
+                if (targets[e] != TOMBSTONE) {
+                    targets[e] = TOMBSTONE;
+                    deadSlots++;
+                }
+            }
+        }
+        pendingEdges -= pendingCount[x];
+        pending[x] = null;
+        pendingCount[x] = 0;
+        edgeCount -= degrees[x];
+        degrees[x] = 0;
+    }
+}
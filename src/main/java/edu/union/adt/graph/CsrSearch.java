@@ -0,0 +1,238 @@
+package edu.union.adt.graph;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Breadth-first search over a graph stored in compressed sparse row
+ * form: the neighbors of vertex i are targets[offsets[i]] through
+ * targets[offsets[i + 1] - 1].  Vertices are plain ints, so a search
+ * never boxes anything.  The arrays may be int arrays or IntBuffers,
+ * such as views of a memory-mapped file.
+ *
+ * The scratch arrays are kept between searches and a visit is marked
+ * by stamping the current search number rather than by clearing an
+ * array, so repeated searches cost only what they actually touch.  A
+ * CsrSearch is therefore not safe to share between threads.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+class CsrSearch
+{
+    /** Returned by distance when the target cannot be reached. */
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final ThreadLocal<CsrSearch> PER_THREAD = new ThreadLocal<CsrSearch>() {
+        protected CsrSearch initialValue()
+        {
+            return new CsrSearch();
+        }
+    };
+
+    private int[] queue = new int[0];
+    private int[] parent = new int[0];
+    private int[] depth = new int[0];
+    private int[] stamp = new int[0];
+    private int epoch = 0;
+
+    /**
+     * Gets the calling thread's search, for graphs that many threads
+     * search at once.  Every such graph shares it, so a thread holds
+     * one set of scratch arrays, sized for the largest graph it has
+     * searched, however many graphs it touches.
+     *
+     * @return this thread's search
+     */
+    static CsrSearch forThread()
+    {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * Finds the number of edges on a shortest path between two vertices.
+     *
+     * @param offsets the row offsets, one more than the number of vertices
+     * @param targets the edge targets
+     * @param from the source vertex id
+     * @param to the destination vertex id
+     * @return the length of the shortest path, or UNREACHABLE
+     */
+    int distance(int[] offsets, int[] targets, int from, int to)
+    {
+        if (from == to) {
+            return 0;
+        }
+        int found = search(offsets, targets, from, to);
+        return found < 0 ? UNREACHABLE : depth[found];
+    }
+
+    /**
+     * Finds the vertices along a shortest path between two vertices.
+     *
+     * @param offsets the row offsets, one more than the number of vertices
+     * @param targets the edge targets
+     * @param from the source vertex id
+     * @param to the destination vertex id
+     * @return the vertex ids from 'from' to 'to' inclusive, or null
+     * if there is no path.
+     */
+    int[] path(int[] offsets, int[] targets, int from, int to)
+    {
+        if (from == to) {
+            return new int[] { from };
+        }
+        return pathTo(search(offsets, targets, from, to));
+    }
+
+    /**
+     * Finds the number of edges on a shortest path between two
+     * vertices of a graph held in buffers.
+     *
+     * @param offsets the row offsets, one more than the number of vertices
+     * @param targets the edge targets
+     * @param from the source vertex id
+     * @param to the destination vertex id
+     * @return the length of the shortest path, or UNREACHABLE
+     */
+    int distance(IntBuffer offsets, IntBuffer targets, int from, int to)
+    {
+        if (from == to) {
+            return 0;
+        }
+        int found = search(offsets, targets, from, to);
+        return found < 0 ? UNREACHABLE : depth[found];
+    }
+
+    /**
+     * Finds the vertices along a shortest path between two vertices
+     * of a graph held in buffers.
+     *
+     * @param offsets the row offsets, one more than the number of vertices
+     * @param targets the edge targets
+     * @param from the source vertex id
+     * @param to the destination vertex id
+     * @return the vertex ids from 'from' to 'to' inclusive, or null
+     * if there is no path.
+     */
+    int[] path(IntBuffer offsets, IntBuffer targets, int from, int to)
+    {
+        if (from == to) {
+            return new int[] { from };
+        }
+        return pathTo(search(offsets, targets, from, to));
+    }
+
+    /**
+     * Follows parent links back from the vertex a search found.
+     *
+     * @return the path ending at found, or null if found is -1
+     */
+    private int[] pathTo(int found)
+    {
+        if (found < 0) {
+            return null;
+        }
+        int[] path = new int[depth[found] + 1];
+        for (int i = path.length - 1, v = found; i >= 0; i--, v = parent[v]) {
+            path[i] = v;
+        }
+        return path;
+    }
+
+    /**
+     * Runs the search, stopping as soon as the destination is
+     * discovered.
+     *
+     * @return the destination id if it was reached, otherwise -1
+     */
+    private int search(int[] offsets, int[] targets, int from, int to)
+    {
+        prepare(offsets.length - 1);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from;
+        stamp[from] = epoch;
+        depth[from] = 0;
+        long edges = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            int start = offsets[u];
+            int end = offsets[u + 1];
+            for (int e = start; e < end; e++) {
+                int v = targets[e];
+                if (stamp[v] != epoch) {
+                    stamp[v] = epoch;
+                    parent[v] = u;
+                    depth[v] = depth[u] + 1;
+                    if (v == to) {
+                        SearchCounter.record(head, edges + e - start + 1);
+                        return v;
+                    }
+                    queue[tail++] = v;
+                }
+            }
+            edges += end - start;
+        }
+        SearchCounter.record(head, edges);
+        return -1;
+    }
+
+    /**
+     * Runs the search over buffers; the same as the array version.
+     *
+     * @return the destination id if it was reached, otherwise -1
+     */
+    private int search(IntBuffer offsets, IntBuffer targets, int from, int to)
+    {
+        prepare(offsets.limit() - 1);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from;
+        stamp[from] = epoch;
+        depth[from] = 0;
+        long edges = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            int start = offsets.get(u);
+            int end = offsets.get(u + 1);
+            for (int e = start; e < end; e++) {
+                int v = targets.get(e);
+                if (stamp[v] != epoch) {
+                    stamp[v] = epoch;
+                    parent[v] = u;
+                    depth[v] = depth[u] + 1;
+                    if (v == to) {
+                        SearchCounter.record(head, edges + e - start + 1);
+                        return v;
+                    }
+                    queue[tail++] = v;
+                }
+            }
+            edges += end - start;
+        }
+        SearchCounter.record(head, edges);
+        return -1;
+    }
+
+    /**
+     * Makes sure the scratch arrays cover n vertices and starts a new
+     * search number.
+     */
+    private void prepare(int n)
+    {
+        if (stamp.length < n) {
+            int size = Math.max(n, stamp.length * 2);
+            queue = new int[size];
+            parent = new int[size];
+            depth = new int[size];
+            stamp = new int[size];
+            epoch = 0;
+        }
+        epoch++;
+        if (epoch == 0) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package edu.union.adt.graph;
+
+/**
+ * Receives the answers to a batch of path length queries from
+ * BatchDistances, one call per (from, to) pair.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public interface DistanceCallback<V>
+{
+    /**
+     * Called with the answer for one pair.  Pairs with different
+     * sources may be answered at the same time on different threads,
+     * so implementations must be thread-safe.
+     *
+     * @param pair the position of the pair in the batch
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param length the length of the shortest path from 'from' to
+     * 'to', or Integer.MAX_VALUE if there is no path
+     */
+    public void distance(int pair, V from, V to, int length);
+}
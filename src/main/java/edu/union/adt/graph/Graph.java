@@ -1,10 +1,13 @@
 package edu.union.adt.graph;
 
+import java.util.Map;
+
 /**
  * A graph that establishes connections (edges) between objects of
  * (parameterized) type V (vertices).  The edges are directed.  An
  * undirected edge between u and v can be simulated by two edges: (u,
- * v) and (v, u).
+ * v) and (v, u), or UndirectedGraph can be used, which stores it as a
+ * single edge that goes both ways.
  *
  * The API is based on one from
  *     http://introcs.cs.princeton.edu/java/home/
@@ -79,6 +82,43 @@ public interface Graph<V>
      */
     public Iterable<V> adjacentTo(V from);
 
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor, in
+     * the same order as adjacentTo, until the visitor returns false.
+     * Unlike iterating over adjacentTo, this need not allocate
+     * anything.  The visitor must not change the graph.
+     *
+     * @param from the source vertex
+     * @param visitor called with each destination of an edge for
+     * which 'from' is the source vertex.  If 'from' is not a vertex
+     * in the graph, it is not called at all.
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor);
+
+    /**
+     * Gets the number of vertices with edges to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of edges (x, vertex) in the graph
+     */
+    public int inDegree(V vertex);
+
+    /**
+     * Gets the vertices a given vertex is adjacent from.  A vertex x
+     * is "adjacent from" vertex y if there is an edge (x, y) in the
+     * graph; that is, y is adjacent to x.
+     *
+     * @param to the destination vertex
+     * @return an iterable collection for the set of vertices that are
+     * the sources of edges for which 'to' is the destination vertex.
+     * If 'to' is not a vertex in the graph, returns an empty
+     * iterator.
+     */
+    public Iterable<V> adjacentFrom(V to);
+
     /**
      * Tells whether or not a vertex is in the graph.
      *
@@ -218,4 +258,26 @@ public interface Graph<V>
      * source and destination vertices.
      */
     public Iterable<V> getPath(V from, V to);
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it.
+     *
+     * @param from the source vertex
+     * @return a map from each vertex reachable from 'from' to the
+     * length of the shortest path to it.  'from' itself is included,
+     * with length 0.  If 'from' is not a vertex in the graph, the map
+     * is empty.
+     */
+    public Map<V, Integer> distancesFrom(V from);
+
+    /**
+     * Makes an immutable copy of the graph as it is now.  Changes made
+     * to the graph afterward do not show in the copy, and the copy can
+     * be read by any number of threads without locking, so long
+     * traversals can run on it while the original keeps changing.
+     *
+     * @return a read-only graph with the same vertices and edges
+     */
+    public Graph<V> snapshot();
 }
@@ -0,0 +1,176 @@
+package edu.union.adt.graph;
+
+/**
+ * Chooses and sizes a graph implementation from what is known about
+ * how the graph will be used.  Get one from GraphFactory.builder,
+ * describe the graph, and call build:
+ *
+ * <PRE>
+ * Graph&lt;String&gt; g = GraphFactory.&lt;String&gt;builder()
+ *     .expectedVertices(50000000)
+ *     .workload(GraphBuilder.Workload.READ_MOSTLY)
+ *     .build();
+ * </PRE>
+ *
+ * An undirected graph is always an UndirectedGraph, which is not safe
+ * to change from several threads, so build rejects an undirected graph
+ * with a concurrency level above 1.  For a directed graph, a
+ * concurrency level above 1 gives a ConcurrentGraph, since no other
+ * implementation is safe to change from several threads.  Otherwise
+ * the workload decides:
+ *
+ * <UL>
+ * <LI>BALANCED, the default: HashGraph, as from GraphFactory.createGraph;
+ * <LI>READ_MOSTLY: CsrGraph, whose int arrays are compact and fast to
+ * search but which is slow at removeVertex;
+ * <LI>WRITE_HEAVY: HashGraph with its incoming-edge index, so that
+ * every change, removeVertex included, touches only the vertices
+ * involved;
+ * <LI>MEMORY_CONSTRAINED: OffHeapGraph, which keeps the edges out of
+ * the Java heap at four bytes each.
+ * </UL>
+ *
+ * The expected vertex count presizes the vertex maps and per-vertex
+ * arrays, so that loading the graph does not rehash or copy them over
+ * and over.  The expected edge count sizes OffHeapGraph's slabs and
+ * lets CsrGraph buffer that many edges before it first compacts; the
+ * hash-based graphs keep their edges per vertex and ignore it.  Both
+ * are hints: a graph can always grow past them.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class GraphBuilder<V>
+{
+    /**
+     * How the graph will mostly be used.
+     */
+    public enum Workload
+    {
+        BALANCED, READ_MOSTLY, WRITE_HEAVY, MEMORY_CONSTRAINED
+    }
+
+    private int expectedVertices;
+    private int expectedEdges;
+    private boolean directed = true;
+    private int concurrencyLevel = 1;
+    private Workload workload = Workload.BALANCED;
+
+    GraphBuilder()
+    {
+    }
+
+    /**
+     * @param expectedVertices the number of vertices the graph is
+     * expected to hold
+     * @return this builder
+     */
+    public GraphBuilder<V> expectedVertices(int expectedVertices)
+    {
+        if (expectedVertices < 0) {
+            throw new IllegalArgumentException("Negative vertex count: " + expectedVertices);
+        }
+        this.expectedVertices = expectedVertices;
+        return this;
+    }
+
+    /**
+     * @param expectedEdges the number of edges the graph is expected
+     * to hold
+     * @return this builder
+     */
+    public GraphBuilder<V> expectedEdges(int expectedEdges)
+    {
+        if (expectedEdges < 0) {
+            throw new IllegalArgumentException("Negative edge count: " + expectedEdges);
+        }
+        this.expectedEdges = expectedEdges;
+        return this;
+    }
+
+    /**
+     * @param directed false for a graph whose edges have no direction
+     * @return this builder
+     */
+    public GraphBuilder<V> directed(boolean directed)
+    {
+        this.directed = directed;
+        return this;
+    }
+
+    /**
+     * @param concurrencyLevel the number of threads expected to
+     * change the graph at once; 1, the default, for a graph used by
+     * one thread at a time.  Only directed graphs may be shared this
+     * way; build rejects an undirected graph with a level above 1.
+     * @return this builder
+     */
+    public GraphBuilder<V> concurrencyLevel(int concurrencyLevel)
+    {
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Concurrency level must be at least 1: "
+                                               + concurrencyLevel);
+        }
+        this.concurrencyLevel = concurrencyLevel;
+        return this;
+    }
+
+    /**
+     * @param workload how the graph will mostly be used
+     * @return this builder
+     */
+    public GraphBuilder<V> workload(Workload workload)
+    {
+        if (workload == null) {
+            throw new IllegalArgumentException("Workload must not be null");
+        }
+        this.workload = workload;
+        return this;
+    }
+
+    /**
+     * Creates an empty graph of the implementation that best fits the
+     * description.
+     *
+     * @return a new, empty graph
+     * @throws IllegalArgumentException if the graph is undirected and
+     * the concurrency level is above 1, since there is no undirected
+     * graph for concurrent use
+     */
+    public Graph<V> build()
+    {
+        if (!directed) {
+            if (concurrencyLevel > 1) {
+                throw new IllegalArgumentException("No undirected graph supports concurrency level "
+                                                   + concurrencyLevel);
+            }
+            return new UndirectedGraph<V>(expectedVertices);
+        } else if (concurrencyLevel > 1) {
+            return new ConcurrentGraph<V>(expectedVertices, concurrencyLevel);
+        } else if (workload == Workload.READ_MOSTLY) {
+            return new CsrGraph<V>(expectedVertices, expectedEdges);
+        } else if (workload == Workload.WRITE_HEAVY) {
+            return new HashGraph<V>(expectedVertices, true);
+        } else if (workload == Workload.MEMORY_CONSTRAINED) {
+            return new OffHeapGraph<V>(slabInts(), expectedVertices);
+        }
+        return new HashGraph<V>(expectedVertices, false);
+    }
+
+    /**
+     * @return a slab size big enough for the expected edges, allowing
+     * for rows half empty after doubling, up to the usual size
+     */
+    private int slabInts()
+    {
+        if (expectedEdges == 0) {
+            return OffHeapGraph.SLAB_INTS;
+        }
+        long needed = 2L * expectedEdges;
+        int size = 16;
+        while (size < needed && size < OffHeapGraph.SLAB_INTS) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
@@ -6,4 +6,97 @@ public class GraphFactory{
 	{
 		return new HashGraph<V>();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Creates a hash-based graph that also indexes incoming edges,
+	 * so removeVertex, inDegree and adjacentFrom only touch the
+	 * vertex's own neighbors.
+	 */
+	static public <V> Graph<V> createIndexedGraph()
+	{
+		return new HashGraph<V>(true);
+	}
+
+	/**
+	 * Creates a graph whose edges have no direction, each stored
+	 * once.
+	 */
+	static public <V> Graph<V> createUndirectedGraph()
+	{
+		return new UndirectedGraph<V>();
+	}
+
+	/**
+	 * Creates a graph backed by compressed sparse row int arrays,
+	 * for large graphs that are mostly read once they are built.
+	 */
+	static public <V> Graph<V> createCsrGraph()
+	{
+		return new CsrGraph<V>();
+	}
+
+	/**
+	 * Creates a compressed sparse row graph of String vertices whose
+	 * names are kept as bytes in one shared array, and whose vertex
+	 * ids may be used directly.
+	 */
+	static public IdGraph<String> createStringGraph()
+	{
+		return new CsrGraph<String>(VertexDictionary.forStrings());
+	}
+
+	/**
+	 * Creates a graph that any number of threads may read and change
+	 * at once without outside locking.
+	 */
+	static public <V> Graph<V> createConcurrentGraph()
+	{
+		return new ConcurrentGraph<V>();
+	}
+
+	/**
+	 * Creates a graph that keeps its edges in direct memory, off the
+	 * Java heap, so that huge graphs do not slow down the garbage
+	 * collector.
+	 */
+	static public <V> Graph<V> createOffHeapGraph()
+	{
+		return new OffHeapGraph<V>();
+	}
+
+	/**
+	 * Wraps a graph so that repeated path queries between changes
+	 * are answered from a cache.
+	 */
+	static public <V> CachingGraph<V> createCachingGraph(Graph<V> graph)
+	{
+		return new CachingGraph<V>(graph);
+	}
+
+	/**
+	 * Creates a graph whose edges have weights, for cheapest-path
+	 * queries with Dijkstra's algorithm or A*.
+	 */
+	static public <V> WeightedGraph<V> createWeightedGraph()
+	{
+		return new WeightedArrayGraph<V>();
+	}
+
+	/**
+	 * Wraps a graph so that its operations are counted and timed;
+	 * see InstrumentedGraph.stats.
+	 */
+	static public <V> InstrumentedGraph<V> createInstrumentedGraph(Graph<V> graph)
+	{
+		return new InstrumentedGraph<V>(graph);
+	}
+
+	/**
+	 * Starts describing a graph, so that GraphBuilder.build can pick
+	 * and presize the implementation that suits it.
+	 */
+	static public <V> GraphBuilder<V> builder()
+	{
+		return new GraphBuilder<V>();
+	}
+}
@@ -0,0 +1,280 @@
+package edu.union.adt.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Saves graphs in a compact binary file and opens them again as
+ * MappedGraphs.  Opening a file only maps it into memory; nothing is
+ * parsed or copied, so even a very large graph opens in milliseconds
+ * and its pages are read from disk as queries touch them.
+ *
+ * A file holds big-endian ints followed by the vertex names:
+ *
+ * <PRE>
+ * MAGIC, VERSION, vertices n, edges m, table size t
+ * row offsets        n + 1 ints   (as in CsrGraph)
+ * edge targets       m ints
+ * vertex table       t ints       (id + 1 of each vertex, 0 if empty)
+ * name offsets       n + 1 ints   (into the name bytes)
+ * name bytes         each vertex's encoding, in id order
+ * </PRE>
+ *
+ * The vertex table is an open-addressing hash table over the name
+ * bytes, hashed with 32-bit FNV-1a and probed linearly, so a vertex is
+ * found by encoding it and comparing bytes, without decoding any of
+ * the other names.  Because the whole file is mapped as one buffer it
+ * must be smaller than 2GB.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class GraphFile
+{
+    /** The first int of every graph file: "GRPH". */
+    static final int MAGIC = 0x47525048;
+
+    /** The format version this class reads and writes. */
+    static final int VERSION = 1;
+
+    /** Number of ints before the row offsets. */
+    static final int HEADER_INTS = 5;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes a graph to a file, replacing anything already there.  The
+     * graph must not change while it is being written.  Files are
+     * directed, so an UndirectedGraph is written, like its snapshot,
+     * with each edge both ways.
+     *
+     * @param graph the graph to write
+     * @param file the file to write it to
+     * @param codec how to store the vertices
+     * @throws IOException if the file cannot be written, or the graph
+     * is too large for the format
+     */
+    public static <V> void write(Graph<V> graph, File file, VertexCodec<? super V> codec)
+        throws IOException
+    {
+        int n = graph.numVertices();
+        Map<V, Integer> ids = new HashMap<V, Integer>(Math.max(16, (int) (n / 0.75f) + 1));
+        Object[] names = new Object[n];
+        for (V v : graph.getVertices()) {
+            names[ids.size()] = v;
+            ids.put(v, ids.size());
+        }
+
+        // Count the entries actually written rather than trusting
+        // numEdges, which counts an undirected edge once though it is
+        // adjacent from both ends.
+        long edges = 0;
+        for (int u = 0; u < n; u++) {
+            edges += graph.degree(GraphFile.<V>vertex(names, u));
+        }
+        int t = tableSize(n);
+        long nameStart = 4L * (HEADER_INTS + (n + 1) + edges + t + (n + 1));
+        if (nameStart > Integer.MAX_VALUE) {
+            throw new IOException("Graph too large for one file: " + n + " vertices, "
+                                  + edges + " edges");
+        }
+        int m = (int) edges;
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(0);
+            Output out = new Output(raf.getChannel());
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(n);
+            out.putInt(m);
+            out.putInt(t);
+            int offset = 0;
+            out.putInt(offset);
+            for (int u = 0; u < n; u++) {
+                offset += graph.degree(GraphFile.<V>vertex(names, u));
+                out.putInt(offset);
+            }
+            int written = 0;
+            for (int u = 0; u < n; u++) {
+                for (V to : graph.adjacentTo(GraphFile.<V>vertex(names, u))) {
+                    out.putInt(ids.get(to));
+                    written++;
+                }
+            }
+            if (offset != m || written != m) {
+                throw new ConcurrentModificationException("Graph changed while being written");
+            }
+
+            int[] table = new int[t];
+            int[] nameOffsets = new int[n + 1];
+            out.seek(nameStart);
+            int nameBytes = 0;
+            for (int u = 0; u < n; u++) {
+                byte[] bytes = codec.encode(GraphFile.<V>vertex(names, u));
+                if (nameStart + nameBytes + bytes.length > Integer.MAX_VALUE) {
+                    throw new IOException("Vertex names too large for one file");
+                }
+                out.put(bytes);
+                nameBytes += bytes.length;
+                nameOffsets[u + 1] = nameBytes;
+                int slot = hash(bytes, 0, bytes.length) & (t - 1);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & (t - 1);
+                }
+                table[slot] = u + 1;
+            }
+            out.seek(4L * (HEADER_INTS + (n + 1) + m));
+            for (int i = 0; i < t; i++) {
+                out.putInt(table[i]);
+            }
+            for (int u = 0; u <= n; u++) {
+                out.putInt(nameOffsets[u]);
+            }
+            out.flush();
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Opens a graph file as a read-only graph.  The file is mapped
+     * into memory and closed; the mapping lasts until the graph is
+     * garbage collected.
+     *
+     * @param file the file to open
+     * @param codec how the vertices were stored
+     * @return the graph in the file
+     * @throws IOException if the file cannot be read or is not a
+     * graph file of a version this class understands
+     */
+    public static <V> MappedGraph<V> open(File file, VertexCodec<V> codec) throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Graph file too large to map: " + file);
+            }
+            if (size < 4 * HEADER_INTS) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported graph file version " + buffer.getInt(4)
+                                      + ": " + file);
+            }
+            int n = buffer.getInt(8);
+            int m = buffer.getInt(12);
+            int t = buffer.getInt(16);
+            long nameStart = 4L * (HEADER_INTS + (n + 1) + m + t + (n + 1));
+            if (n < 0 || m < 0 || t != tableSize(n) || nameStart > size
+                || nameStart + buffer.getInt((int) nameStart - 4) > size) {
+                throw new IOException("Truncated or corrupt graph file: " + file);
+            }
+            return new MappedGraph<V>(buffer, codec);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * @return the vertex table size for n vertices: a power of two at
+     * least twice n
+     */
+    static int tableSize(int n)
+    {
+        int t = 2;
+        while (t < 2 * n) {
+            t <<= 1;
+        }
+        return t;
+    }
+
+    /**
+     * Hashes encoded vertex bytes with 32-bit FNV-1a.
+     */
+    static int hash(byte[] bytes, int start, int end)
+    {
+        int h = 0x811c9dc5;
+        for (int i = start; i < end; i++) {
+            h = (h ^ (bytes[i] & 0xff)) * 0x01000193;
+        }
+        return h;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V vertex(Object[] names, int id)
+    {
+        return (V) names[id];
+    }
+
+    /**
+     * Buffered, seekable output to a file channel.
+     */
+    private static class Output
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        Output(FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException
+        {
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void put(byte[] bytes) throws IOException
+        {
+            if (buffer.remaining() < bytes.length) {
+                flush();
+                if (bytes.length > buffer.capacity()) {
+                    write(ByteBuffer.wrap(bytes));
+                    return;
+                }
+            }
+            buffer.put(bytes);
+        }
+
+        void seek(long position) throws IOException
+        {
+            flush();
+            channel.position(position);
+        }
+
+        void flush() throws IOException
+        {
+            buffer.flip();
+            write(buffer);
+            buffer.clear();
+        }
+
+        private void write(ByteBuffer bytes) throws IOException
+        {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+
+    private GraphFile()
+    {
+    }
+}
@@ -0,0 +1,265 @@
+package edu.union.adt.graph;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Reads graphs with String vertices from the two common text formats:
+ *
+ * <UL>
+ * <LI>an edge list, one edge "u v" per line, with the two vertices
+ * separated by spaces or tabs.  A line with a single vertex adds
+ * just that vertex, anything after the second vertex (a weight, say)
+ * is ignored, and blank lines and lines starting with '#' or '%' are
+ * skipped;
+ * <LI>an adjacency list in the format Graph.toString and GraphWriter
+ * produce, "A: B, C" per line.  The vertex is everything before the
+ * first ':', and its neighbors are separated by ','.  Spaces around
+ * names are ignored, as are empty names and blank lines.
+ * </UL>
+ *
+ * Input is read from a channel in large blocks and split into lines
+ * and names as bytes, without making a String for each line.  Each
+ * distinct name is decoded from UTF-8 once and the same String is
+ * reused every time the name appears again.  The edges go into a
+ * BulkLoader, which can then build whichever graph is wanted.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class GraphReader
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Reads an edge list into a loader.
+     *
+     * @param in the text to read; not closed
+     * @param loader the loader to add the vertices and edges to
+     * @return loader
+     * @throws IOException if in throws one
+     */
+    public static BulkLoader<String> readEdgeList(ReadableByteChannel in,
+                                                  BulkLoader<String> loader)
+        throws IOException
+    {
+        readLines(in, new EdgeListParser(loader));
+        return loader;
+    }
+
+    /**
+     * Reads an adjacency list into a loader.
+     *
+     * @param in the text to read; not closed
+     * @param loader the loader to add the vertices and edges to
+     * @return loader
+     * @throws IOException if in throws one, or a line has no ':'
+     */
+    public static BulkLoader<String> readAdjacencyList(ReadableByteChannel in,
+                                                       BulkLoader<String> loader)
+        throws IOException
+    {
+        readLines(in, new AdjacencyListParser(loader));
+        return loader;
+    }
+
+    /**
+     * Reads an edge list file.
+     *
+     * @param file the file to read
+     * @return the graph it holds
+     * @throws IOException if the file cannot be read
+     */
+    public static ImmutableGraph<String> readEdgeList(File file) throws IOException
+    {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            return readEdgeList(in.getChannel(), new BulkLoader<String>()).buildImmutableGraph();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads an adjacency list file.
+     *
+     * @param file the file to read
+     * @return the graph it holds
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static ImmutableGraph<String> readAdjacencyList(File file) throws IOException
+    {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            return readAdjacencyList(in.getChannel(), new BulkLoader<String>())
+                .buildImmutableGraph();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Hands each line of the input to a parser as a range of bytes,
+     * without its line terminator, after setting the parser's
+     * lineNumber to the number of that line.  A line that does not
+     * fit in the buffer makes the buffer grow.
+     */
+    private static void readLines(ReadableByteChannel in, LineParser parser) throws IOException
+    {
+        byte[] bytes = new byte[BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int start = 0;
+        int end = 0;
+        while (true) {
+            if (end == bytes.length) {
+                if (start > 0) {
+                    System.arraycopy(bytes, start, bytes, 0, end - start);
+                    end -= start;
+                    start = 0;
+                } else {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                    buffer = ByteBuffer.wrap(bytes);
+                }
+            }
+            buffer.limit(bytes.length).position(end);
+            int read = in.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            for (int i = end, stop = end + read; i < stop; i++) {
+                if (bytes[i] == '\n') {
+                    parser.lineNumber++;
+                    parser.line(bytes, start, i);
+                    start = i + 1;
+                }
+            }
+            end += read;
+        }
+        if (start < end) {
+            parser.lineNumber++;
+            parser.line(bytes, start, end);
+        }
+    }
+
+    private static boolean isSpace(byte b)
+    {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Parses one line at a time.
+     */
+    private abstract static class LineParser
+    {
+        final BulkLoader<String> loader;
+        final Interner names = new Interner();
+        /** The number of the current line, counting from 1. */
+        int lineNumber;
+
+        LineParser(BulkLoader<String> loader)
+        {
+            this.loader = loader;
+        }
+
+        /**
+         * Parses bytes[start, end), one line without its '\n'.
+         */
+        abstract void line(byte[] bytes, int start, int end) throws IOException;
+    }
+
+    private static class EdgeListParser extends LineParser
+    {
+        EdgeListParser(BulkLoader<String> loader)
+        {
+            super(loader);
+        }
+
+        void line(byte[] bytes, int start, int end)
+        {
+            int i = start;
+            while (i < end && isSpace(bytes[i])) {
+                i++;
+            }
+            if (i == end || bytes[i] == '#' || bytes[i] == '%') {
+                return;
+            }
+            int fromStart = i;
+            while (i < end && !isSpace(bytes[i])) {
+                i++;
+            }
+            String from = names.intern(bytes, fromStart, i);
+            while (i < end && isSpace(bytes[i])) {
+                i++;
+            }
+            if (i == end) {
+                loader.addVertex(from);
+                return;
+            }
+            int toStart = i;
+            while (i < end && !isSpace(bytes[i])) {
+                i++;
+            }
+            loader.addEdge(from, names.intern(bytes, toStart, i));
+        }
+    }
+
+    private static class AdjacencyListParser extends LineParser
+    {
+        AdjacencyListParser(BulkLoader<String> loader)
+        {
+            super(loader);
+        }
+
+        void line(byte[] bytes, int start, int end) throws IOException
+        {
+            int colon = start;
+            while (colon < end && bytes[colon] != ':') {
+                colon++;
+            }
+            if (colon == end) {
+                for (int i = start; i < end; i++) {
+                    if (!isSpace(bytes[i])) {
+                        throw new IOException("Line " + lineNumber + ": no ':' after the vertex");
+                    }
+                }
+                return;
+            }
+            String from = name(bytes, start, colon);
+            loader.addVertex(from);
+            int i = colon + 1;
+            while (i < end) {
+                int comma = i;
+                while (comma < end && bytes[comma] != ',') {
+                    comma++;
+                }
+                String to = name(bytes, i, comma);
+                if (to.length() > 0) {
+                    loader.addEdge(from, to);
+                }
+                i = comma + 1;
+            }
+        }
+
+        /**
+         * @return bytes[start, end) without surrounding spaces
+         */
+        private String name(byte[] bytes, int start, int end)
+        {
+            while (start < end && isSpace(bytes[start])) {
+                start++;
+            }
+            while (end > start && isSpace(bytes[end - 1])) {
+                end--;
+            }
+            return names.intern(bytes, start, end);
+        }
+    }
+
+    private GraphReader()
+    {
+    }
+}
@@ -0,0 +1,118 @@
+package edu.union.adt.graph;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * What an InstrumentedGraph had recorded at one moment: how many times
+ * each operation was called and how long the calls took, how much
+ * searching the path queries did, and the largest out-degree seen.
+ * A GraphStats does not change as the graph goes on being used; ask
+ * the graph for a new one to see later calls.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class GraphStats
+{
+    private final Map<InstrumentedGraph.Operation, LatencyHistogram> latencies;
+    private final long traversals;
+    private final long visitedVertices;
+    private final long visitedEdges;
+    private final int maxDegree;
+
+    GraphStats(Map<InstrumentedGraph.Operation, LatencyHistogram> latencies,
+               long traversals, long visitedVertices, long visitedEdges, int maxDegree)
+    {
+        this.latencies = new EnumMap<InstrumentedGraph.Operation, LatencyHistogram>(latencies);
+        this.traversals = traversals;
+        this.visitedVertices = visitedVertices;
+        this.visitedEdges = visitedEdges;
+        this.maxDegree = maxDegree;
+    }
+
+    /**
+     * @param operation an operation
+     * @return the number of times it was called
+     */
+    public long count(InstrumentedGraph.Operation operation)
+    {
+        return latency(operation).count();
+    }
+
+    /**
+     * @param operation an operation
+     * @return the latencies of its calls, in nanoseconds
+     */
+    public LatencyHistogram latency(InstrumentedGraph.Operation operation)
+    {
+        return latencies.get(operation);
+    }
+
+    /**
+     * @return the number of calls to every operation together
+     */
+    public long totalCount()
+    {
+        long total = 0;
+        for (LatencyHistogram latency : latencies.values()) {
+            total += latency.count();
+        }
+        return total;
+    }
+
+    /**
+     * @return the number of path queries: hasPath, pathLength,
+     * getPath and distancesFrom
+     */
+    public long traversals()
+    {
+        return traversals;
+    }
+
+    /**
+     * @return the number of vertices whose edges the path queries
+     * followed, over all of them
+     */
+    public long visitedVertices()
+    {
+        return visitedVertices;
+    }
+
+    /**
+     * @return the number of edges the path queries followed, over all
+     * of them
+     */
+    public long visitedEdges()
+    {
+        return visitedEdges;
+    }
+
+    /**
+     * @return the largest out-degree of any vertex since the graph was
+     * wrapped or the stats were reset
+     */
+    public int maxDegree()
+    {
+        return maxDegree;
+    }
+
+    /**
+     * @return one line for each operation that was called, then the
+     * traversal counts and max degree
+     */
+    public String toString()
+    {
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<InstrumentedGraph.Operation, LatencyHistogram> entry : latencies.entrySet()) {
+            if (entry.getValue().count() > 0) {
+                result.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+            }
+        }
+        result.append("traversals=").append(traversals)
+            .append(" visitedVertices=").append(visitedVertices)
+            .append(" visitedEdges=").append(visitedEdges)
+            .append(" maxDegree=").append(maxDegree);
+        return result.toString();
+    }
+}
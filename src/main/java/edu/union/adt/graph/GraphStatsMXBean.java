@@ -0,0 +1,41 @@
+package edu.union.adt.graph;
+
+import java.util.Map;
+
+/**
+ * The stats of an InstrumentedGraph, for JMX consoles.  Each getter
+ * reads the graph's stats as they are at the time of the call.  Maps
+ * are keyed by operation name; latencies are in nanoseconds.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public interface GraphStatsMXBean
+{
+    int getNumVertices();
+
+    int getNumEdges();
+
+    Map<String, Long> getCounts();
+
+    Map<String, Double> getMeanNanos();
+
+    Map<String, Long> getMedianNanos();
+
+    Map<String, Long> getP99Nanos();
+
+    Map<String, Long> getMaxNanos();
+
+    long getTraversals();
+
+    long getVisitedVertices();
+
+    long getVisitedEdges();
+
+    int getMaxDegree();
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    void reset();
+}
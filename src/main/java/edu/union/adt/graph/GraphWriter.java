@@ -0,0 +1,62 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+
+/**
+ * Writes a graph out in the text format documented by Graph.toString:
+ * one line per vertex, the vertex followed by ": " and then its
+ * adjacent vertices separated by ", ".
+ *
+ * The graph is written in a single pass straight to the destination,
+ * one vertex and one neighbor at a time, so nothing but the output
+ * itself grows with the size of the graph.  Writing to a buffered
+ * Writer lets a graph far too big to hold as one String be saved to a
+ * file.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class GraphWriter
+{
+    /**
+     * Writes a graph to a destination.
+     *
+     * @param graph the graph to write
+     * @param out where to write it; not flushed or closed
+     * @throws IOException if out throws one
+     */
+    public static <V> void write(Graph<V> graph, Appendable out) throws IOException
+    {
+        for (V v : graph.getVertices()) {
+            out.append(String.valueOf(v)).append(':');
+            boolean first = true;
+            for (V n : graph.adjacentTo(v)) {
+                out.append(first ? " " : ", ").append(String.valueOf(n));
+                first = false;
+            }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Writes a graph to a String.  Used by the graphs' toString.
+     *
+     * @param graph the graph to write
+     * @return the string representation of the graph
+     */
+    public static <V> String toString(Graph<V> graph)
+    {
+        StringBuilder output = new StringBuilder();
+        try {
+            write(graph, output);
+        } catch (IOException e) {
+            // StringBuilder.append never throws.
+            throw new IllegalStateException(e);
+        }
+        return output.toString();
+    }
+
+    private GraphWriter()
+    {
+    }
+}
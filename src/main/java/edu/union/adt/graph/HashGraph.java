@@ -14,20 +14,81 @@ import java.util.*;
  * parameterized with a vertex type V instead of assuming String
  * vertices.
  *
+ * The neighbors of each vertex are kept in an AdjacencySet, which is
+ * a small array for low-degree vertices and a hash set for high-degree
+ * ones, so hasEdge, addEdge and removeEdge take constant expected time
+ * however many neighbors a vertex has.  equals and hashCode come from
+ * AbstractGraph, so a HashGraph compares equal to any graph with the
+ * same vertices and edges.
+ *
  * @author Aaron G. Cass
  * @version 1
  */
-public class HashGraph<V> implements Graph<V>
+public class HashGraph<V> extends AbstractGraph<V>
 {
 
-    private Map < V, List<V>> edges;
+    private Map < V, AdjacencySet<V>> edges;
+    private Map < V, AdjacencySet<V>> incoming;
+    private int edgeCount;
+    private boolean checkConsistency;
+    private BreadthFirstSearch<V> search;
+    private BidirectionalSearch<V> bidirectional;
 
     /**
      * Create an empty graph.
      */
     public HashGraph() 
     {
-         edges = new HashMap <V, List<V>>();
+         this(false);
+    }
+
+    /**
+     * Create an empty graph, optionally indexing incoming edges.
+     * With the index, every vertex also remembers the set of vertices
+     * with edges to it.  That costs a second entry per edge, but lets
+     * removeVertex touch only the removed vertex's actual neighbors
+     * instead of every adjacency list in the graph, and makes
+     * inDegree and adjacentFrom cheap.  Cheap predecessors in turn let
+     * the path queries search from both ends at once, which visits far
+     * fewer vertices on large graphs.
+     *
+     * @param indexIncoming true to maintain the incoming-edge index
+     */
+    public HashGraph(boolean indexIncoming)
+    {
+         this(0, indexIncoming);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices,
+     * so that filling it never rehashes the vertex maps.
+     *
+     * @param expectedVertices the number of vertices expected
+     * @param indexIncoming true to maintain the incoming-edge index
+     */
+    public HashGraph(int expectedVertices, boolean indexIncoming)
+    {
+         int capacity = Math.max(16, (int) (expectedVertices / 0.75f) + 1);
+         edges = new HashMap <V, AdjacencySet<V>>(capacity);
+         search = new BreadthFirstSearch<V>(this);
+         if (indexIncoming) {
+             incoming = new HashMap <V, AdjacencySet<V>>(capacity);
+             bidirectional = new BidirectionalSearch<V>(this);
+         }
+    }
+
+    /**
+     * Turns consistency checking on or off.  The graph keeps a
+     * running count of its edges so that numEdges is a constant-time
+     * read; when checking is on, numEdges also recounts the edges the
+     * slow way and throws an IllegalStateException if the two
+     * disagree.  Meant for tests, not for production use.
+     *
+     * @param enabled true to check the edge count on every numEdges
+     */
+    public void setConsistencyChecking(boolean enabled)
+    {
+        checkConsistency = enabled;
     }
 
     /**
@@ -43,21 +104,29 @@ public class HashGraph<V> implements Graph<V>
      */
     public int numEdges()
     {
-        //Iterator edgesList edges.values().iterator();
-        if(edges.isEmpty()){
-            return 0;
+        if (checkConsistency) {
+            int counted = countEdges();
+            if (counted != edgeCount) {
+                throw new IllegalStateException("Edge count is " + edgeCount
+                                                + " but graph has " + counted
+                                                + " edges");
+            }
         }
-        else{
-        boolean exit = false;
-        Iterator vertices = edges.keySet().iterator();
-        V nextKey;
+        return edgeCount;
+    }
+
+    /**
+     * Counts the edges by walking every adjacency list.
+     *
+     * @return the number of edges actually stored in the graph
+     */
+    private int countEdges()
+    {
         int count = 0;
-        while(!exit){
-            nextKey = (V)vertices.next();
-            count += degree(nextKey); 
-            if(vertices.hasNext() == false){exit = true;}
+        for (AdjacencySet<V> adjacent : edges.values()) {
+            count += adjacent.size();
         }
-        return count;}
+        return count;
     }
     
 
@@ -97,13 +166,49 @@ public class HashGraph<V> implements Graph<V>
         if(!edges.containsKey(to)){
             addVertex(to);
         }
-        if(!edges.get(from).contains(to)){
-        edges.get(from).add(to);
+        if(edges.get(from).add(to)){
+        edgeCount++;
+        if (incoming != null) {
+            incoming.get(to).add(from);
+        }
         }
         
 
         }
 
+    /**
+     * Adds rows of edges built by BulkLoader: vertex names[u] gets an
+     * edge to names[targets[e]] for each e from offsets[u] up to
+     * offsets[u + 1].  New vertices get neighbor sets created at their
+     * final size, so nothing is resized or rehashed while loading.
+     */
+    void addRows(Object[] names, int[] offsets, int[] targets)
+    {
+        int n = offsets.length - 1;
+        @SuppressWarnings("unchecked")
+        V[] vertices = (V[]) names;
+        for (int u = 0; u < n; u++) {
+            if (!edges.containsKey(vertices[u])) {
+                edges.put(vertices[u], new AdjacencySet<V>(offsets[u + 1] - offsets[u]));
+                if (incoming != null) {
+                    incoming.put(vertices[u], new AdjacencySet<V>());
+                }
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            AdjacencySet<V> adjacent = edges.get(vertices[u]);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                V to = vertices[targets[e]];
+                if (adjacent.add(to)) {
+                    edgeCount++;
+                    if (incoming != null) {
+                        incoming.get(to).add(vertices[u]);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Adds a vertex to the graph.  If the vertex already exists in
      * the graph, does nothing.  If the vertex does not exist, it is
@@ -116,7 +221,10 @@ public class HashGraph<V> implements Graph<V>
        if(edges.containsKey(vertex)) return;
         else
         {
-        edges.put(vertex, new ArrayList<V>());
+        edges.put(vertex, new AdjacencySet<V>());
+        if (incoming != null) {
+            incoming.put(vertex, new AdjacencySet<V>());
+        }
        }
     }
 
@@ -137,14 +245,83 @@ public class HashGraph<V> implements Graph<V>
      * NOT adjacent to y.
      *
      * @param from the source vertex
-     * @return an iterable collection for the set of vertices that are
+     * @return a live, read-only view of the set of vertices that are
      * the destinations of edges for which 'from' is the source
      * vertex.  If 'from' is not a vertex in the graph, returns an
      * empty iterator.
      */
     public Iterable<V> adjacentTo(V from)
-    {   
-        return edges.get(from);
+    {
+        AdjacencySet<V> adjacent = edges.get(from);
+        return adjacent == null ? Collections.<V>emptySet() : adjacent.view();
+    }
+
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor,
+     * straight from its adjacency set.
+     *
+     * @param from the source vertex
+     * @param visitor called with each vertex adjacent to 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        AdjacencySet<V> adjacent = edges.get(from);
+        return adjacent == null || adjacent.forEachNeighbor(visitor);
+    }
+
+    /**
+     * Gets the number of vertices with edges to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.  Without the incoming-edge index this checks
+     * every adjacency list.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of edges (x, vertex) in the graph
+     */
+    public int inDegree(V vertex)
+    {
+        if (!edges.containsKey(vertex)) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        if (incoming != null) {
+            return incoming.get(vertex).size();
+        }
+        int count = 0;
+        for (AdjacencySet<V> adjacent : edges.values()) {
+            if (adjacent.contains(vertex)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent from, that is, the
+     * sources of edges into it.  Without the incoming-edge index this
+     * checks every adjacency list.
+     *
+     * @param to the destination vertex
+     * @return an iterable collection for the set of vertices that are
+     * the sources of edges for which 'to' is the destination vertex.
+     * If 'to' is not a vertex in the graph, returns an empty
+     * iterator.
+     */
+    public Iterable<V> adjacentFrom(V to)
+    {
+        if (!edges.containsKey(to)) {
+            return Collections.<V>emptySet();
+        }
+        if (incoming != null) {
+            return incoming.get(to).view();
+        }
+        List<V> sources = new ArrayList<V>();
+        for (Map.Entry<V, AdjacencySet<V>> entry : edges.entrySet()) {
+            if (entry.getValue().contains(to)) {
+                sources.add(entry.getKey());
+            }
+        }
+        return sources;
     }
 
     /**
@@ -175,20 +352,6 @@ public class HashGraph<V> implements Graph<V>
     }
 
 
-    /** 
-    *@param a graph
-    *A graph is equal to another graph if and only if they contain the same verticies
-    *as well as the same edges
-    *@return returns true if and only if the two graphs are the same
-    */
-    public boolean equals(Object graphObject){
-
-       HashGraph graphTest = (HashGraph)graphObject;
-       return this.edges.equals(graphTest.edges);
-
-
-    }
-
     /**
      * Gives a string representation of the graph.  The representation
      * is a series of lines, one for each vertex in the graph.  On
@@ -217,27 +380,13 @@ public class HashGraph<V> implements Graph<V>
      * C:*A,*B
      * </PRE>
      *
+     * Use GraphWriter.write to stream a large graph to a file instead.
+     *
      * @return the string representation of the graph
      */
     public String toString()
     {
-        
-        String output = "";
-
-        for(V v: edges.keySet()){
-           output += v + ":";
-           //if(edges.get(v).contains(v)){ 
-            for(V k: edges.get(v)){
-             output += edges.get(k);
-        // }
-     }
-            output += "\n";
-
-
-        }
-        output = output.replace("[","");
-        output = output.replace("]","");
-        return output;
+        return GraphWriter.toString(this);
     }
     
 
@@ -272,25 +421,44 @@ public class HashGraph<V> implements Graph<V>
      */
     public void removeVertex(V toRemove){
         if(this.contains(toRemove)){
-            Iterable<V> adjacentVerts = this.adjacentTo(toRemove);
-            for( V v : edges.keySet()){
+            if (incoming != null) {
+                for (V v : incoming.get(toRemove)) {
                     edges.get(v).remove(toRemove);
+                    edgeCount--;
                 }
+                for (V v : edges.get(toRemove)) {
+                    incoming.get(v).remove(toRemove);
+                }
+                incoming.remove(toRemove);
+            }
+            else {
+            for( V v : edges.keySet()){
+                    if(edges.get(v).remove(toRemove)){
+                        edgeCount--;
+                    }
+                }
+            }
+            edgeCount -= edges.get(toRemove).size();
             }
         edges.remove(toRemove);
         }
 
 
     /**
-     * Removes an edge from the graph.
+     * Removes an edge from the graph.  Edges are directed, so an edge
+     * (to, from) is left in place.
      *
      * <p>Postcondition: If from and to were in the graph and (from,
      * to) was an edge in the graph, then numEdges = numEdges' - 1
      */
     public void removeEdge(V from, V to){
         if(edges.containsKey(from) && edges.containsKey(to)){
-        edges.get(from).remove(to);
-        edges.get(to).remove(from);
+        if(edges.get(from).remove(to)){
+            edgeCount--;
+            if (incoming != null) {
+                incoming.get(to).remove(from);
+            }
+        }
     }
 
     }
@@ -311,27 +479,10 @@ public class HashGraph<V> implements Graph<V>
      * @return true iff there is a path from 'from' to 'to' in the graph.
      */
     public boolean hasPath(V from, V to){
-        Queue<V> unchecked = new PriorityQueue<V>();
-        if(from.equals(to)){return true;}
-        else if(!this.contains(from) && !this.contains(to)){return false;}
-        else{
-            unchecked.add(from);
-            while(!unchecked.isEmpty()){
-                if(unchecked.peek().equals(to)){return true;}
-                else{
-                    Iterable<V> vertexList = this.adjacentTo(unchecked.poll());
-                    for(V v : vertexList){
-                        unchecked.add(v);
-                        if(v.equals(to)){return true;}
-                    }
-                }
-            }
-            return false;
-
+        if (bidirectional != null) {
+            return bidirectional.hasPath(from, to);
         }
-
-
-
+        return search.hasPath(from, to);
     }
 
     /**
@@ -348,19 +499,13 @@ public class HashGraph<V> implements Graph<V>
      * @param from the source vertex
      * @param to the destination vertex
      * @return the length of the shortest path from 'from' to 'to' in
-     * the graph.  If there is no path, returns Integer.MAX_VALUE  return Integer.MAX_VALUE;
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
      */
     public int pathLength(V from, V to){
-        if(from.equals(to)){
-            return 0;
-        }
-        Iterable<V> path = this.getPath(from,to);
-        int count=0;
-        for(V v: path){
-            count++;
+        if (bidirectional != null) {
+            return bidirectional.pathLength(from, to);
         }
-        count-=1;
-        return count;
+        return search.pathLength(from, to);
     }
 
 
@@ -383,59 +528,35 @@ public class HashGraph<V> implements Graph<V>
      * source and destination vertices.
      */
     public Iterable<V> getPath(V from, V to){
-        List<V> path = new ArrayList<V>();
-        if(!this.contains(from) || !this.contains(to)){
-            return path;
-        }
-        else if(from.equals(to)){
-            path.add(from);
-            return path;
+        if (bidirectional != null) {
+            return bidirectional.getPath(from, to);
         }
-        Queue<V> unchecked = new PriorityQueue<V>();
-        Map<V,V> checked = new HashMap<V,V>();
-        unchecked.add(from);
-        boolean exit = true;
-        checked.put(from,null);
-        while(exit && !unchecked.isEmpty()){
-
-            for(V v : this.adjacentTo(unchecked.peek())){
-                if(!checked.keySet().contains(v)){
-                    for(V z : this.adjacentTo(unchecked.peek())){checked.put(z,unchecked.peek());}
-                    if(!unchecked.peek().equals(to)){
-                        unchecked.poll();
-                        unchecked.add(v);
-                    }
-            }
-
-
-            }
-        if(checked.keySet().contains(to)){
-                exit = false;
-            }
-
-            
-        }
-    
-        
-        V node = to;
-        while(!node.equals(from)){
-            path.add(node);
-            node = checked.get(node);
-        }
-        path.add(from);
-        Collections.reverse(path);
-        return path;
-
-
-         
+        return search.getPath(from, to);
     }
 
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it.
+     *
+     * @param from the source vertex
+     * @return a map from each vertex reachable from 'from' to the
+     * length of the shortest path to it.  'from' itself is included,
+     * with length 0.  If 'from' is not a vertex in the graph, the map
+     * is empty.
+     */
+    public Map<V, Integer> distancesFrom(V from){
+        return search.distancesFrom(from);
+    }
 
-
-
-
-
-
-
-
+    /**
+     * Makes an immutable copy of the graph as it is now.  HashGraph is
+     * not thread-safe, so the caller must make sure the graph does not
+     * change while the copy is being made; after that, the copy can
+     * be read from any thread.
+     *
+     * @return a read-only graph with the same vertices and edges
+     */
+    public Graph<V> snapshot(){
+        return ImmutableGraph.copyOf(this);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package edu.union.adt.graph;
+
+/**
+ * An estimate of the cheapest cost from a vertex to a target, used
+ * to steer an A* search.  For the search to find the cheapest path the
+ * estimate must never be more than the true cost; the closer it gets
+ * from below, the fewer vertices the search visits.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public interface Heuristic<V>
+{
+    /**
+     * @param vertex a vertex
+     * @param target the vertex being searched for
+     * @return a lower bound on the cost of any path from vertex to target
+     */
+    public double estimate(V vertex, V target);
+}
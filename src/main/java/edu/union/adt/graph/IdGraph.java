@@ -0,0 +1,62 @@
+package edu.union.adt.graph;
+
+/**
+ * A graph that numbers its vertices with dense int ids, through a
+ * VertexDictionary, and lets callers use the ids directly.  Looking a
+ * vertex up hashes it; once a caller has the ids of the vertices it
+ * works with, the methods here skip the hashing altogether.
+ *
+ * An id stays with its vertex until the vertex is removed, after
+ * which it may be given to a new vertex.  addEdgeById and hasEdgeById
+ * throw an IllegalArgumentException for an id that does not belong to
+ * a vertex, whether it was never given out or has been freed.
+ *
+ * The id methods are named apart from addEdge and hasEdge, since for
+ * an IdGraph&lt;Integer&gt; a call like addEdge(1, 2) would otherwise
+ * quietly mean ids instead of vertices.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public interface IdGraph<V> extends Graph<V>
+{
+    /**
+     * @param vertex a vertex
+     * @return the vertex's id, or -1 if it is not in the graph
+     */
+    public int idOf(V vertex);
+
+    /**
+     * Adds a vertex if it is not in the graph already.
+     *
+     * @param vertex a vertex
+     * @return the vertex's id
+     */
+    public int intern(V vertex);
+
+    /**
+     * @param id the id of a vertex in the graph
+     * @return the vertex
+     */
+    public V vertex(int id);
+
+    /**
+     * Adds a directed edge between two vertices given by id.  If there
+     * is already an edge between them, does nothing.
+     *
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     * @throws IllegalArgumentException if either id is not a vertex's
+     */
+    public void addEdgeById(int from, int to);
+
+    /**
+     * Tells whether an edge exists between two vertices given by id.
+     *
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     * @return true iff there is an edge from 'from' to 'to'
+     * @throws IllegalArgumentException if either id is not a vertex's
+     */
+    public boolean hasEdgeById(int from, int to);
+}
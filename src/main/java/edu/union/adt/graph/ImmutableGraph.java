@@ -0,0 +1,507 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+
+/**
+ * A read-only graph, usually made by Graph.snapshot().  Its edges are
+ * stored as compressed sparse row int arrays, with each vertex's
+ * neighbors sorted by id, so it is compact, hasEdge is a binary
+ * search, and traversals walk plain arrays.
+ *
+ * Because nothing about an ImmutableGraph ever changes, any number of
+ * threads may read it at once without locking, while the graph it was
+ * copied from goes on changing.  Every method that would change the
+ * graph throws UnsupportedOperationException.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class ImmutableGraph<V> extends AbstractGraph<V>
+{
+    private final Object[] names;
+    private final Map<V, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+
+    /** The in-edge arrays, built on first use; see reverse(). */
+    private volatile Reverse reverse;
+
+    /**
+     * Creates a graph from arrays the caller hands over and does not
+     * touch again.  Every id in 0..names.length-1 must be a vertex.
+     *
+     * @param names the vertex for each id
+     * @param offsets the row offsets, names.length + 1 of them
+     * @param targets the edge targets; each row will be sorted
+     */
+    ImmutableGraph(Object[] names, int[] offsets, int[] targets)
+    {
+        this.names = names;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.ids = new HashMap<V, Integer>(Math.max(16, names.length * 4 / 3 + 1));
+        for (int i = 0; i < names.length; i++) {
+            ids.put(vertex(i), i);
+        }
+        for (int u = 0; u < names.length; u++) {
+            Arrays.sort(targets, offsets[u], offsets[u + 1]);
+        }
+    }
+
+    /**
+     * Copies any graph, using only the Graph API.  The copy is
+     * consistent only if the graph does not change while it is being
+     * copied.
+     *
+     * @param graph the graph to copy
+     * @return an immutable copy of graph
+     */
+    public static <V> ImmutableGraph<V> copyOf(Graph<V> graph)
+    {
+        if (graph instanceof ImmutableGraph) {
+            return (ImmutableGraph<V>) graph;
+        }
+        Map<V, Integer> ids = new HashMap<V, Integer>();
+        List<Object> names = new ArrayList<Object>();
+        for (V v : graph.getVertices()) {
+            ids.put(v, names.size());
+            names.add(v);
+        }
+        int n = names.size();
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[16];
+        int edges = 0;
+        for (int u = 0; u < n; u++) {
+            @SuppressWarnings("unchecked")
+            V from = (V) names.get(u);
+            for (V to : graph.adjacentTo(from)) {
+                if (edges == targets.length) {
+                    targets = Arrays.copyOf(targets, edges * 2);
+                }
+                targets[edges++] = ids.get(to);
+            }
+            offsets[u + 1] = edges;
+        }
+        return new ImmutableGraph<V>(names.toArray(), offsets, Arrays.copyOf(targets, edges));
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices()
+    {
+        return names.length;
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges()
+    {
+        return targets.length;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex)
+    {
+        int u = id(vertex);
+        return offsets[u + 1] - offsets[u];
+    }
+
+    /**
+     * Gets the number of vertices with edges to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of edges (x, vertex) in the graph
+     */
+    public int inDegree(V vertex)
+    {
+        int v = id(vertex);
+        int[] in = reverse().offsets;
+        return in[v + 1] - in[v];
+    }
+
+    /**
+     * Always throws, since an ImmutableGraph cannot change.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void addEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("ImmutableGraph cannot be changed");
+    }
+
+    /**
+     * Always throws, since an ImmutableGraph cannot change.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException("ImmutableGraph cannot be changed");
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices()
+    {
+        return new AbstractList<V>() {
+            public V get(int i)
+            {
+                return vertex(i);
+            }
+
+            public int size()
+            {
+                return names.length;
+            }
+        };
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, as a read-only
+     * view of the stored row rather than a copy.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from)
+    {
+        Integer u = ids.get(from);
+        if (u == null) {
+            return Collections.<V>emptyList();
+        }
+        return new Row(targets, offsets[u], offsets[u + 1]);
+    }
+
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor,
+     * straight from the row arrays.
+     *
+     * @param from the source vertex
+     * @param visitor called with each vertex adjacent to 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        Integer u = ids.get(from);
+        if (u == null) {
+            return true;
+        }
+        for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+            if (!visitor.visit(vertex(targets[e]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent from.
+     *
+     * @param to the destination vertex
+     * @return the sources of edges into 'to', or an empty iterator if
+     * 'to' is not a vertex in the graph.
+     */
+    public Iterable<V> adjacentFrom(V to)
+    {
+        Integer v = ids.get(to);
+        if (v == null) {
+            return Collections.<V>emptyList();
+        }
+        Reverse r = reverse();
+        return new Row(r.sources, r.offsets[v], r.offsets[v + 1]);
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex)
+    {
+        return ids.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.  Rows are sorted, so
+     * this is a binary search.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        Integer u = ids.get(from);
+        Integer w = ids.get(to);
+        return u != null && w != null
+            && Arrays.binarySearch(targets, offsets[u], offsets[u + 1], w) >= 0;
+    }
+
+    /**
+     * Always throws, since an ImmutableGraph cannot change.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void removeVertex(V toRemove)
+    {
+        throw new UnsupportedOperationException("ImmutableGraph cannot be changed");
+    }
+
+    /**
+     * Always throws, since an ImmutableGraph cannot change.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void removeEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("ImmutableGraph cannot be changed");
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return pathLength(from, to) != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(V from, V to)
+    {
+        if (BreadthFirstSearch.equal(from, to)) {
+            return 0;
+        }
+        Integer u = ids.get(from);
+        Integer w = ids.get(to);
+        if (u == null || w == null) {
+            return Integer.MAX_VALUE;
+        }
+        return CsrSearch.forThread().distance(offsets, targets, u, w);
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getPath(V from, V to)
+    {
+        List<V> path = new ArrayList<V>();
+        Integer u = ids.get(from);
+        Integer w = ids.get(to);
+        if (u == null || w == null) {
+            return path;
+        }
+        int[] found = CsrSearch.forThread().path(offsets, targets, u, w);
+        if (found != null) {
+            for (int id : found) {
+                path.add(vertex(id));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex reachable from it, searching in parallel.
+     *
+     * @param from the source vertex
+     * @return a map from each vertex reachable from 'from' to its
+     * distance, empty if 'from' is not in the graph.
+     */
+    public Map<V, Integer> distancesFrom(V from)
+    {
+        Map<V, Integer> distances = new HashMap<V, Integer>();
+        Integer u = ids.get(from);
+        if (u == null) {
+            return distances;
+        }
+        Reverse r = reverse();
+        int[] found = new ParallelBreadthFirstSearch(offsets, targets, r.offsets, r.sources)
+            .distances(u, -1);
+        for (int v = 0; v < found.length; v++) {
+            if (found[v] != ParallelBreadthFirstSearch.UNREACHED) {
+                distances.put(vertex(v), found[v]);
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * @return this graph, which is already an immutable snapshot.
+     */
+    public Graph<V> snapshot()
+    {
+        return this;
+    }
+
+    /**
+     * @return the row offsets, which callers must not change
+     */
+    int[] offsets()
+    {
+        return offsets;
+    }
+
+    /**
+     * @return the edge targets, which callers must not change
+     */
+    int[] targets()
+    {
+        return targets;
+    }
+
+    /**
+     * @return the in-edge row offsets, built on first use; callers
+     * must not change them
+     */
+    int[] inOffsets()
+    {
+        return reverse().offsets;
+    }
+
+    /**
+     * @return the in-edge sources, built on first use; callers must
+     * not change them
+     */
+    int[] sources()
+    {
+        return reverse().sources;
+    }
+
+    /**
+     * @return the id of a vertex, or -1 if it is not in the graph
+     */
+    int idOf(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Builds the in-edge arrays the first time they are needed.  No
+     * lock is taken: threads that race here may each build them, which
+     * is harmless since they build the same arrays, and the volatile
+     * field publishes whichever finishes last safely.
+     *
+     * @return the in-edge arrays
+     */
+    private Reverse reverse()
+    {
+        Reverse r = reverse;
+        if (r == null) {
+            int n = names.length;
+            int[] in = new int[n + 1];
+            for (int e = 0; e < targets.length; e++) {
+                in[targets[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                in[v + 1] += in[v];
+            }
+            int[] from = new int[targets.length];
+            int[] next = Arrays.copyOf(in, n);
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    from[next[targets[e]]++] = u;
+                }
+            }
+            r = new Reverse(in, from);
+            reverse = r;
+        }
+        return r;
+    }
+
+    private int id(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    V vertex(int id)
+    {
+        return (V) names[id];
+    }
+
+    /**
+     * A read-only view of one row of an id array.
+     */
+    private class Row extends AbstractList<V>
+    {
+        private final int[] ids;
+        private final int start;
+        private final int end;
+
+        Row(int[] ids, int start, int end)
+        {
+            this.ids = ids;
+            this.start = start;
+            this.end = end;
+        }
+
+        public V get(int i)
+        {
+            return vertex(ids[start + i]);
+        }
+
+        public int size()
+        {
+            return end - start;
+        }
+    }
+
+    /**
+     * The edges the other way round, in compressed sparse row form.
+     */
+    private static class Reverse
+    {
+        final int[] offsets;
+        final int[] sources;
+
+        Reverse(int[] offsets, int[] sources)
+        {
+            this.offsets = offsets;
+            this.sources = sources;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of int ids keyed by doubles, which also knows
+ * where each id sits so that its key can be lowered in place.  This is
+ * the priority queue for Dijkstra's algorithm: no entry objects, no
+ * boxing, and no stale duplicates left behind by decreased keys.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+class IndexedHeap
+{
+    private int[] heap = new int[16];
+    private double[] key = new double[16];
+    private int[] position = new int[0];
+    private int size;
+
+    /**
+     * Makes room for ids below n and empties the heap.
+     */
+    void reset(int n)
+    {
+        if (position.length < n) {
+            position = new int[Math.max(n, position.length * 2)];
+            Arrays.fill(position, -1);
+        }
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Adds an id, or lowers its key if it is already in the heap with
+     * a larger one.
+     */
+    void offer(int id, double priority)
+    {
+        int i = position[id];
+        if (i < 0) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+                key = Arrays.copyOf(key, size * 2);
+            }
+            i = size++;
+        } else if (priority >= key[i]) {
+            return;
+        }
+        up(i, id, priority);
+    }
+
+    /**
+     * Removes the id with the smallest key.
+     */
+    int poll()
+    {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            down(0, heap[size], key[size]);
+        }
+        return top;
+    }
+
+    private void up(int i, int id, double priority)
+    {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (key[parent] <= priority) {
+                break;
+            }
+            move(heap[parent], key[parent], i);
+            i = parent;
+        }
+        move(id, priority, i);
+    }
+
+    private void down(int i, int id, double priority)
+    {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && key[child + 1] < key[child]) {
+                child++;
+            }
+            if (priority <= key[child]) {
+                break;
+            }
+            move(heap[child], key[child], i);
+            i = child;
+        }
+        move(id, priority, i);
+    }
+
+    private void move(int id, double priority, int i)
+    {
+        heap[i] = id;
+        key[i] = priority;
+        position[id] = i;
+    }
+}
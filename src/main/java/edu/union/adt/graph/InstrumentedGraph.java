@@ -0,0 +1,433 @@
+package edu.union.adt.graph;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Wraps another graph and records how it is used: how many times each
+ * operation is called and how long the calls take, how many vertices
+ * and edges the path queries search, and the largest out-degree of any
+ * vertex.  stats takes a snapshot of what has been recorded so far, and
+ * register publishes the same figures over JMX.
+ *
+ * Every call is timed with two calls to System.nanoTime and recorded
+ * in a LatencyHistogram, which adds around a tenth of a microsecond to
+ * each call: plain to see on a hash lookup like hasEdge, lost in the
+ * noise on a search.  Calls that throw are not recorded.  numVertices,
+ * numEdges, isEmpty and getVertices pass straight through untimed.
+ *
+ * The search counts come from the searches in this package, which
+ * report the vertices they expand and the edges they follow when the
+ * query was made through an InstrumentedGraph on the same thread.  A
+ * query answered without a search, as by a CachingGraph hit, counts
+ * no vertices.  The direction-optimizing parallel search counts its
+ * levels as if they were searched top-down.
+ *
+ * The max degree is a high-water mark: it is found when the graph is
+ * wrapped and when the stats are reset, raised as edges are added
+ * through the InstrumentedGraph, and never lowered by removals.
+ *
+ * Recording is safe from any number of threads, so an
+ * InstrumentedGraph is as safe for use by more than one thread at once
+ * as the graph it wraps.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class InstrumentedGraph<V> extends AbstractGraph<V>
+{
+    /**
+     * The operations that are counted and timed.
+     */
+    public enum Operation
+    {
+        ADD_VERTEX, ADD_EDGE, REMOVE_VERTEX, REMOVE_EDGE,
+        CONTAINS, HAS_EDGE, DEGREE, IN_DEGREE,
+        ADJACENT_TO, ADJACENT_FROM, FOR_EACH_NEIGHBOR,
+        HAS_PATH, PATH_LENGTH, GET_PATH, DISTANCES_FROM, SNAPSHOT
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final Graph<V> graph;
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final AtomicLong traversals = new AtomicLong();
+    private final AtomicLong visitedVertices = new AtomicLong();
+    private final AtomicLong visitedEdges = new AtomicLong();
+    private final AtomicInteger maxDegree = new AtomicInteger();
+    private ObjectName registered;
+
+    /**
+     * Wraps a graph.
+     *
+     * @param graph the graph to wrap
+     */
+    public InstrumentedGraph(Graph<V> graph)
+    {
+        this.graph = graph;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        findMaxDegree();
+    }
+
+    /**
+     * @return a snapshot of everything recorded so far
+     */
+    public GraphStats stats()
+    {
+        Map<Operation, LatencyHistogram> copies = new EnumMap<Operation, LatencyHistogram>(Operation.class);
+        for (Operation operation : OPERATIONS) {
+            copies.put(operation, latencies[operation.ordinal()].copy());
+        }
+        return new GraphStats(copies, traversals.get(), visitedVertices.get(),
+                              visitedEdges.get(), maxDegree.get());
+    }
+
+    /**
+     * Forgets everything recorded so far, and finds the max degree of
+     * the graph as it is now.
+     */
+    public void reset()
+    {
+        for (LatencyHistogram latency : latencies) {
+            latency.reset();
+        }
+        traversals.set(0);
+        visitedVertices.set(0);
+        visitedEdges.set(0);
+        maxDegree.set(0);
+        findMaxDegree();
+    }
+
+    /**
+     * Publishes this graph's stats on the platform MBean server, as a
+     * GraphStatsMXBean named
+     * edu.union.adt.graph:type=InstrumentedGraph,name="name".  Throws
+     * an IllegalStateException if this graph is already registered.
+     *
+     * @param name a name for the graph, unique among those registered
+     * @return the name the bean was registered under
+     * @throws JMException if the bean could not be registered
+     */
+    public synchronized ObjectName register(String name) throws JMException
+    {
+        if (registered != null) {
+            throw new IllegalStateException("Already registered as " + registered);
+        }
+        ObjectName objectName = new ObjectName("edu.union.adt.graph:type=InstrumentedGraph,name="
+                                               + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), objectName);
+        registered = objectName;
+        return objectName;
+    }
+
+    /**
+     * Removes this graph's stats from the platform MBean server, if
+     * register put them there.
+     *
+     * @throws JMException if the bean could not be unregistered
+     */
+    public synchronized void unregister() throws JMException
+    {
+        if (registered != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registered);
+            registered = null;
+        }
+    }
+
+    public int numVertices()
+    {
+        return graph.numVertices();
+    }
+
+    public int numEdges()
+    {
+        return graph.numEdges();
+    }
+
+    public boolean isEmpty()
+    {
+        return graph.isEmpty();
+    }
+
+    public int degree(V vertex)
+    {
+        long start = System.nanoTime();
+        int degree = graph.degree(vertex);
+        record(Operation.DEGREE, start);
+        return degree;
+    }
+
+    public int inDegree(V vertex)
+    {
+        long start = System.nanoTime();
+        int degree = graph.inDegree(vertex);
+        record(Operation.IN_DEGREE, start);
+        return degree;
+    }
+
+    /**
+     * Adds an edge, and raises the max degree if 'from' now has more
+     * edges out than any vertex before it.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to)
+    {
+        long start = System.nanoTime();
+        graph.addEdge(from, to);
+        record(Operation.ADD_EDGE, start);
+        raiseMaxDegree(graph.degree(from));
+    }
+
+    public void addVertex(V vertex)
+    {
+        long start = System.nanoTime();
+        graph.addVertex(vertex);
+        record(Operation.ADD_VERTEX, start);
+    }
+
+    public Iterable<V> getVertices()
+    {
+        return graph.getVertices();
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        long start = System.nanoTime();
+        Iterable<V> adjacent = graph.adjacentTo(from);
+        record(Operation.ADJACENT_TO, start);
+        return adjacent;
+    }
+
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        long start = System.nanoTime();
+        boolean finished = graph.forEachNeighbor(from, visitor);
+        record(Operation.FOR_EACH_NEIGHBOR, start);
+        return finished;
+    }
+
+    public Iterable<V> adjacentFrom(V to)
+    {
+        long start = System.nanoTime();
+        Iterable<V> adjacent = graph.adjacentFrom(to);
+        record(Operation.ADJACENT_FROM, start);
+        return adjacent;
+    }
+
+    public boolean contains(V vertex)
+    {
+        long start = System.nanoTime();
+        boolean contains = graph.contains(vertex);
+        record(Operation.CONTAINS, start);
+        return contains;
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        long start = System.nanoTime();
+        boolean hasEdge = graph.hasEdge(from, to);
+        record(Operation.HAS_EDGE, start);
+        return hasEdge;
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        long start = System.nanoTime();
+        graph.removeVertex(toRemove);
+        record(Operation.REMOVE_VERTEX, start);
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        long start = System.nanoTime();
+        graph.removeEdge(from, to);
+        record(Operation.REMOVE_EDGE, start);
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        long start = System.nanoTime();
+        SearchCounter counter = SearchCounter.start();
+        boolean hasPath;
+        try {
+            hasPath = graph.hasPath(from, to);
+        } finally {
+            counter.stop();
+        }
+        searched(Operation.HAS_PATH, start, counter);
+        return hasPath;
+    }
+
+    public int pathLength(V from, V to)
+    {
+        long start = System.nanoTime();
+        SearchCounter counter = SearchCounter.start();
+        int length;
+        try {
+            length = graph.pathLength(from, to);
+        } finally {
+            counter.stop();
+        }
+        searched(Operation.PATH_LENGTH, start, counter);
+        return length;
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        long start = System.nanoTime();
+        SearchCounter counter = SearchCounter.start();
+        Iterable<V> path;
+        try {
+            path = graph.getPath(from, to);
+        } finally {
+            counter.stop();
+        }
+        searched(Operation.GET_PATH, start, counter);
+        return path;
+    }
+
+    public Map<V, Integer> distancesFrom(V from)
+    {
+        long start = System.nanoTime();
+        SearchCounter counter = SearchCounter.start();
+        Map<V, Integer> distances;
+        try {
+            distances = graph.distancesFrom(from);
+        } finally {
+            counter.stop();
+        }
+        searched(Operation.DISTANCES_FROM, start, counter);
+        return distances;
+    }
+
+    public Graph<V> snapshot()
+    {
+        long start = System.nanoTime();
+        Graph<V> snapshot = graph.snapshot();
+        record(Operation.SNAPSHOT, start);
+        return snapshot;
+    }
+
+    private void record(Operation operation, long start)
+    {
+        latencies[operation.ordinal()].record(System.nanoTime() - start);
+    }
+
+    private void searched(Operation operation, long start, SearchCounter counter)
+    {
+        record(operation, start);
+        traversals.incrementAndGet();
+        visitedVertices.addAndGet(counter.vertices());
+        visitedEdges.addAndGet(counter.edges());
+    }
+
+    private void raiseMaxDegree(int degree)
+    {
+        int seen = maxDegree.get();
+        while (degree > seen && !maxDegree.compareAndSet(seen, degree)) {
+            seen = maxDegree.get();
+        }
+    }
+
+    private void findMaxDegree()
+    {
+        for (V v : graph.getVertices()) {
+            raiseMaxDegree(graph.degree(v));
+        }
+    }
+
+    /**
+     * The stats of this graph as a JMX bean.
+     */
+    private class Bean implements GraphStatsMXBean
+    {
+        public int getNumVertices()
+        {
+            return graph.numVertices();
+        }
+
+        public int getNumEdges()
+        {
+            return graph.numEdges();
+        }
+
+        public Map<String, Long> getCounts()
+        {
+            Map<String, Long> counts = new LinkedHashMap<String, Long>();
+            for (Operation operation : OPERATIONS) {
+                counts.put(operation.name(), latencies[operation.ordinal()].count());
+            }
+            return counts;
+        }
+
+        public Map<String, Double> getMeanNanos()
+        {
+            Map<String, Double> means = new LinkedHashMap<String, Double>();
+            for (Operation operation : OPERATIONS) {
+                means.put(operation.name(), latencies[operation.ordinal()].mean());
+            }
+            return means;
+        }
+
+        public Map<String, Long> getMedianNanos()
+        {
+            return percentiles(50);
+        }
+
+        public Map<String, Long> getP99Nanos()
+        {
+            return percentiles(99);
+        }
+
+        public Map<String, Long> getMaxNanos()
+        {
+            Map<String, Long> maxima = new LinkedHashMap<String, Long>();
+            for (Operation operation : OPERATIONS) {
+                maxima.put(operation.name(), latencies[operation.ordinal()].max());
+            }
+            return maxima;
+        }
+
+        public long getTraversals()
+        {
+            return traversals.get();
+        }
+
+        public long getVisitedVertices()
+        {
+            return visitedVertices.get();
+        }
+
+        public long getVisitedEdges()
+        {
+            return visitedEdges.get();
+        }
+
+        public int getMaxDegree()
+        {
+            return maxDegree.get();
+        }
+
+        public void reset()
+        {
+            InstrumentedGraph.this.reset();
+        }
+
+        private Map<String, Long> percentiles(double percent)
+        {
+            Map<String, Long> values = new LinkedHashMap<String, Long>();
+            for (Operation operation : OPERATIONS) {
+                values.put(operation.name(), latencies[operation.ordinal()].percentile(percent));
+            }
+            return values;
+        }
+    }
+}
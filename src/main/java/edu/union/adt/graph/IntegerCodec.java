@@ -0,0 +1,23 @@
+package edu.union.adt.graph;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stores Integer vertices as four big-endian bytes.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class IntegerCodec implements VertexCodec<Integer>
+{
+    public byte[] encode(Integer vertex)
+    {
+        int v = vertex;
+        return new byte[] { (byte) (v >>> 24), (byte) (v >>> 16), (byte) (v >>> 8), (byte) v };
+    }
+
+    public Integer decode(ByteBuffer bytes)
+    {
+        return bytes.getInt();
+    }
+}
@@ -0,0 +1,76 @@
+package edu.union.adt.graph;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Turns UTF-8 byte ranges into Strings, returning the same String
+ * every time the same bytes come up, so that a name that appears on
+ * many lines is decoded and stored only once.  Names are kept in an
+ * open-addressing hash table keyed by their bytes.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+class Interner
+{
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private byte[][] keys = new byte[64][];
+    private String[] values = new String[64];
+    private int size;
+
+    /**
+     * @return the String for bytes[start, end)
+     */
+    String intern(byte[] bytes, int start, int end)
+    {
+        int mask = keys.length - 1;
+        int slot = GraphFile.hash(bytes, start, end) & mask;
+        while (keys[slot] != null) {
+            if (same(keys[slot], bytes, start, end)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        String value = new String(bytes, start, end - start, UTF8);
+        keys[slot] = Arrays.copyOfRange(bytes, start, end);
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return value;
+    }
+
+    private static boolean same(byte[] key, byte[] bytes, int start, int end)
+    {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != bytes[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow()
+    {
+        byte[][] oldKeys = keys;
+        String[] oldValues = values;
+        keys = new byte[oldKeys.length * 2][];
+        values = new String[keys.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = GraphFile.hash(oldKeys[i], 0, oldKeys[i].length) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package edu.union.adt.graph;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds, in the manner of
+ * HdrHistogram.  Values below 16 are counted exactly; above that, each
+ * power of two is split into 16 buckets, so a value is known to within
+ * 1/16 of itself.  960 buckets cover every long.  Recording a value
+ * takes a few shifts and atomic adds and allocates nothing, so it is
+ * cheap enough to do on every operation, from any number of threads.
+ *
+ * Percentiles are reported as the highest value in the bucket the
+ * percentile falls in, but never more than the largest value recorded.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class LatencyHistogram
+{
+    private static final int SUB_BITS = 4;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one value.  Negative values are recorded as 0.
+     *
+     * @param nanos the latency to record
+     */
+    public void record(long nanos)
+    {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(bucket(nanos));
+        total.addAndGet(nanos);
+        long seen = max.get();
+        while (nanos > seen && !max.compareAndSet(seen, nanos)) {
+            seen = max.get();
+        }
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long count()
+    {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the mean of the values recorded, 0 if there are none
+     */
+    public double mean()
+    {
+        long count = count();
+        return count == 0 ? 0.0 : (double) total.get() / count;
+    }
+
+    /**
+     * @return the largest value recorded, 0 if there are none
+     */
+    public long max()
+    {
+        return max.get();
+    }
+
+    /**
+     * Gets the value below which a given percentage of the recorded
+     * values fall.  Throws an IllegalArgumentException if the
+     * percentage is not between 0 and 100.
+     *
+     * @param percent the percentile, such as 50 for the median
+     * @return the percentile, 0 if no values were recorded
+     */
+    public long percentile(double percent)
+    {
+        if (!(percent >= 0.0 && percent <= 100.0)) {
+            throw new IllegalArgumentException("Percentile out of range: " + percent);
+        }
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highest(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Forgets every value recorded.  Values recorded by other threads
+     * while this runs may be partly kept.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * @return a copy of this histogram as it is now
+     */
+    LatencyHistogram copy()
+    {
+        LatencyHistogram copy = new LatencyHistogram();
+        for (int i = 0; i < BUCKETS; i++) {
+            copy.counts.set(i, counts.get(i));
+        }
+        copy.total.set(total.get());
+        copy.max.set(max.get());
+        return copy;
+    }
+
+    public String toString()
+    {
+        return "count=" + count() + " mean=" + Math.round(mean())
+            + "ns p50=" + percentile(50) + "ns p99=" + percentile(99)
+            + "ns max=" + max() + "ns";
+    }
+
+    /**
+     * @return the bucket a non-negative value is counted in
+     */
+    static int bucket(long value)
+    {
+        if (value < SUB) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        return ((exponent - SUB_BITS + 1) << SUB_BITS)
+            + (int) ((value >>> (exponent - SUB_BITS)) & (SUB - 1));
+    }
+
+    /**
+     * @return the highest value counted in a bucket
+     */
+    static long highest(int bucket)
+    {
+        if (bucket < SUB) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BITS) - 1;
+        long lowest = (long) (SUB + (bucket & (SUB - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,456 @@
+package edu.union.adt.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * A read-only graph backed by a memory-mapped GraphFile.  Edges stay
+ * in the file's compressed sparse row arrays and vertex names stay
+ * encoded; a name is decoded only when a method returns that vertex,
+ * and a vertex passed in is found by encoding it and probing the
+ * file's vertex table.  Path queries search the mapped arrays
+ * directly, so only the pages they touch are ever read.
+ *
+ * Like an ImmutableGraph it never changes, so any number of threads
+ * may read it at once.  Every method that would change the graph
+ * throws UnsupportedOperationException.  Open one with GraphFile.open.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class MappedGraph<V> extends AbstractGraph<V>
+{
+    private final VertexCodec<V> codec;
+    private final int n;
+    private final int m;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer table;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer names;
+
+    /**
+     * Creates a graph over a mapped file whose header has already been
+     * checked.
+     */
+    MappedGraph(ByteBuffer file, VertexCodec<V> codec)
+    {
+        this.codec = codec;
+        this.n = file.getInt(8);
+        this.m = file.getInt(12);
+        int t = file.getInt(16);
+        int position = 4 * GraphFile.HEADER_INTS;
+        offsets = ints(file, position, n + 1);
+        position += 4 * (n + 1);
+        targets = ints(file, position, m);
+        position += 4 * m;
+        table = ints(file, position, t);
+        position += 4 * t;
+        nameOffsets = ints(file, position, n + 1);
+        position += 4 * (n + 1);
+        ByteBuffer bytes = file.duplicate();
+        bytes.position(position);
+        names = bytes.slice();
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices()
+    {
+        return n;
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges()
+    {
+        return m;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex)
+    {
+        int u = existing(vertex);
+        return offsets.get(u + 1) - offsets.get(u);
+    }
+
+    /**
+     * Gets the number of vertices with edges to a given vertex.  The
+     * file has no in-edge index, so this scans every edge, though
+     * without decoding any names.  If the given vertex is not in the
+     * graph, throws a RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the number of edges (x, vertex) in the graph
+     */
+    public int inDegree(V vertex)
+    {
+        int v = existing(vertex);
+        int count = 0;
+        for (int e = 0; e < m; e++) {
+            if (targets.get(e) == v) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent from, by scanning
+     * every edge.
+     *
+     * @param to the destination vertex
+     * @return the sources of edges into 'to', or an empty iterable if
+     * 'to' is not in the graph.
+     */
+    public Iterable<V> adjacentFrom(V to)
+    {
+        List<V> sources = new ArrayList<V>();
+        int v = id(to);
+        if (v < 0) {
+            return sources;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets.get(u), end = offsets.get(u + 1); e < end; e++) {
+                if (targets.get(e) == v) {
+                    sources.add(vertex(u));
+                    break;
+                }
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Always throws, since a MappedGraph cannot change.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void addEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("MappedGraph cannot be changed");
+    }
+
+    /**
+     * Always throws, since a MappedGraph cannot change.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException("MappedGraph cannot be changed");
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph, decoded as they are iterated.
+     */
+    public Iterable<V> getVertices()
+    {
+        return new AbstractList<V>() {
+            public V get(int i)
+            {
+                return vertex(i);
+            }
+
+            public int size()
+            {
+                return n;
+            }
+        };
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, as a read-only
+     * view of the stored row that decodes each vertex as it is read.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from)
+    {
+        int u = id(from);
+        if (u < 0) {
+            return Collections.<V>emptyList();
+        }
+        final int start = offsets.get(u);
+        final int end = offsets.get(u + 1);
+        return new AbstractList<V>() {
+            public V get(int i)
+            {
+                return vertex(targets.get(start + i));
+            }
+
+            public int size()
+            {
+                return end - start;
+            }
+        };
+    }
+
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor,
+     * decoding each one from the mapped file as it goes.
+     *
+     * @param from the source vertex
+     * @param visitor called with each vertex adjacent to 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        int u = id(from);
+        if (u < 0) {
+            return true;
+        }
+        for (int e = offsets.get(u), end = offsets.get(u + 1); e < end; e++) {
+            if (!visitor.visit(vertex(targets.get(e)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex)
+    {
+        return id(vertex) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        int u = id(from);
+        int w = id(to);
+        if (u < 0 || w < 0) {
+            return false;
+        }
+        for (int e = offsets.get(u), end = offsets.get(u + 1); e < end; e++) {
+            if (targets.get(e) == w) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Always throws, since a MappedGraph cannot change.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void removeVertex(V toRemove)
+    {
+        throw new UnsupportedOperationException("MappedGraph cannot be changed");
+    }
+
+    /**
+     * Always throws, since a MappedGraph cannot change.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void removeEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("MappedGraph cannot be changed");
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return pathLength(from, to) != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(V from, V to)
+    {
+        if (BreadthFirstSearch.equal(from, to)) {
+            return 0;
+        }
+        int u = id(from);
+        int w = id(to);
+        if (u < 0 || w < 0) {
+            return Integer.MAX_VALUE;
+        }
+        return CsrSearch.forThread().distance(offsets, targets, u, w);
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getPath(V from, V to)
+    {
+        List<V> path = new ArrayList<V>();
+        int u = id(from);
+        int w = id(to);
+        if (u < 0 || w < 0) {
+            return path;
+        }
+        int[] found = CsrSearch.forThread().path(offsets, targets, u, w);
+        if (found != null) {
+            for (int id : found) {
+                path.add(vertex(id));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex reachable from it.
+     *
+     * @param from the source vertex
+     * @return a map from each vertex reachable from 'from' to its
+     * distance, empty if 'from' is not in the graph.
+     */
+    public Map<V, Integer> distancesFrom(V from)
+    {
+        Map<V, Integer> distances = new HashMap<V, Integer>();
+        int source = id(from);
+        if (source < 0) {
+            return distances;
+        }
+        int[] dist = new int[n];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        dist[source] = 0;
+        long edges = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            distances.put(vertex(u), dist[u]);
+            int start = offsets.get(u);
+            int end = offsets.get(u + 1);
+            for (int e = start; e < end; e++) {
+                int v = targets.get(e);
+                if (dist[v] < 0) {
+                    dist[v] = dist[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+            edges += end - start;
+        }
+        SearchCounter.record(head, edges);
+        return distances;
+    }
+
+    /**
+     * @return this graph, which already cannot change.
+     */
+    public Graph<V> snapshot()
+    {
+        return this;
+    }
+
+    /**
+     * Finds a vertex's id by probing the vertex table with its
+     * encoding.
+     *
+     * @return the id, or -1 if the vertex is not in the graph
+     */
+    private int id(V vertex)
+    {
+        if (vertex == null) {
+            return -1;
+        }
+        byte[] bytes = codec.encode(vertex);
+        int mask = table.limit() - 1;
+        int slot = GraphFile.hash(bytes, 0, bytes.length) & mask;
+        while (true) {
+            int entry = table.get(slot);
+            if (entry == 0) {
+                return -1;
+            }
+            if (sameName(entry - 1, bytes)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int existing(V vertex)
+    {
+        int id = id(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return id;
+    }
+
+    private boolean sameName(int id, byte[] bytes)
+    {
+        int start = nameOffsets.get(id);
+        if (nameOffsets.get(id + 1) - start != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (names.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private V vertex(int id)
+    {
+        ByteBuffer bytes = names.duplicate();
+        bytes.limit(nameOffsets.get(id + 1));
+        bytes.position(nameOffsets.get(id));
+        return codec.decode(bytes);
+    }
+
+    private static IntBuffer ints(ByteBuffer file, int position, int count)
+    {
+        ByteBuffer bytes = file.duplicate();
+        bytes.position(position);
+        bytes.limit(position + 4 * count);
+        return bytes.slice().asIntBuffer();
+    }
+}
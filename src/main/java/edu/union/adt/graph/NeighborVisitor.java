@@ -0,0 +1,20 @@
+package edu.union.adt.graph;
+
+/**
+ * Receives the neighbors of a vertex one at a time from
+ * Graph.forEachNeighbor.  One visitor can be made once and reused for
+ * every vertex of a traversal, so walking the edges allocates nothing.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public interface NeighborVisitor<V>
+{
+    /**
+     * Called with one neighbor.
+     *
+     * @param neighbor a vertex adjacent to the vertex being visited
+     * @return true to go on to the next neighbor, false to stop
+     */
+    public boolean visit(V neighbor);
+}
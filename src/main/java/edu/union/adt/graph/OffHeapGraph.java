@@ -0,0 +1,636 @@
+package edu.union.adt.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * A graph whose edges live outside the Java heap, in direct
+ * ByteBuffers, so that the garbage collector never has to look at
+ * them.  However many edges the graph holds, the heap only holds the
+ * vertices themselves, a map from each vertex to a dense int id, and a
+ * few ints per vertex saying where its row of neighbor ids is.  GC
+ * work therefore grows with the number of vertices, not edges.  With
+ * the dictionary from VertexDictionary.forStrings, even String
+ * vertices are kept as bytes in one array rather than as objects.
+ *
+ * Rows are carved out of large slabs of direct memory.  A row's
+ * capacity is a power of two; when it fills, the row moves to a region
+ * twice the size and the old region is kept on a free list for its
+ * size, to be reused by the next row that needs that much.  A row too
+ * large for a slab gets a slab of its own.
+ *
+ * Direct memory is limited by -XX:MaxDirectMemorySize, not -Xmx, and is
+ * given back only when the graph is garbage collected.  Like
+ * CsrGraph, removeVertex has no index of incoming edges and is linear
+ * in the number of edges, and hasEdge is linear in the degree.  As in
+ * CsrGraph, callers holding ids can use addEdgeById and hasEdgeById.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class OffHeapGraph<V> extends AbstractGraph<V> implements IdGraph<V>
+{
+    /** Ints in an ordinary slab: 64MB of edges. */
+    static final int SLAB_INTS = 1 << 24;
+
+    /** Capacity of a new vertex's first row. */
+    private static final int MIN_ROW = 4;
+
+    /** Stands in for the slab of an empty graph's rows. */
+    private static final IntBuffer EMPTY = IntBuffer.allocate(0);
+
+    private final VertexDictionary<V> dictionary;
+
+    /** Where each row starts: slab index in the high word, offset in the low. */
+    private long[] rows;
+    private int[] degrees;
+    private int[] capacities;
+    private int edgeCount;
+
+    private final List<IntBuffer> slabs;
+    private int currentSlab;
+    private int slabUsed;
+    private final int slabInts;
+
+    /** Free regions, by log2 of their capacity. */
+    private long[][] freeRegions;
+    private int[] freeRegionCount;
+
+    private int[] queue = new int[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private int epoch;
+
+    /**
+     * Create an empty graph.
+     */
+    public OffHeapGraph()
+    {
+        this(SLAB_INTS);
+    }
+
+    /**
+     * Create an empty graph whose slabs hold a given number of ints.
+     * Smaller slabs waste less memory on small graphs.
+     *
+     * @param slabInts the ints per slab, a power of two of at least 16
+     */
+    public OffHeapGraph(int slabInts)
+    {
+        this(slabInts, 0);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices,
+     * so that adding them never rehashes or copies the per-vertex
+     * arrays.
+     *
+     * @param slabInts the ints per slab, a power of two of at least 16
+     * @param expectedVertices the number of vertices expected
+     */
+    public OffHeapGraph(int slabInts, int expectedVertices)
+    {
+        this(slabInts, new VertexDictionary<V>(expectedVertices), expectedVertices);
+    }
+
+    /**
+     * Create an empty graph that numbers its vertices with a given
+     * dictionary, such as one from VertexDictionary.forStrings.  The
+     * graph takes the dictionary over, and it must be empty.
+     *
+     * @param slabInts the ints per slab, a power of two of at least 16
+     * @param dictionary the dictionary to use
+     */
+    public OffHeapGraph(int slabInts, VertexDictionary<V> dictionary)
+    {
+        this(slabInts, dictionary, 0);
+    }
+
+    private OffHeapGraph(int slabInts, VertexDictionary<V> dictionary, int expectedVertices)
+    {
+        if (dictionary.idLimit() != 0) {
+            throw new IllegalArgumentException("Dictionary is not empty");
+        }
+        if (slabInts < 16 || Integer.bitCount(slabInts) != 1) {
+            throw new IllegalArgumentException("Slab size must be a power of two >= 16: "
+                                               + slabInts);
+        }
+        this.slabInts = slabInts;
+        int capacity = Math.max(16, expectedVertices);
+        this.dictionary = dictionary;
+        rows = new long[capacity];
+        degrees = new int[capacity];
+        capacities = new int[capacity];
+        slabs = new ArrayList<IntBuffer>();
+        slabUsed = slabInts;
+        freeRegions = new long[32][];
+        freeRegionCount = new int[32];
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices()
+    {
+        return dictionary.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex)
+    {
+        int id = dictionary.id(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return degrees[id];
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to)
+    {
+        addEdgeById(intern(from), intern(to));
+    }
+
+    /**
+     * Adds a directed edge between two vertices given by id.  If
+     * there is already an edge between them, does nothing.
+     *
+     * @param u the id of the source vertex
+     * @param w the id of the destination vertex
+     * @throws IllegalArgumentException if either id is not a vertex's
+     */
+    public void addEdgeById(int u, int w)
+    {
+        checkId(u);
+        checkId(w);
+        if (indexOf(u, w) >= 0) {
+            return;
+        }
+        if (degrees[u] == capacities[u]) {
+            grow(u);
+        }
+        slab(rows[u]).put(offset(rows[u]) + degrees[u], w);
+        degrees[u]++;
+        edgeCount++;
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex)
+    {
+        intern(vertex);
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices()
+    {
+        return dictionary.vertices();
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, copied out of
+     * direct memory.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from)
+    {
+        int u = dictionary.id(from);
+        if (u < 0) {
+            return Collections.<V>emptyList();
+        }
+        IntBuffer slab = slab(rows[u]);
+        int start = offset(rows[u]);
+        List<V> adjacent = new ArrayList<V>(degrees[u]);
+        for (int i = 0; i < degrees[u]; i++) {
+            adjacent.add(vertex(slab.get(start + i)));
+        }
+        return Collections.unmodifiableList(adjacent);
+    }
+
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor,
+     * straight from its row, without copying the row first.
+     *
+     * @param from the source vertex
+     * @param visitor called with each vertex adjacent to 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        int u = dictionary.id(from);
+        if (u < 0) {
+            return true;
+        }
+        IntBuffer slab = slab(rows[u]);
+        for (int e = offset(rows[u]), end = e + degrees[u]; e < end; e++) {
+            if (!visitor.visit(vertex(slab.get(e)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex)
+    {
+        return dictionary.id(vertex) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        int u = dictionary.id(from);
+        int w = dictionary.id(to);
+        return u >= 0 && w >= 0 && indexOf(u, w) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists between two vertices given by id.
+     *
+     * @param u the id of the source vertex
+     * @param w the id of the destination vertex
+     * @return true iff there is an edge from u to w
+     * @throws IllegalArgumentException if either id is not a vertex's
+     */
+    public boolean hasEdgeById(int u, int w)
+    {
+        checkId(u);
+        checkId(w);
+        return indexOf(u, w) >= 0;
+    }
+
+    /**
+     * Removes a vertex from the graph, along with every edge into or
+     * out of it.  Finding the edges into the vertex means scanning
+     * every row, so this is linear in the number of edges.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    public void removeVertex(V toRemove)
+    {
+        int x = dictionary.id(toRemove);
+        if (x < 0) {
+            return;
+        }
+        edgeCount -= degrees[x];
+        release(x);
+        for (int u = 0; u < dictionary.idLimit(); u++) {
+            if (u != x && dictionary.contains(u) && removeFromRow(u, x)) {
+                edgeCount--;
+            }
+        }
+        dictionary.remove(toRemove);
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * <p>Postcondition: If from and to were in the graph and (from,
+     * to) was an edge in the graph, then numEdges = numEdges' - 1
+     */
+    public void removeEdge(V from, V to)
+    {
+        int u = dictionary.id(from);
+        int w = dictionary.id(to);
+        if (u >= 0 && w >= 0 && removeFromRow(u, w)) {
+            edgeCount--;
+        }
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return pathLength(from, to) != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(V from, V to)
+    {
+        if (BreadthFirstSearch.equal(from, to)) {
+            return 0;
+        }
+        int u = dictionary.id(from);
+        int w = dictionary.id(to);
+        if (u < 0 || w < 0 || !search(u, w)) {
+            return Integer.MAX_VALUE;
+        }
+        int length = 0;
+        for (int v = w; v != u; v = parent[v]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getPath(V from, V to)
+    {
+        LinkedList<V> path = new LinkedList<V>();
+        int u = dictionary.id(from);
+        int w = dictionary.id(to);
+        if (u < 0 || w < 0) {
+            return path;
+        }
+        if (u == w || search(u, w)) {
+            for (int v = w; v != u; v = parent[v]) {
+                path.addFirst(vertex(v));
+            }
+            path.addFirst(vertex(u));
+        }
+        return path;
+    }
+
+    /**
+     * Breadth-first search over the rows, stopping as soon as 'to' is
+     * discovered.  Visits are marked by stamping a search number, so
+     * the scratch arrays are only cleared when the number wraps.
+     *
+     * @return true iff 'to' was reached; parent then leads back to 'from'
+     */
+    private boolean search(int from, int to)
+    {
+        int idCount = dictionary.idLimit();
+        if (stamp.length < idCount) {
+            queue = new int[idCount];
+            parent = new int[idCount];
+            stamp = new int[idCount];
+            epoch = 0;
+        }
+        if (++epoch == 0) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from;
+        stamp[from] = epoch;
+        long edges = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            IntBuffer slab = slab(rows[u]);
+            int start = offset(rows[u]);
+            for (int e = start, end = start + degrees[u]; e < end; e++) {
+                int v = slab.get(e);
+                if (stamp[v] != epoch) {
+                    stamp[v] = epoch;
+                    parent[v] = u;
+                    if (v == to) {
+                        SearchCounter.record(head, edges + e - start + 1);
+                        return true;
+                    }
+                    queue[tail++] = v;
+                }
+            }
+            edges += degrees[u];
+        }
+        SearchCounter.record(head, edges);
+        return false;
+    }
+
+    /**
+     * Throws an IllegalArgumentException unless id belongs to a
+     * vertex in the graph.
+     */
+    private void checkId(int id)
+    {
+        if (!dictionary.contains(id)) {
+            throw new IllegalArgumentException("No vertex with id " + id);
+        }
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return the vertex's id, or -1 if it is not in the graph
+     */
+    public int idOf(V vertex)
+    {
+        return dictionary.id(vertex);
+    }
+
+    /**
+     * Gets the id for a vertex, adding the vertex if it is new.
+     * Ids freed by removeVertex are handed out again before new ones.
+     *
+     * @param vertex a vertex
+     * @return the vertex's id
+     */
+    public int intern(V vertex)
+    {
+        int x = dictionary.intern(vertex);
+        if (x >= degrees.length) {
+            int size = Math.max(x + 1, degrees.length * 2);
+            rows = Arrays.copyOf(rows, size);
+            degrees = Arrays.copyOf(degrees, size);
+            capacities = Arrays.copyOf(capacities, size);
+        }
+        return x;
+    }
+
+    /**
+     * @param id the id of a vertex in the graph
+     * @return the vertex
+     */
+    public V vertex(int id)
+    {
+        return dictionary.vertex(id);
+    }
+
+    /**
+     * @return the position of w in u's row, or -1
+     */
+    private int indexOf(int u, int w)
+    {
+        IntBuffer slab = slab(rows[u]);
+        int start = offset(rows[u]);
+        for (int i = 0; i < degrees[u]; i++) {
+            if (slab.get(start + i) == w) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes w from u's row by moving the row's last entry into its
+     * place.
+     *
+     * @return true iff w was in the row
+     */
+    private boolean removeFromRow(int u, int w)
+    {
+        int i = indexOf(u, w);
+        if (i < 0) {
+            return false;
+        }
+        IntBuffer slab = slab(rows[u]);
+        int start = offset(rows[u]);
+        degrees[u]--;
+        slab.put(start + i, slab.get(start + degrees[u]));
+        return true;
+    }
+
+    /**
+     * Moves u's row to a region twice the size.
+     */
+    private void grow(int u)
+    {
+        int capacity = capacities[u] == 0 ? MIN_ROW : capacities[u] * 2;
+        long region = allocate(capacity);
+        IntBuffer to = slab(region);
+        int toStart = offset(region);
+        if (capacities[u] > 0) {
+            IntBuffer from = slab(rows[u]);
+            int fromStart = offset(rows[u]);
+            for (int i = 0; i < degrees[u]; i++) {
+                to.put(toStart + i, from.get(fromStart + i));
+            }
+            free(rows[u], capacities[u]);
+        }
+        rows[u] = region;
+        capacities[u] = capacity;
+    }
+
+    /**
+     * Gives u's row back and leaves it empty.
+     */
+    private void release(int u)
+    {
+        if (capacities[u] > 0) {
+            free(rows[u], capacities[u]);
+        }
+        rows[u] = 0;
+        degrees[u] = 0;
+        capacities[u] = 0;
+    }
+
+    /**
+     * Finds a region of direct memory for a row: a freed one of the
+     * same size if there is one, otherwise the next space in the
+     * current slab, otherwise a new slab.
+     */
+    private long allocate(int capacity)
+    {
+        int size = Integer.numberOfTrailingZeros(capacity);
+        if (freeRegionCount[size] > 0) {
+            return freeRegions[size][--freeRegionCount[size]];
+        }
+        if (capacity > slabInts) {
+            slabs.add(newSlab(capacity));
+            return region(slabs.size() - 1, 0);
+        }
+        if (slabUsed + capacity > slabInts) {
+            slabs.add(newSlab(slabInts));
+            currentSlab = slabs.size() - 1;
+            slabUsed = 0;
+        }
+        int offset = slabUsed;
+        slabUsed += capacity;
+        return region(currentSlab, offset);
+    }
+
+    private void free(long region, int capacity)
+    {
+        int size = Integer.numberOfTrailingZeros(capacity);
+        long[] list = freeRegions[size];
+        if (list == null) {
+            list = freeRegions[size] = new long[16];
+        } else if (freeRegionCount[size] == list.length) {
+            list = freeRegions[size] = Arrays.copyOf(list, list.length * 2);
+        }
+        list[freeRegionCount[size]++] = region;
+    }
+
+    private static IntBuffer newSlab(int ints)
+    {
+        return ByteBuffer.allocateDirect(4 * ints).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static long region(int slab, int offset)
+    {
+        return ((long) slab << 32) | offset;
+    }
+
+    private IntBuffer slab(long region)
+    {
+        return slabs.isEmpty() ? EMPTY : slabs.get((int) (region >>> 32));
+    }
+
+    private static int offset(long region)
+    {
+        return (int) region;
+    }
+}
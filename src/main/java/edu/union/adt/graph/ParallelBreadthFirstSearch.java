@@ -0,0 +1,239 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous breadth-first search over a graph in compressed
+ * sparse row form, run on a ForkJoinPool.  Each level is split into
+ * chunks that are explored in parallel; a vertex is claimed by
+ * atomically setting its bit in a shared visited bitset, so every
+ * vertex is discovered exactly once however many threads reach it.
+ *
+ * The search is direction-optimizing.  While the frontier is small it
+ * works top-down, following the out-edges of the frontier.  When the
+ * frontier's out-edges outnumber a fraction of the edges still
+ * unexplored, it switches to bottom-up: every unvisited vertex scans
+ * its in-edges for a parent in the frontier and stops at the first
+ * one, which is far cheaper on the middle levels of low-diameter
+ * graphs.  It switches back once the frontier shrinks again.
+ *
+ * Levels with little work are explored on the calling thread, so
+ * small searches pay nothing for the pool.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+class ParallelBreadthFirstSearch
+{
+    /** Distance recorded for vertices that are not reached. */
+    static final int UNREACHED = -1;
+
+    /** Vertices handled by one task; smaller levels stay on one thread. */
+    private static final int GRAIN = 1024;
+
+    /** Go bottom-up when frontier edges exceed unexplored edges / ALPHA. */
+    private static final int ALPHA = 14;
+
+    /** Go back top-down when the frontier is under vertices / BETA. */
+    private static final int BETA = 24;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] inOffsets;
+    private final int[] sources;
+    private final int n;
+
+    private int[] dist;
+    private AtomicLongArray visited;
+
+    /**
+     * Creates a search over a graph given both ways round: offsets and
+     * targets list each vertex's out-edges, inOffsets and sources its
+     * in-edges.
+     */
+    ParallelBreadthFirstSearch(int[] offsets, int[] targets,
+                               int[] inOffsets, int[] sources)
+    {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.inOffsets = inOffsets;
+        this.sources = sources;
+        this.n = offsets.length - 1;
+    }
+
+    /**
+     * Finds the distance from a source to every vertex, stopping
+     * early once a given target has been reached.
+     *
+     * @param source the vertex to search from
+     * @param target the vertex to stop at, or -1 to search everything
+     * @return the distance of each vertex from the source, UNREACHED
+     * for vertices not reached.  If the search stopped early some
+     * reachable vertices may be UNREACHED as well.
+     */
+    int[] distances(int source, int target)
+    {
+        dist = new int[n];
+        Arrays.fill(dist, UNREACHED);
+        visited = new AtomicLongArray((n + 63) >>> 6);
+        dist[source] = 0;
+        claim(source);
+
+        int[] frontier = { source };
+        int frontierSize = 1;
+        long unexplored = targets.length;
+        boolean bottomUp = false;
+        long expanded = 0;
+        long followed = 0;
+        for (int level = 1; frontierSize > 0 && (target < 0 || dist[target] == UNREACHED); level++) {
+            long frontierEdges = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                frontierEdges += offsets[frontier[i] + 1] - offsets[frontier[i]];
+            }
+            unexplored -= frontierEdges;
+            expanded += frontierSize;
+            followed += frontierEdges;
+            if (!bottomUp && frontierEdges > unexplored / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+            Level step = bottomUp
+                ? new Level(this, null, 0, level, 0, n)
+                : new Level(this, frontier, frontierSize, level, 0, frontierSize);
+            if (step.hi - step.lo <= GRAIN) {
+                step.compute();
+            } else {
+                SharedPool.get().invoke(step);
+            }
+            frontier = step.found;
+            frontierSize = step.foundCount;
+        }
+        // Counted as if every level ran top-down, so that the work
+        // reported does not depend on the switching.
+        SearchCounter.record(expanded, followed);
+        int[] result = dist;
+        dist = null;
+        visited = null;
+        return result;
+    }
+
+    /**
+     * Marks a vertex visited.
+     *
+     * @return true iff this call was the one that marked it
+     */
+    private boolean claim(int v)
+    {
+        int word = v >>> 6;
+        long bit = 1L << (v & 63);
+        while (true) {
+            long old = visited.get(word);
+            if ((old & bit) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(word, old, old | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Explores part of one level: either frontier[lo, hi) top-down or
+     * vertices [lo, hi) bottom-up.  Splits itself in two until the
+     * range is small, and collects the vertices it discovers, which
+     * become (part of) the next frontier.
+     */
+    private static class Level extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final ParallelBreadthFirstSearch search;
+        private final int[] frontier;
+        private final int frontierSize;
+        private final int level;
+        private final int lo;
+        private final int hi;
+        int[] found;
+        int foundCount;
+
+        Level(ParallelBreadthFirstSearch search, int[] frontier, int frontierSize,
+              int level, int lo, int hi)
+        {
+            this.search = search;
+            this.frontier = frontier;
+            this.frontierSize = frontierSize;
+            this.level = level;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute()
+        {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                Level left = new Level(search, frontier, frontierSize, level, lo, mid);
+                Level right = new Level(search, frontier, frontierSize, level, mid, hi);
+                invokeAll(left, right);
+                found = Arrays.copyOf(left.found, left.foundCount + right.foundCount);
+                System.arraycopy(right.found, 0, found, left.foundCount, right.foundCount);
+                foundCount = found.length;
+                return;
+            }
+            found = new int[16];
+            if (frontier != null) {
+                topDown();
+            } else {
+                bottomUp();
+            }
+        }
+
+        private void topDown()
+        {
+            int[] offsets = search.offsets;
+            int[] targets = search.targets;
+            int[] dist = search.dist;
+            for (int i = lo; i < hi; i++) {
+                int u = frontier[i];
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if (dist[v] == UNREACHED && search.claim(v)) {
+                        dist[v] = level;
+                        add(v);
+                    }
+                }
+            }
+        }
+
+        private void bottomUp()
+        {
+            int[] inOffsets = search.inOffsets;
+            int[] sources = search.sources;
+            int[] dist = search.dist;
+            int parentLevel = level - 1;
+            for (int v = lo; v < hi; v++) {
+                if (dist[v] != UNREACHED) {
+                    continue;
+                }
+                for (int e = inOffsets[v], end = inOffsets[v + 1]; e < end; e++) {
+                    if (dist[sources[e]] == parentLevel) {
+                        search.claim(v);
+                        dist[v] = level;
+                        add(v);
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void add(int v)
+        {
+            if (foundCount == found.length) {
+                found = Arrays.copyOf(found, foundCount * 2);
+            }
+            found[foundCount++] = v;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+
+/**
+ * Answers hasPath queries on a graph without searching it, or by
+ * searching only a small part of it.  Built for graphs that are
+ * mostly acyclic and queried far more often than they change, such as
+ * dependency graphs.
+ *
+ * The index condenses the graph's strongly connected components
+ * (found with StronglyConnectedComponents) into single nodes, leaving a
+ * DAG.  The components are numbered in reverse topological order, so a
+ * component can only reach components with smaller numbers.  Each
+ * component is then given LABELS interval labels, one per randomized
+ * depth-first traversal of the DAG, as in GRAIL: a component's
+ * interval is [lowest post-order rank among its descendants, its own
+ * rank], so if one interval does not contain another, there is no
+ * path.  The first traversal's spanning tree also gives a positive
+ * test: a descendant in the tree is certainly reachable.  Most queries
+ * are settled by these comparisons alone; the rest run a depth-first
+ * search that the same tests prune at every step.
+ *
+ * The index does not watch the graph.  Report changes to it:
+ * edgeAdded keeps the index up to date at once by remembering the
+ * edge, unless the edge adds no new reachability, and once too many
+ * edges have piled up the index is rebuilt.  Removals can break
+ * components apart and invalidate labels, so edgeRemoved and
+ * vertexRemoved just mark the index stale, and it is rebuilt from the
+ * graph on the next query.
+ *
+ * A ReachabilityIndex is not safe for use by more than one thread at
+ * once.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class ReachabilityIndex<V>
+{
+    /** Number of random interval labels per component. */
+    static final int LABELS = 3;
+
+    /** Edges remembered by edgeAdded before the index is rebuilt. */
+    static final int MAX_ADDED = 64;
+
+    private final Graph<V> graph;
+    private final Random random = new Random(17);
+
+    private Map<V, Integer> ids;
+    private int vertices;
+    private int[] component;
+
+    private int components;
+    private int[] dagOffsets;
+    private int[] dagTargets;
+    private int[][] low;
+    private int[][] rank;
+    private int[] pre;
+
+    private int[] addedFrom;
+    private int[] addedTo;
+    private int addedCount;
+    private boolean stale;
+
+    private int[] stamp;
+    private int epoch;
+    private int[] stack;
+
+    /**
+     * Builds an index of a graph.
+     *
+     * @param graph the graph to index
+     */
+    public ReachabilityIndex(Graph<V> graph)
+    {
+        this.graph = graph;
+        rebuild();
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        if (BreadthFirstSearch.equal(from, to)) {
+            return true;
+        }
+        if (stale) {
+            rebuild();
+        }
+        Integer a = ids.get(from);
+        Integer b = ids.get(to);
+        return a != null && b != null && reaches(a, b);
+    }
+
+    /**
+     * Records that an edge was added to the graph.  If 'from' could
+     * already reach 'to', nothing changes; otherwise the edge is
+     * remembered and used by later queries.
+     *
+     * @param from the source vertex of the new edge
+     * @param to the destination vertex of the new edge
+     */
+    public void edgeAdded(V from, V to)
+    {
+        if (stale || hasPath(from, to)) {
+            return;
+        }
+        if (addedCount == MAX_ADDED) {
+            stale = true;
+            return;
+        }
+        addedFrom[addedCount] = id(from);
+        addedTo[addedCount] = id(to);
+        addedCount++;
+    }
+
+    /**
+     * Records that an edge was removed from the graph.  The index is
+     * rebuilt on the next query.
+     */
+    public void edgeRemoved(V from, V to)
+    {
+        stale = true;
+    }
+
+    /**
+     * Records that a vertex was removed from the graph.  The index is
+     * rebuilt on the next query.
+     */
+    public void vertexRemoved(V vertex)
+    {
+        stale = true;
+    }
+
+    /**
+     * @return the number of strongly connected components in the
+     * graph when the index was last built
+     */
+    public int numComponents()
+    {
+        if (stale) {
+            rebuild();
+        }
+        return components;
+    }
+
+    /**
+     * Rebuilds the index from the graph as it is now.
+     */
+    public void rebuild()
+    {
+        ids = new HashMap<V, Integer>();
+        List<V> names = new ArrayList<V>();
+        for (V v : graph.getVertices()) {
+            ids.put(v, names.size());
+            names.add(v);
+        }
+        int n = names.size();
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[16];
+        int edges = 0;
+        for (int u = 0; u < n; u++) {
+            for (V w : graph.adjacentTo(names.get(u))) {
+                if (edges == targets.length) {
+                    targets = Arrays.copyOf(targets, edges * 2);
+                }
+                targets[edges++] = ids.get(w);
+            }
+            offsets[u + 1] = edges;
+        }
+
+        vertices = n;
+        component = new int[n];
+        components = StronglyConnectedComponents.tarjan(offsets, targets, component);
+        condense(offsets, targets);
+        label();
+
+        addedFrom = new int[MAX_ADDED];
+        addedTo = new int[MAX_ADDED];
+        addedCount = 0;
+        stale = false;
+        stamp = new int[components];
+        epoch = 0;
+        stack = new int[Math.max(1, components)];
+    }
+
+    /**
+     * Builds the DAG of components, without duplicate edges or
+     * self-loops.
+     */
+    private void condense(int[] offsets, int[] targets)
+    {
+        int n = vertices;
+        int[] memberOffsets = new int[components + 1];
+        for (int u = 0; u < n; u++) {
+            memberOffsets[component[u] + 1]++;
+        }
+        for (int c = 0; c < components; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] nextMember = Arrays.copyOf(memberOffsets, components);
+        for (int u = 0; u < n; u++) {
+            members[nextMember[component[u]]++] = u;
+        }
+
+        int[] seen = new int[components];
+        Arrays.fill(seen, -1);
+        dagOffsets = new int[components + 1];
+        dagTargets = new int[16];
+        int edges = 0;
+        for (int c = 0; c < components; c++) {
+            seen[c] = c;
+            for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++) {
+                int u = members[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int d = component[targets[e]];
+                    if (seen[d] != c) {
+                        seen[d] = c;
+                        if (edges == dagTargets.length) {
+                            dagTargets = Arrays.copyOf(dagTargets, edges * 2);
+                        }
+                        dagTargets[edges++] = d;
+                    }
+                }
+            }
+            dagOffsets[c + 1] = edges;
+        }
+    }
+
+    /**
+     * Gives every component its interval labels, one randomized
+     * depth-first traversal of the DAG per label, and records the
+     * first traversal's pre-order numbers for the spanning tree test.
+     */
+    private void label()
+    {
+        int m = components;
+        low = new int[LABELS][m];
+        rank = new int[LABELS][m];
+        pre = new int[m];
+        boolean[] hasParent = new boolean[m];
+        for (int e = 0; e < dagOffsets[m]; e++) {
+            hasParent[dagTargets[e]] = true;
+        }
+        int[] roots = new int[m];
+        int rootCount = 0;
+        for (int c = 0; c < m; c++) {
+            if (!hasParent[c]) {
+                roots[rootCount++] = c;
+            }
+        }
+
+        int[] order = new int[dagTargets.length];
+        int[] next = new int[m];
+        int[] calls = new int[m];
+        boolean[] visited = new boolean[m];
+        for (int k = 0; k < LABELS; k++) {
+            int[] lowK = low[k];
+            int[] rankK = rank[k];
+            System.arraycopy(dagTargets, 0, order, 0, dagOffsets[m]);
+            for (int c = 0; c < m; c++) {
+                shuffle(order, dagOffsets[c], dagOffsets[c + 1]);
+            }
+            shuffle(roots, 0, rootCount);
+            Arrays.fill(visited, false);
+            int postCounter = 0;
+            int preCounter = 0;
+            for (int r = 0; r < rootCount; r++) {
+                int root = roots[r];
+                int depth = 0;
+                calls[depth++] = root;
+                visited[root] = true;
+                next[root] = dagOffsets[root];
+                lowK[root] = Integer.MAX_VALUE;
+                if (k == 0) {
+                    pre[root] = preCounter++;
+                }
+                while (depth > 0) {
+                    int c = calls[depth - 1];
+                    if (next[c] < dagOffsets[c + 1]) {
+                        int d = order[next[c]++];
+                        if (!visited[d]) {
+                            visited[d] = true;
+                            next[d] = dagOffsets[d];
+                            lowK[d] = Integer.MAX_VALUE;
+                            if (k == 0) {
+                                pre[d] = preCounter++;
+                            }
+                            calls[depth++] = d;
+                        } else {
+                            lowK[c] = Math.min(lowK[c], lowK[d]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    rankK[c] = postCounter++;
+                    lowK[c] = Math.min(lowK[c], rankK[c]);
+                    if (depth > 0) {
+                        int parent = calls[depth - 1];
+                        lowK[parent] = Math.min(lowK[parent], lowK[c]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void shuffle(int[] a, int start, int end)
+    {
+        for (int i = end - 1; i > start; i--) {
+            int j = start + random.nextInt(i - start + 1);
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /**
+     * Tells whether vertex a reaches vertex b, using the remembered
+     * added edges as well as the index.
+     */
+    private boolean reaches(int a, int b)
+    {
+        if (indexReaches(a, b)) {
+            return true;
+        }
+        if (addedCount == 0) {
+            return false;
+        }
+        boolean[] used = new boolean[addedCount];
+        int[] queue = new int[addedCount + 1];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = a;
+        while (head < tail) {
+            int s = queue[head++];
+            for (int i = 0; i < addedCount; i++) {
+                if (!used[i] && indexReaches(s, addedFrom[i])) {
+                    used[i] = true;
+                    if (indexReaches(addedTo[i], b)) {
+                        return true;
+                    }
+                    queue[tail++] = addedTo[i];
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether vertex a reaches vertex b in the graph as it was
+     * when the index was built.  Vertices added since then reach only
+     * themselves.
+     */
+    private boolean indexReaches(int a, int b)
+    {
+        if (a == b) {
+            return true;
+        }
+        if (a >= vertices || b >= vertices) {
+            return false;
+        }
+        int ca = component[a];
+        int cb = component[b];
+        if (ca == cb) {
+            return true;
+        }
+        if (ca < cb || !mayReach(ca, cb)) {
+            return false;
+        }
+        if (inTree(ca, cb)) {
+            return true;
+        }
+
+        if (++epoch == 0) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+        int top = 0;
+        stack[top++] = ca;
+        stamp[ca] = epoch;
+        while (top > 0) {
+            int c = stack[--top];
+            for (int e = dagOffsets[c]; e < dagOffsets[c + 1]; e++) {
+                int d = dagTargets[e];
+                if (d == cb || (d > cb && inTree(d, cb))) {
+                    return true;
+                }
+                if (stamp[d] != epoch && d > cb && mayReach(d, cb)) {
+                    stamp[d] = epoch;
+                    stack[top++] = d;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return false if the labels prove that component c cannot reach
+     * component d
+     */
+    private boolean mayReach(int c, int d)
+    {
+        for (int k = 0; k < LABELS; k++) {
+            if (low[k][d] < low[k][c] || rank[k][d] > rank[k][c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if d is below c in the first traversal's spanning
+     * tree, which proves c reaches d
+     */
+    private boolean inTree(int c, int d)
+    {
+        return pre[c] <= pre[d] && rank[0][d] <= rank[0][c];
+    }
+
+    /**
+     * Gets a vertex's id, giving vertices new since the last build an
+     * id of their own.
+     */
+    private int id(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            id = ids.size();
+            ids.put(vertex, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,77 @@
+package edu.union.adt.graph;
+
+/**
+ * Tallies the vertices and edges the searches in this package touch,
+ * for InstrumentedGraph.  While a counter is started on a thread, each
+ * search that finishes on that thread adds the number of vertices it
+ * expanded and edges it followed; when none is started, reporting is
+ * one ThreadLocal lookup per search.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+class SearchCounter
+{
+    private static final ThreadLocal<SearchCounter> CURRENT = new ThreadLocal<SearchCounter>();
+
+    private final SearchCounter previous;
+    private long vertices;
+    private long edges;
+
+    private SearchCounter(SearchCounter previous)
+    {
+        this.previous = previous;
+    }
+
+    /**
+     * Starts counting the searches made on this thread.
+     *
+     * @return the counter, to be stopped when the operation is done
+     */
+    static SearchCounter start()
+    {
+        SearchCounter counter = new SearchCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * Stops counting, passing the counts on to any counter this one
+     * interrupted, as for an InstrumentedGraph wrapping another.
+     */
+    void stop()
+    {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            previous.vertices += vertices;
+            previous.edges += edges;
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Reports the work of one search.
+     *
+     * @param vertices the number of vertices whose edges it followed
+     * @param edges the number of edges it followed
+     */
+    static void record(long vertices, long edges)
+    {
+        SearchCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.vertices += vertices;
+            counter.edges += edges;
+        }
+    }
+
+    long vertices()
+    {
+        return vertices;
+    }
+
+    long edges()
+    {
+        return edges;
+    }
+}
@@ -0,0 +1,29 @@
+package edu.union.adt.graph;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The ForkJoinPool that the parallel algorithms in this package share,
+ * so that they do not each start a thread per processor.  Its worker
+ * threads are daemon threads, so an idle pool never keeps the program
+ * alive.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+class SharedPool
+{
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+
+    /**
+     * @return the shared pool
+     */
+    static ForkJoinPool get()
+    {
+        return POOL;
+    }
+
+    private SharedPool()
+    {
+    }
+}
@@ -0,0 +1,27 @@
+package edu.union.adt.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Stores String vertices as UTF-8.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class StringCodec implements VertexCodec<String>
+{
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    public byte[] encode(String vertex)
+    {
+        return vertex.getBytes(UTF8);
+    }
+
+    public String decode(ByteBuffer bytes)
+    {
+        byte[] b = new byte[bytes.remaining()];
+        bytes.get(b);
+        return new String(b, UTF8);
+    }
+}
@@ -0,0 +1,174 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+
+/**
+ * A VertexDictionary for Strings that keeps their characters in one
+ * byte array.  A String whose characters all fit in a byte is stored
+ * at one byte per character, any other at two, high byte first.
+ * Removed Strings leave their bytes behind until they make up half
+ * the arena, and then the arena is rewritten without them.
+ *
+ * Hashes are the Strings' own hash codes, which a String caches, so a
+ * lookup with a String that has been hashed before costs no hashing at
+ * all.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+class StringDictionary extends VertexDictionary<String>
+{
+    /** Never rewrite the arena for less garbage than this. */
+    private static final int MIN_GARBAGE = 1 << 16;
+
+    private byte[] arena = new byte[1024];
+    private int used;
+    private int garbage;
+    private int[] starts;
+    private int[] lengths;
+    private boolean[] wide;
+
+    StringDictionary(int expectedVertices)
+    {
+        super(expectedVertices, false);
+        int capacity = Math.max(16, expectedVertices);
+        starts = new int[capacity];
+        lengths = new int[capacity];
+        wide = new boolean[capacity];
+    }
+
+    public int intern(String vertex)
+    {
+        if (vertex == null) {
+            throw new NullPointerException("Null vertex");
+        }
+        return super.intern(vertex);
+    }
+
+    public String vertex(int id)
+    {
+        if (!contains(id)) {
+            return null;
+        }
+        int start = starts[id];
+        int length = lengths[id];
+        char[] chars = new char[length];
+        if (wide[id]) {
+            for (int i = 0; i < length; i++) {
+                int b = start + 2 * i;
+                chars[i] = (char) ((arena[b] & 0xff) << 8 | (arena[b + 1] & 0xff));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) (arena[start + i] & 0xff);
+            }
+        }
+        return new String(chars);
+    }
+
+    boolean matches(int id, Object vertex)
+    {
+        if (!(vertex instanceof String)) {
+            return false;
+        }
+        String s = (String) vertex;
+        int length = lengths[id];
+        if (s.length() != length) {
+            return false;
+        }
+        int start = starts[id];
+        if (wide[id]) {
+            for (int i = 0; i < length; i++) {
+                int b = start + 2 * i;
+                if (s.charAt(i) != (char) ((arena[b] & 0xff) << 8 | (arena[b + 1] & 0xff))) {
+                    return false;
+                }
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                if (s.charAt(i) != (char) (arena[start + i] & 0xff)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    void store(int id, String vertex)
+    {
+        int length = vertex.length();
+        boolean isWide = false;
+        for (int i = 0; i < length && !isWide; i++) {
+            isWide = vertex.charAt(i) > 0xff;
+        }
+        int bytes = isWide ? 2 * length : length;
+        reserve(bytes);
+        if (isWide) {
+            for (int i = 0; i < length; i++) {
+                char c = vertex.charAt(i);
+                arena[used + 2 * i] = (byte) (c >>> 8);
+                arena[used + 2 * i + 1] = (byte) c;
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                arena[used + i] = (byte) vertex.charAt(i);
+            }
+        }
+        starts[id] = used;
+        lengths[id] = length;
+        wide[id] = isWide;
+        used += bytes;
+    }
+
+    void release(int id)
+    {
+        garbage += wide[id] ? 2 * lengths[id] : lengths[id];
+        lengths[id] = 0;
+        if (garbage > MIN_GARBAGE && garbage * 2 > used) {
+            compactArena(id);
+        }
+    }
+
+    void grow(int capacity)
+    {
+        super.grow(capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        wide = Arrays.copyOf(wide, capacity);
+    }
+
+    /**
+     * Makes room for a given number of bytes at the end of the arena.
+     */
+    private void reserve(int bytes)
+    {
+        if (used + bytes > arena.length) {
+            long size = Math.max((long) arena.length * 2, (long) used + bytes);
+            arena = Arrays.copyOf(arena, (int) Math.min(Integer.MAX_VALUE - 8, size));
+        }
+    }
+
+    /**
+     * Rewrites the arena with only the live Strings' bytes, in id
+     * order.
+     *
+     * @param released an id being freed, which is still marked live
+     */
+    private void compactArena(int released)
+    {
+        byte[] packed = new byte[Math.max(1024, used - garbage)];
+        int next = 0;
+        for (int id = 0; id < idLimit(); id++) {
+            if (id == released || !contains(id)) {
+                continue;
+            }
+            int bytes = wide[id] ? 2 * lengths[id] : lengths[id];
+            System.arraycopy(arena, starts[id], packed, next, bytes);
+            starts[id] = next;
+            next += bytes;
+        }
+        arena = packed;
+        used = next;
+        garbage = 0;
+    }
+}
@@ -0,0 +1,616 @@
+package edu.union.adt.graph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The strongly connected components of a graph: the largest sets of
+ * vertices that can all reach one another.  A graph has a cycle iff
+ * some component has more than one vertex or a vertex has an edge to
+ * itself, so this is also how to find the cycles in, say, a
+ * dependency graph, in time linear in its vertices and edges.
+ *
+ * The components are found once, over an ImmutableGraph snapshot, so
+ * the graph may go on changing afterwards.  Each vertex of the
+ * snapshot has an index, its position in vertices(), and components()
+ * gives the component of each index as a plain int array.  Components
+ * are numbered in reverse topological order: an edge between two
+ * different components always goes from the higher number to the
+ * lower.
+ *
+ * The constructor uses Tarjan's algorithm, written with explicit
+ * stacks so that long paths cannot overflow the call stack.  parallel
+ * uses the forward-backward algorithm on the shared ForkJoinPool,
+ * which suits very large graphs.  Each part of the graph first has
+ * the vertices with no edges in or out of the rest of the part trimmed
+ * off as components of their own, then a pivot's forward and backward
+ * reachable sets are searched at the same time.  Their intersection is
+ * the pivot's component, and what is left falls into three parts with
+ * no component in common.  The two smaller parts are forked and the
+ * task carries on with the largest, so the nesting of tasks stays
+ * logarithmic however many components there are.  Parts smaller than
+ * GRAIN are finished with Tarjan's algorithm, and so is a part that a
+ * pivot barely shrank, as happens when the graph is many small
+ * cycles: peeling them off one pivot at a time would rescan the part
+ * for each of them.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class StronglyConnectedComponents<V>
+{
+    /** Parts with fewer vertices than this are solved on one thread. */
+    private static final int GRAIN = 4096;
+
+    /**
+     * A part that a pivot shrinks by less than 1/SHRINK is finished
+     * with Tarjan's algorithm.
+     */
+    private static final int SHRINK = 16;
+
+    private final ImmutableGraph<V> graph;
+    private final int[] component;
+    private final int count;
+    private int[] memberOffsets;
+    private int[] members;
+
+    /**
+     * Finds the components of a graph with Tarjan's algorithm.
+     *
+     * @param graph the graph
+     */
+    public StronglyConnectedComponents(Graph<V> graph)
+    {
+        this(ImmutableGraph.copyOf(graph.snapshot()), false);
+    }
+
+    /**
+     * Finds the components of a graph with the parallel
+     * forward-backward algorithm.
+     *
+     * @param graph the graph
+     * @return the components of graph
+     */
+    public static <V> StronglyConnectedComponents<V> parallel(Graph<V> graph)
+    {
+        return new StronglyConnectedComponents<V>(ImmutableGraph.copyOf(graph.snapshot()), true);
+    }
+
+    private StronglyConnectedComponents(ImmutableGraph<V> snapshot, boolean parallel)
+    {
+        this.graph = snapshot;
+        this.component = new int[snapshot.numVertices()];
+        if (parallel) {
+            this.count = new ForwardBackward(snapshot.offsets(), snapshot.targets(),
+                                             snapshot.inOffsets(), snapshot.sources(),
+                                             component).run();
+        } else {
+            this.count = tarjan(snapshot.offsets(), snapshot.targets(), component);
+        }
+    }
+
+    /**
+     * @return the number of components
+     */
+    public int count()
+    {
+        return count;
+    }
+
+    /**
+     * @return the vertices of the snapshot, in index order
+     */
+    public List<V> vertices()
+    {
+        return new AbstractList<V>() {
+            public V get(int i)
+            {
+                return graph.vertex(i);
+            }
+
+            public int size()
+            {
+                return component.length;
+            }
+        };
+    }
+
+    /**
+     * @return a new array holding the component of each vertex, by
+     * index
+     */
+    public int[] components()
+    {
+        return component.clone();
+    }
+
+    /**
+     * Gets the component of a vertex.  If the vertex was not in the
+     * graph, throws a RuntimeException.
+     *
+     * @param vertex a vertex
+     * @return the number of its component
+     */
+    public int component(V vertex)
+    {
+        int u = graph.idOf(vertex);
+        if (u < 0) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return component[u];
+    }
+
+    /**
+     * Gets the vertices of one component.
+     *
+     * @param c a component number, from 0 to count() - 1
+     * @return a read-only list of the vertices in component c
+     */
+    public List<V> members(int c)
+    {
+        if (members == null) {
+            memberOffsets = new int[count + 1];
+            for (int u = 0; u < component.length; u++) {
+                memberOffsets[component[u] + 1]++;
+            }
+            for (int d = 0; d < count; d++) {
+                memberOffsets[d + 1] += memberOffsets[d];
+            }
+            int[] next = Arrays.copyOf(memberOffsets, count);
+            int[] grouped = new int[component.length];
+            for (int u = 0; u < component.length; u++) {
+                grouped[next[component[u]]++] = u;
+            }
+            members = grouped;
+        }
+        final int start = memberOffsets[c];
+        final int end = memberOffsets[c + 1];
+        return new AbstractList<V>() {
+            public V get(int i)
+            {
+                return graph.vertex(members[start + i]);
+            }
+
+            public int size()
+            {
+                return end - start;
+            }
+        };
+    }
+
+    /**
+     * @return true iff the graph has no cycles: every component is a
+     * single vertex, and no vertex has an edge to itself
+     */
+    public boolean isAcyclic()
+    {
+        if (count < component.length) {
+            return false;
+        }
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        for (int u = 0; u < component.length; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (targets[e] == u) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the strongly connected components of a whole graph with an
+     * iterative version of Tarjan's algorithm.  Components are
+     * numbered in the order they are completed, which is reverse
+     * topological order.
+     *
+     * @param offsets the row offsets
+     * @param targets the edge targets
+     * @param component filled in with each vertex's component
+     * @return the number of components
+     */
+    static int tarjan(int[] offsets, int[] targets, int[] component)
+    {
+        AtomicInteger ids = new AtomicInteger();
+        tarjan(offsets, targets, null, component.length, null, 0, null, component, ids);
+        return ids.get();
+    }
+
+    /**
+     * Runs Tarjan's algorithm over part of a graph: the vertices
+     * members[0..size-1], following only edges to vertices whose color
+     * is c.  Scratch arrays are indexed by position in members, found
+     * through local.  With members, color and local all null, the
+     * part is the whole graph.  Component numbers are taken from ids.
+     */
+    private static void tarjan(int[] offsets, int[] targets, int[] members, int size,
+                               int[] color, int c, int[] local, int[] component,
+                               AtomicInteger ids)
+    {
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        int[] next = new int[size];
+        int[] calls = new int[size];
+        int[] open = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(index, -1);
+        int counter = 0;
+        int openCount = 0;
+        for (int root = 0; root < size; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            calls[depth++] = root;
+            index[root] = lowLink[root] = counter++;
+            next[root] = offsets[members == null ? root : members[root]];
+            open[openCount++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                int i = calls[depth - 1];
+                int u = members == null ? i : members[i];
+                if (next[i] < offsets[u + 1]) {
+                    int w = targets[next[i]++];
+                    if (color != null && color[w] != c) {
+                        continue;
+                    }
+                    int j = local == null ? w : local[w];
+                    if (index[j] < 0) {
+                        index[j] = lowLink[j] = counter++;
+                        next[j] = offsets[w];
+                        open[openCount++] = j;
+                        onStack[j] = true;
+                        calls[depth++] = j;
+                    } else if (onStack[j]) {
+                        lowLink[i] = Math.min(lowLink[i], index[j]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = calls[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[i]);
+                }
+                if (lowLink[i] == index[i]) {
+                    int id = ids.getAndIncrement();
+                    int j;
+                    do {
+                        j = open[--openCount];
+                        onStack[j] = false;
+                        component[members == null ? j : members[j]] = id;
+                    } while (j != i);
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of one parallel forward-backward run.  Vertices not
+     * yet in a component have the color of the part they are in;
+     * finished vertices have color -1.  Parts never share vertices, so
+     * their tasks can write to the shared arrays without locking.
+     */
+    private static class ForwardBackward
+    {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] inOffsets;
+        private final int[] sources;
+        private final int[] component;
+        private final int[] color;
+        private final int[] local;
+        private final boolean[] forward;
+        private final boolean[] backward;
+        private final AtomicInteger ids = new AtomicInteger();
+        private final AtomicInteger colors = new AtomicInteger(1);
+
+        ForwardBackward(int[] offsets, int[] targets, int[] inOffsets, int[] sources,
+                        int[] component)
+        {
+            int n = component.length;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.inOffsets = inOffsets;
+            this.sources = sources;
+            this.component = component;
+            this.color = new int[n];
+            this.local = new int[n];
+            this.forward = new boolean[n];
+            this.backward = new boolean[n];
+        }
+
+        /**
+         * @return the number of components
+         */
+        int run()
+        {
+            int n = component.length;
+            int[] all = new int[n];
+            for (int u = 0; u < n; u++) {
+                all[u] = u;
+            }
+            Part whole = new Part(all, 0);
+            if (n < GRAIN) {
+                whole.compute();
+            } else {
+                SharedPool.get().invoke(whole);
+            }
+            renumber();
+            return ids.get();
+        }
+
+        /**
+         * Repeatedly removes vertices with no edges in, or none out,
+         * from the vertices of one part, counting only edges within
+         * the part.  Such a vertex is a component by itself.
+         *
+         * @param part the vertices of the part, all of color c
+         * @return the vertices that remain
+         */
+        private int[] trim(int[] part, int c)
+        {
+            int size = part.length;
+            for (int i = 0; i < size; i++) {
+                local[part[i]] = i;
+            }
+            int[] in = new int[size];
+            int[] out = new int[size];
+            for (int i = 0; i < size; i++) {
+                int u = part[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int w = targets[e];
+                    if (color[w] == c) {
+                        out[i]++;
+                        in[local[w]]++;
+                    }
+                }
+            }
+            int[] queue = new int[size];
+            int tail = 0;
+            for (int i = 0; i < size; i++) {
+                if (in[i] == 0 || out[i] == 0) {
+                    color[part[i]] = -1;
+                    queue[tail++] = part[i];
+                }
+            }
+            if (tail == 0) {
+                return part;
+            }
+            for (int head = 0; head < tail; head++) {
+                int u = queue[head];
+                component[u] = ids.getAndIncrement();
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int w = targets[e];
+                    if (color[w] == c && --in[local[w]] == 0) {
+                        color[w] = -1;
+                        queue[tail++] = w;
+                    }
+                }
+                for (int e = inOffsets[u]; e < inOffsets[u + 1]; e++) {
+                    int w = sources[e];
+                    if (color[w] == c && --out[local[w]] == 0) {
+                        color[w] = -1;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            int[] rest = new int[size - tail];
+            int count = 0;
+            for (int u : part) {
+                if (color[u] == c) {
+                    rest[count++] = u;
+                }
+            }
+            return rest;
+        }
+
+        /**
+         * Finishes one part with Tarjan's algorithm.
+         */
+        private void solve(int[] part, int c)
+        {
+            for (int i = 0; i < part.length; i++) {
+                local[part[i]] = i;
+            }
+            tarjan(offsets, targets, part, part.length, color, c, local, component, ids);
+            for (int u : part) {
+                color[u] = -1;
+            }
+        }
+
+        /**
+         * Renumbers the components into reverse topological order, by
+         * sorting the graph of components.
+         */
+        private void renumber()
+        {
+            int n = component.length;
+            int k = ids.get();
+            int[] dagOffsets = new int[k + 1];
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    if (component[targets[e]] != component[u]) {
+                        dagOffsets[component[u] + 1]++;
+                    }
+                }
+            }
+            for (int d = 0; d < k; d++) {
+                dagOffsets[d + 1] += dagOffsets[d];
+            }
+            int[] dagTargets = new int[dagOffsets[k]];
+            int[] next = Arrays.copyOf(dagOffsets, k);
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int d = component[targets[e]];
+                    if (d != component[u]) {
+                        dagTargets[next[component[u]]++] = d;
+                    }
+                }
+            }
+            int[] order = TopologicalSort.kahn(dagOffsets, dagTargets, null);
+            int[] renamed = new int[k];
+            for (int i = 0; i < k; i++) {
+                renamed[order[i]] = k - 1 - i;
+            }
+            for (int u = 0; u < n; u++) {
+                component[u] = renamed[component[u]];
+            }
+        }
+
+        /**
+         * Finds the components among the vertices of one color.
+         */
+        private class Part extends RecursiveAction
+        {
+            private static final long serialVersionUID = 1L;
+
+            private final int[] members;
+            private final int c;
+
+            Part(int[] members, int c)
+            {
+                this.members = members;
+                this.c = c;
+            }
+
+            /**
+             * Splits the part around one pivot after another, forking
+             * the two smaller pieces each time and going on with the
+             * largest, until what is left is small enough, or shrinks
+             * too slowly, to finish with Tarjan's algorithm.
+             */
+            protected void compute()
+            {
+                List<Part> forked = new ArrayList<Part>();
+                int[] part = members;
+                int pc = c;
+                while (true) {
+                    part = trim(part, pc);
+                    if (part.length < GRAIN) {
+                        solve(part, pc);
+                        break;
+                    }
+                    int pivot = part[part.length / 2];
+                    invokeAll(new Reach(offsets, targets, forward, pivot, pc, part.length),
+                              new Reach(inOffsets, sources, backward, pivot, pc, part.length));
+
+                    int forwardOnly = 0;
+                    int backwardOnly = 0;
+                    int neither = 0;
+                    for (int u : part) {
+                        if (forward[u] && backward[u]) {
+                            continue;
+                        } else if (forward[u]) {
+                            forwardOnly++;
+                        } else if (backward[u]) {
+                            backwardOnly++;
+                        } else {
+                            neither++;
+                        }
+                    }
+                    int id = ids.getAndIncrement();
+                    int[][] pieces = { new int[forwardOnly], new int[backwardOnly],
+                                       new int[neither] };
+                    int[] pieceColors = { colors.getAndIncrement(), colors.getAndIncrement(),
+                                          colors.getAndIncrement() };
+                    int[] filled = new int[3];
+                    for (int u : part) {
+                        int k;
+                        if (forward[u] && backward[u]) {
+                            component[u] = id;
+                            color[u] = -1;
+                            k = -1;
+                        } else if (forward[u]) {
+                            k = 0;
+                        } else if (backward[u]) {
+                            k = 1;
+                        } else {
+                            k = 2;
+                        }
+                        if (k >= 0) {
+                            pieces[k][filled[k]++] = u;
+                            color[u] = pieceColors[k];
+                        }
+                        forward[u] = false;
+                        backward[u] = false;
+                    }
+
+                    int largest = 0;
+                    for (int k = 1; k < 3; k++) {
+                        if (pieces[k].length > pieces[largest].length) {
+                            largest = k;
+                        }
+                    }
+                    for (int k = 0; k < 3; k++) {
+                        if (k != largest && pieces[k].length > 0) {
+                            Part piece = new Part(pieces[k], pieceColors[k]);
+                            piece.fork();
+                            forked.add(piece);
+                        }
+                    }
+                    int[] next = pieces[largest];
+                    int nextColor = pieceColors[largest];
+                    if ((long) next.length * SHRINK > (long) part.length * (SHRINK - 1)) {
+                        solve(next, nextColor);
+                        break;
+                    }
+                    part = next;
+                    pc = nextColor;
+                }
+                for (Part piece : forked) {
+                    piece.join();
+                }
+            }
+        }
+
+        /**
+         * Marks every vertex of color c reachable from a pivot, along
+         * the given edges.
+         */
+        private class Reach extends RecursiveAction
+        {
+            private static final long serialVersionUID = 1L;
+
+            private final int[] rowOffsets;
+            private final int[] rowTargets;
+            private final boolean[] mark;
+            private final int pivot;
+            private final int c;
+            private final int size;
+
+            Reach(int[] rowOffsets, int[] rowTargets, boolean[] mark, int pivot, int c,
+                  int size)
+            {
+                this.rowOffsets = rowOffsets;
+                this.rowTargets = rowTargets;
+                this.mark = mark;
+                this.pivot = pivot;
+                this.c = c;
+                this.size = size;
+            }
+
+            protected void compute()
+            {
+                int[] queue = new int[size];
+                int tail = 0;
+                queue[tail++] = pivot;
+                mark[pivot] = true;
+                for (int head = 0; head < tail; head++) {
+                    int u = queue[head];
+                    for (int e = rowOffsets[u]; e < rowOffsets[u + 1]; e++) {
+                        int w = rowTargets[e];
+                        if (color[w] == c && !mark[w]) {
+                            mark[w] = true;
+                            queue[tail++] = w;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package edu.union.adt.graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Orders the vertices of a graph so that every edge goes from an
+ * earlier vertex to a later one, using Kahn's algorithm, in time
+ * linear in the vertices and edges.
+ *
+ * The order is found once, over an ImmutableGraph snapshot, so the
+ * graph may go on changing afterwards.  The vertices are taken a level
+ * at a time: level 0 holds the vertices with no edges in, and each
+ * later level holds the vertices whose last predecessor was in the
+ * level before, so a vertex's level is the length of the longest path
+ * ending at it.  Vertices in the same level do not depend on each
+ * other, which makes the levels a schedule for doing work in parallel.
+ *
+ * A graph with a cycle has no such order.  Then the order holds only
+ * the vertices that come before every cycle, isAcyclic is false, and
+ * the other vertices have level -1; StronglyConnectedComponents finds
+ * the cycles themselves.
+ *
+ * The constructor works on one thread.  parallel processes the
+ * vertices of each large level in parallel on the shared ForkJoinPool,
+ * which suits very large graphs with wide levels.  Within a level the
+ * order of its vertices may then differ from run to run.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class TopologicalSort<V>
+{
+    /** Vertices handled by one task; smaller levels stay on one thread. */
+    private static final int GRAIN = 1024;
+
+    private final ImmutableGraph<V> graph;
+    private final int[] order;
+    private final int[] level;
+    private final int levels;
+
+    /**
+     * Sorts a graph on one thread.
+     *
+     * @param graph the graph
+     */
+    public TopologicalSort(Graph<V> graph)
+    {
+        this(ImmutableGraph.copyOf(graph.snapshot()), false);
+    }
+
+    /**
+     * Sorts a graph, processing large levels in parallel.
+     *
+     * @param graph the graph
+     * @return the order of graph
+     */
+    public static <V> TopologicalSort<V> parallel(Graph<V> graph)
+    {
+        return new TopologicalSort<V>(ImmutableGraph.copyOf(graph.snapshot()), true);
+    }
+
+    private TopologicalSort(ImmutableGraph<V> snapshot, boolean parallel)
+    {
+        this.graph = snapshot;
+        this.level = new int[snapshot.numVertices()];
+        if (parallel) {
+            this.order = parallelKahn(snapshot.offsets(), snapshot.targets(), level);
+        } else {
+            this.order = kahn(snapshot.offsets(), snapshot.targets(), level);
+        }
+        int highest = -1;
+        for (int id : order) {
+            highest = Math.max(highest, level[id]);
+        }
+        this.levels = highest + 1;
+    }
+
+    /**
+     * @return true iff the graph has no cycles, so that every vertex
+     * is in the order
+     */
+    public boolean isAcyclic()
+    {
+        return order.length == level.length;
+    }
+
+    /**
+     * @return a read-only list of the vertices in topological order,
+     * level by level
+     */
+    public List<V> order()
+    {
+        return new AbstractList<V>() {
+            public V get(int i)
+            {
+                return graph.vertex(order[i]);
+            }
+
+            public int size()
+            {
+                return order.length;
+            }
+        };
+    }
+
+    /**
+     * @return the vertices of the snapshot, in index order
+     */
+    public List<V> vertices()
+    {
+        return new AbstractList<V>() {
+            public V get(int i)
+            {
+                return graph.vertex(i);
+            }
+
+            public int size()
+            {
+                return level.length;
+            }
+        };
+    }
+
+    /**
+     * @return a new array holding the level of each vertex, by index,
+     * or -1 for vertices not in the order
+     */
+    public int[] levels()
+    {
+        return level.clone();
+    }
+
+    /**
+     * @return the number of levels
+     */
+    public int numLevels()
+    {
+        return levels;
+    }
+
+    /**
+     * Gets the level of a vertex.  If the vertex was not in the graph,
+     * throws a RuntimeException.
+     *
+     * @param vertex a vertex
+     * @return the length of the longest path ending at vertex, or -1
+     * if the vertex is on or after a cycle
+     */
+    public int level(V vertex)
+    {
+        int u = graph.idOf(vertex);
+        if (u < 0) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return level[u];
+    }
+
+    /**
+     * Kahn's algorithm over rows of ints.  The queue is processed in
+     * first-in first-out order, so every vertex of one level is taken
+     * before any of the next, and the last predecessor to free a
+     * vertex is one from the level just before it.
+     *
+     * @param offsets the row offsets
+     * @param targets the edge targets
+     * @param level filled in with each vertex's level, -1 if it is not
+     * ordered; may be null
+     * @return the ordered vertices, fewer than all of them if there is
+     * a cycle
+     */
+    static int[] kahn(int[] offsets, int[] targets, int[] level)
+    {
+        int n = offsets.length - 1;
+        int[] in = new int[n];
+        for (int e = 0; e < offsets[n]; e++) {
+            in[targets[e]]++;
+        }
+        int[] queue = new int[n];
+        int tail = 0;
+        for (int u = 0; u < n; u++) {
+            if (in[u] == 0) {
+                queue[tail++] = u;
+            }
+        }
+        if (level != null) {
+            Arrays.fill(level, -1);
+            for (int i = 0; i < tail; i++) {
+                level[queue[i]] = 0;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int w = targets[e];
+                if (--in[w] == 0) {
+                    queue[tail++] = w;
+                    if (level != null) {
+                        level[w] = level[u] + 1;
+                    }
+                }
+            }
+        }
+        return tail == n ? queue : Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Kahn's algorithm one level at a time, with the edges out of a
+     * large level followed in parallel.  The order array doubles as
+     * the queue: order[head..end) is the current level, and tasks
+     * append the next level after it.
+     */
+    private static int[] parallelKahn(int[] offsets, int[] targets, int[] level)
+    {
+        int n = offsets.length - 1;
+        AtomicIntegerArray in = new AtomicIntegerArray(n);
+        for (int e = 0; e < offsets[n]; e++) {
+            in.getAndIncrement(targets[e]);
+        }
+        int[] order = new int[n];
+        Arrays.fill(level, -1);
+        int end = 0;
+        for (int u = 0; u < n; u++) {
+            if (in.get(u) == 0) {
+                order[end++] = u;
+                level[u] = 0;
+            }
+        }
+        AtomicInteger tail = new AtomicInteger(end);
+        int head = 0;
+        for (int depth = 1; head < end; depth++) {
+            Level step = new Level(offsets, targets, in, order, tail, level, depth, head, end);
+            if (end - head <= GRAIN) {
+                step.compute();
+            } else {
+                SharedPool.get().invoke(step);
+            }
+            head = end;
+            end = tail.get();
+        }
+        return end == n ? order : Arrays.copyOf(order, end);
+    }
+
+    /**
+     * Follows the edges out of order[lo..hi), appending the vertices
+     * this frees to the order.  Each leaf collects what it frees and
+     * reserves room for all of it at once.
+     */
+    private static class Level extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicIntegerArray in;
+        private final int[] order;
+        private final AtomicInteger tail;
+        private final int[] level;
+        private final int depth;
+        private final int lo;
+        private final int hi;
+
+        Level(int[] offsets, int[] targets, AtomicIntegerArray in, int[] order,
+              AtomicInteger tail, int[] level, int depth, int lo, int hi)
+        {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.in = in;
+            this.order = order;
+            this.tail = tail;
+            this.level = level;
+            this.depth = depth;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute()
+        {
+            if (hi - lo > GRAIN && getPool() != null) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Level(offsets, targets, in, order, tail, level, depth, lo, mid),
+                          new Level(offsets, targets, in, order, tail, level, depth, mid, hi));
+                return;
+            }
+            int[] freed = new int[16];
+            int count = 0;
+            for (int i = lo; i < hi; i++) {
+                int u = order[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int w = targets[e];
+                    if (in.decrementAndGet(w) == 0) {
+                        if (count == freed.length) {
+                            freed = Arrays.copyOf(freed, count * 2);
+                        }
+                        freed[count++] = w;
+                        level[w] = depth;
+                    }
+                }
+            }
+            if (count > 0) {
+                System.arraycopy(freed, 0, order, tail.getAndAdd(count), count);
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+
+/**
+ * A graph whose edges have no direction.  addEdge(u, v) adds the one
+ * edge {u, v}, after which hasEdge(u, v) and hasEdge(v, u) are both
+ * true, v is adjacent to u and u to v, and numEdges goes up by one.
+ * removeEdge(u, v) and removeEdge(v, u) both remove it.  A self-loop
+ * {u, u} counts once towards numEdges and towards the degree of u.
+ *
+ * Each vertex has a neighbor set, as in HashGraph, and an edge other
+ * than a self-loop is an entry in the set of each of its ends.  That is
+ * the same two entries per edge as two directed edges in a plain
+ * HashGraph, so there is no memory saving over that; the saving is
+ * only against a HashGraph that indexes incoming edges, which needs
+ * four.  What the class does give is the undirected semantics: the
+ * neighbors of a vertex are also its predecessors, so inDegree is
+ * degree, adjacentFrom is adjacentTo, and removeVertex touches only
+ * the removed vertex's neighbors.  Path queries search from both ends
+ * at once.
+ *
+ * numEdges counts each edge once, but everything that walks adjacency
+ * sees it from both ends.  So snapshot gives an ImmutableGraph, which
+ * is directed, holding each edge in both directions, and equals
+ * compares adjacency, so the graph is equal to its snapshot.  An
+ * UndirectedGraph is not safe for use by more than one thread at
+ * once.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class UndirectedGraph<V> extends AbstractGraph<V>
+{
+    private final Map<V, AdjacencySet<V>> edges;
+    private int edgeCount;
+    private final BidirectionalSearch<V> search;
+
+    /**
+     * Create an empty graph.
+     */
+    public UndirectedGraph()
+    {
+        this(0);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices,
+     * so that filling it never rehashes the vertex map.
+     *
+     * @param expectedVertices the number of vertices expected
+     */
+    public UndirectedGraph(int expectedVertices)
+    {
+        edges = new HashMap<V, AdjacencySet<V>>(Math.max(16, (int) (expectedVertices / 0.75f) + 1));
+        search = new BidirectionalSearch<V>(this);
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices()
+    {
+        return edges.size();
+    }
+
+    /**
+     * @return the number of edges in the graph, each counted once.
+     */
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of vertices that share an edge with a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex)
+    {
+        return neighbors(vertex).size();
+    }
+
+    /**
+     * The same as degree, since every edge goes both ways.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int inDegree(V vertex)
+    {
+        return degree(vertex);
+    }
+
+    /**
+     * Adds an edge between two vertices.  If there is already an edge
+     * between them, in either order, does nothing.  If either (or
+     * both) of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from one end of the added edge
+     * @param to the other end of the added edge
+     */
+    public void addEdge(V from, V to)
+    {
+        AdjacencySet<V> a = row(from);
+        AdjacencySet<V> b = row(to);
+        if (a.add(to)) {
+            if (!BreadthFirstSearch.equal(from, to)) {
+                b.add(from);
+            }
+            edgeCount++;
+        }
+    }
+
+    public void addVertex(V vertex)
+    {
+        row(vertex);
+    }
+
+    public Iterable<V> getVertices()
+    {
+        return Collections.unmodifiableSet(edges.keySet());
+    }
+
+    /**
+     * Gets the vertices that share an edge with a given vertex.
+     *
+     * @param from the vertex
+     * @return a live, read-only view of the neighbors of 'from'.  If
+     * 'from' is not a vertex in the graph, returns an empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from)
+    {
+        AdjacencySet<V> adjacent = edges.get(from);
+        return adjacent == null ? Collections.<V>emptySet() : adjacent.view();
+    }
+
+    /**
+     * Hands each neighbor of a given vertex to a visitor, straight
+     * from its neighbor set.
+     *
+     * @param from the vertex
+     * @param visitor called with each neighbor of 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        AdjacencySet<V> adjacent = edges.get(from);
+        return adjacent == null || adjacent.forEachNeighbor(visitor);
+    }
+
+    /**
+     * The same as adjacentTo, since every edge goes both ways.
+     *
+     * @param to the vertex
+     * @return a live, read-only view of the neighbors of 'to'
+     */
+    public Iterable<V> adjacentFrom(V to)
+    {
+        return adjacentTo(to);
+    }
+
+    public boolean contains(V vertex)
+    {
+        return edges.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether there is an edge between two vertices, in either
+     * order.
+     *
+     * @param from one vertex
+     * @param to the other vertex
+     * @return true iff the graph has the edge {from, to}
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        AdjacencySet<V> adjacent = edges.get(from);
+        return adjacent != null && adjacent.contains(to);
+    }
+
+    /**
+     * Removes a vertex and every edge touching it, visiting only its
+     * neighbors.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    public void removeVertex(V toRemove)
+    {
+        AdjacencySet<V> adjacent = edges.remove(toRemove);
+        if (adjacent == null) {
+            return;
+        }
+        for (V v : adjacent) {
+            if (!BreadthFirstSearch.equal(v, toRemove)) {
+                edges.get(v).remove(toRemove);
+            }
+        }
+        edgeCount -= adjacent.size();
+    }
+
+    /**
+     * Removes the edge between two vertices, given in either order.
+     */
+    public void removeEdge(V from, V to)
+    {
+        AdjacencySet<V> a = edges.get(from);
+        if (a != null && a.remove(to)) {
+            if (!BreadthFirstSearch.equal(from, to)) {
+                edges.get(to).remove(from);
+            }
+            edgeCount--;
+        }
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices,
+     * searching from both ends at once.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return search.hasPath(from, to);
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices, searching from both ends at once.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(V from, V to)
+    {
+        return search.pathLength(from, to);
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices, searching from both ends at once.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getPath(V from, V to)
+    {
+        return search.getPath(from, to);
+    }
+
+    /**
+     * Makes an immutable, directed copy of the graph, with an edge
+     * each way for every edge of this one.
+     *
+     * @return a read-only graph with the same vertices and paths
+     */
+    public Graph<V> snapshot()
+    {
+        return ImmutableGraph.copyOf(this);
+    }
+
+    /**
+     * Gets a vertex's neighbor set, throwing a RuntimeException if it
+     * is not in the graph.
+     */
+    private AdjacencySet<V> neighbors(V vertex)
+    {
+        AdjacencySet<V> adjacent = edges.get(vertex);
+        if (adjacent == null) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return adjacent;
+    }
+
+    /**
+     * Gets a vertex's neighbor set, adding the vertex if it is new.
+     */
+    private AdjacencySet<V> row(V vertex)
+    {
+        AdjacencySet<V> adjacent = edges.get(vertex);
+        if (adjacent == null) {
+            adjacent = new AdjacencySet<V>();
+            edges.put(vertex, adjacent);
+        }
+        return adjacent;
+    }
+}
@@ -0,0 +1,29 @@
+package edu.union.adt.graph;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Turns vertices into bytes and back, so that a graph can be saved in
+ * a GraphFile.  Two different vertices must never encode to the same
+ * bytes, since a MappedGraph finds a vertex by comparing encodings.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public interface VertexCodec<V>
+{
+    /**
+     * @param vertex a vertex
+     * @return the bytes that represent it
+     */
+    public byte[] encode(V vertex);
+
+    /**
+     * Rebuilds a vertex from its bytes.
+     *
+     * @param bytes the bytes from encode, from the buffer's position
+     * to its limit
+     * @return the vertex
+     */
+    public V decode(ByteBuffer bytes);
+}
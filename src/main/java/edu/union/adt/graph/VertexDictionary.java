@@ -0,0 +1,386 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Gives each vertex a dense int id, so that a graph can hash a vertex
+ * once, on the way in, and work with ints from then on.  Ids run from
+ * 0 up to idLimit; an id freed by remove is handed out again before a
+ * new one, so the ids stay dense as vertices come and go.
+ *
+ * The table is an open-addressing hash table of ints with linear
+ * probing, holding each vertex's id.  The vertex's hash is kept by id
+ * alongside it, so probing compares ints before calling equals, and
+ * growing the table never calls hashCode.  Compared with a
+ * HashMap&lt;V, Integer&gt;, there is no entry object and no boxed
+ * Integer per vertex: a vertex costs a reference, a hash and one or two
+ * table slots.
+ *
+ * forStrings gives a dictionary for String vertices that keeps their
+ * characters in one shared byte arena instead of one String object
+ * each: one byte per character when every character fits in one,
+ * two otherwise.  That saves the String and array headers on every
+ * vertex, which adds up when there are millions of them, at the cost
+ * of building a new String whenever vertex is called.
+ *
+ * A VertexDictionary is not safe for use by more than one thread at
+ * once.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class VertexDictionary<V>
+{
+    /** Stands in for a null vertex, since null marks a free id. */
+    private static final Object NULL = new Object();
+
+    private int[] table;
+    private int[] hashes;
+    private Object[] names;
+    private long[] live;
+    private int size;
+    private int idLimit;
+    private int[] freeIds = new int[16];
+    private int freeCount;
+
+    /**
+     * Creates an empty dictionary.
+     */
+    public VertexDictionary()
+    {
+        this(0);
+    }
+
+    /**
+     * Creates an empty dictionary with room for a given number of
+     * vertices.
+     *
+     * @param expectedVertices the number of vertices expected
+     */
+    public VertexDictionary(int expectedVertices)
+    {
+        this(expectedVertices, true);
+    }
+
+    /**
+     * @param keepNames false for a subclass that stores vertices
+     * itself
+     */
+    VertexDictionary(int expectedVertices, boolean keepNames)
+    {
+        int capacity = Math.max(16, expectedVertices);
+        table = new int[tableSize(expectedVertices)];
+        hashes = new int[capacity];
+        live = new long[(capacity + 63) >>> 6];
+        if (keepNames) {
+            names = new Object[capacity];
+        }
+    }
+
+    /**
+     * Creates an empty dictionary for String vertices that keeps
+     * their characters in a shared arena.  It does not allow null.
+     *
+     * @return the dictionary
+     */
+    public static VertexDictionary<String> forStrings()
+    {
+        return new StringDictionary(0);
+    }
+
+    /**
+     * Creates an empty dictionary for String vertices, with room for
+     * a given number of them, that keeps their characters in a shared
+     * arena.  It does not allow null.
+     *
+     * @param expectedVertices the number of vertices expected
+     * @return the dictionary
+     */
+    public static VertexDictionary<String> forStrings(int expectedVertices)
+    {
+        return new StringDictionary(expectedVertices);
+    }
+
+    /**
+     * @return the number of vertices in the dictionary
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return one more than the largest id ever handed out, which is
+     * the length an array indexed by id needs
+     */
+    public int idLimit()
+    {
+        return idLimit;
+    }
+
+    /**
+     * @param id an id
+     * @return true iff id belongs to a vertex now
+     */
+    public boolean contains(int id)
+    {
+        return id >= 0 && id < idLimit && (live[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Looks up a vertex.
+     *
+     * @param vertex a vertex
+     * @return the vertex's id, or -1 if it is not in the dictionary
+     */
+    public int id(V vertex)
+    {
+        int h = hash(vertex);
+        int mask = table.length - 1;
+        for (int i = slot(h, mask); table[i] != 0; i = (i + 1) & mask) {
+            int id = table[i] - 1;
+            if (hashes[id] == h && matches(id, vertex)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Looks up a vertex, adding it if it is new.
+     *
+     * @param vertex a vertex
+     * @return the vertex's id
+     */
+    public int intern(V vertex)
+    {
+        int h = hash(vertex);
+        int mask = table.length - 1;
+        int i = slot(h, mask);
+        for (; table[i] != 0; i = (i + 1) & mask) {
+            int id = table[i] - 1;
+            if (hashes[id] == h && matches(id, vertex)) {
+                return id;
+            }
+        }
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = idLimit++;
+            if (id == hashes.length) {
+                grow(hashes.length * 2);
+            }
+        }
+        store(id, vertex);
+        hashes[id] = h;
+        live[id >>> 6] |= 1L << id;
+        table[i] = id + 1;
+        if (++size * 3 > table.length * 2) {
+            rehash(table.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the vertex with a given id.
+     *
+     * @param id an id
+     * @return the vertex with that id, or null if the id is free
+     */
+    @SuppressWarnings("unchecked")
+    public V vertex(int id)
+    {
+        Object name = names[id];
+        return name == NULL ? null : (V) name;
+    }
+
+    /**
+     * Removes a vertex, freeing its id to be handed out again.
+     *
+     * @param vertex a vertex
+     * @return the id it had, or -1 if it was not in the dictionary
+     */
+    public int remove(V vertex)
+    {
+        int h = hash(vertex);
+        int mask = table.length - 1;
+        for (int i = slot(h, mask); table[i] != 0; i = (i + 1) & mask) {
+            int id = table[i] - 1;
+            if (hashes[id] == h && matches(id, vertex)) {
+                deleteSlot(i);
+                release(id);
+                live[id >>> 6] &= ~(1L << id);
+                size--;
+                if (freeCount == freeIds.length) {
+                    freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+                }
+                freeIds[freeCount++] = id;
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the vertices, in id order.  Changing the dictionary
+     * while iterating gives undefined results.
+     */
+    public Iterable<V> vertices()
+    {
+        return new Iterable<V>() {
+            public Iterator<V> iterator()
+            {
+                return new Iterator<V>() {
+                    private int next = advance(0);
+
+                    private int advance(int from)
+                    {
+                        while (from < idLimit && !contains(from)) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    public boolean hasNext()
+                    {
+                        return next < idLimit;
+                    }
+
+                    public V next()
+                    {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        V v = vertex(next);
+                        next = advance(next + 1);
+                        return v;
+                    }
+
+                    public void remove()
+                    {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * @return the vertex for each id below idLimit, null for free ids
+     */
+    Object[] toArray()
+    {
+        Object[] array = new Object[idLimit];
+        for (int id = 0; id < idLimit; id++) {
+            if (contains(id)) {
+                array[id] = vertex(id);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Tells whether the vertex stored under id is the given one.
+     */
+    boolean matches(int id, Object vertex)
+    {
+        Object name = names[id];
+        return name == NULL ? vertex == null : name.equals(vertex);
+    }
+
+    /**
+     * Stores a vertex under a new id.
+     */
+    void store(int id, V vertex)
+    {
+        names[id] = vertex == null ? NULL : vertex;
+    }
+
+    /**
+     * Forgets the vertex stored under an id being freed.
+     */
+    void release(int id)
+    {
+        names[id] = null;
+    }
+
+    /**
+     * Makes room for ids below capacity.
+     */
+    void grow(int capacity)
+    {
+        hashes = Arrays.copyOf(hashes, capacity);
+        live = Arrays.copyOf(live, (capacity + 63) >>> 6);
+        if (names != null) {
+            names = Arrays.copyOf(names, capacity);
+        }
+    }
+
+    /**
+     * @return the hash of a vertex, spread so that vertices whose
+     * hash codes differ only in their high bits still probe apart
+     */
+    private static int hash(Object vertex)
+    {
+        int h = vertex == null ? 0 : vertex.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Empties slot i and moves later entries of its probe run back so
+     * that every entry is still reachable from its home slot.
+     */
+    private void deleteSlot(int i)
+    {
+        int[] t = table;
+        int mask = t.length - 1;
+        t[i] = 0;
+        for (int j = (i + 1) & mask; t[j] != 0; j = (j + 1) & mask) {
+            int home = slot(hashes[t[j] - 1], mask);
+            boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stays) {
+                t[i] = t[j];
+                t[j] = 0;
+                i = j;
+            }
+        }
+    }
+
+    private void rehash(int capacity)
+    {
+        int[] t = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < idLimit; id++) {
+            if (contains(id)) {
+                int i = slot(hashes[id], mask);
+                while (t[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                t[i] = id + 1;
+            }
+        }
+        table = t;
+    }
+
+    private static int slot(int hash, int mask)
+    {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return the smallest power-of-two table that holds n entries
+     * at most two-thirds full.
+     */
+    private static int tableSize(int n)
+    {
+        int capacity = 16;
+        while ((long) n * 3 > (long) capacity * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,535 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+
+/**
+ * A weighted graph that keeps each vertex's edges in a pair of
+ * parallel primitive arrays: the int ids of its neighbors and the
+ * double weights of the edges to them.  An edge costs twelve bytes and
+ * no objects, and the cheapest-path searches run over plain arrays.
+ *
+ * cost and getCheapestPath use Dijkstra's algorithm with an indexed
+ * binary heap, which lowers a vertex's key in place rather than
+ * queueing it again.  The A* versions order the heap by cost so far
+ * plus the heuristic's estimate, and stop as soon as the target is
+ * taken off the heap.  A heuristic that never overestimates gives the
+ * cheapest path even if it is not consistent, since a vertex whose
+ * cost improves after it was taken off the heap is put back.
+ *
+ * removeVertex must find the edges into the removed vertex by
+ * scanning every row, so it is linear in the number of edges.  A
+ * WeightedArrayGraph is not safe for use by more than one thread at
+ * once, even for queries, since searches share scratch arrays.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public class WeightedArrayGraph<V> extends AbstractGraph<V> implements WeightedGraph<V>
+{
+    private static final int[] NO_TARGETS = new int[0];
+    private static final double[] NO_WEIGHTS = new double[0];
+
+    private Map<V, Integer> ids;
+    private Object[] names;
+    private int idCount;
+    private int[] freeIds;
+    private int freeCount;
+
+    private int[][] targets;
+    private double[][] weights;
+    private int[] degrees;
+    private int edgeCount;
+
+    private final IndexedHeap heap = new IndexedHeap();
+    private double[] cost = new double[0];
+    private double[] estimate = new double[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private int epoch;
+
+    /**
+     * Create an empty graph.
+     */
+    public WeightedArrayGraph()
+    {
+        this(0);
+    }
+
+    /**
+     * Create an empty graph with room for a given number of vertices,
+     * so that adding them never rehashes or copies the per-vertex
+     * arrays.
+     *
+     * @param expectedVertices the number of vertices expected
+     */
+    public WeightedArrayGraph(int expectedVertices)
+    {
+        int capacity = Math.max(16, expectedVertices);
+        ids = new HashMap<V, Integer>(Math.max(16, (int) (expectedVertices / 0.75f) + 1));
+        names = new Object[capacity];
+        freeIds = new int[16];
+        targets = new int[capacity][];
+        weights = new double[capacity][];
+        degrees = new int[capacity];
+        Arrays.fill(targets, NO_TARGETS);
+        Arrays.fill(weights, NO_WEIGHTS);
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices()
+    {
+        return ids.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(V vertex)
+    {
+        return degrees[id(vertex)];
+    }
+
+    /**
+     * Adds a directed edge of weight 1.0 between two vertices.  If
+     * there is already an edge between the given vertices, does
+     * nothing, keeping its weight.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(V from, V to)
+    {
+        int u = intern(from);
+        int w = intern(to);
+        if (indexOf(u, w) < 0) {
+            append(u, w, 1.0);
+        }
+    }
+
+    /**
+     * Adds a directed edge with a weight, or changes the weight of an
+     * edge that is already in the graph.  If either vertex does not
+     * exist, it is added first.
+     *
+     * @param from the source vertex for the edge
+     * @param to the destination vertex for the edge
+     * @param weight the cost of the edge, at least zero
+     * @throws IllegalArgumentException if weight is negative or NaN
+     */
+    public void addEdge(V from, V to, double weight)
+    {
+        if (!(weight >= 0)) {
+            throw new IllegalArgumentException("Edge weight must be at least zero: " + weight);
+        }
+        int u = intern(from);
+        int w = intern(to);
+        int e = indexOf(u, w);
+        if (e >= 0) {
+            weights[u][e] = weight;
+        } else {
+            append(u, w, weight);
+        }
+    }
+
+    /**
+     * Gets the weight of an edge.  If the edge is not in the graph,
+     * throws a RuntimeException.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the weight of the edge (from, to)
+     */
+    public double weight(V from, V to)
+    {
+        Integer u = ids.get(from);
+        Integer w = ids.get(to);
+        int e = u == null || w == null ? -1 : indexOf(u, w);
+        if (e < 0) {
+            throw new RuntimeException("Edge not in graph: (" + from + ", " + to + ")");
+        }
+        return weights[u][e];
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(V vertex)
+    {
+        intern(vertex);
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph.
+     */
+    public Iterable<V> getVertices()
+    {
+        return Collections.unmodifiableSet(ids.keySet());
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.  A vertex y is
+     * "adjacent to" vertex x if there is an edge (x, y) in the graph.
+     *
+     * @param from the source vertex
+     * @return a read-only copy of the destinations of edges for which
+     * 'from' is the source vertex.  If 'from' is not a vertex in the
+     * graph, returns an empty iterator.
+     */
+    public Iterable<V> adjacentTo(V from)
+    {
+        Integer id = ids.get(from);
+        if (id == null) {
+            return Collections.<V>emptyList();
+        }
+        int u = id;
+        List<V> adjacent = new ArrayList<V>(degrees[u]);
+        for (int e = 0; e < degrees[u]; e++) {
+            adjacent.add(vertex(targets[u][e]));
+        }
+        return Collections.unmodifiableList(adjacent);
+    }
+
+    /**
+     * Hands each vertex adjacent to a given vertex to a visitor,
+     * straight from its row, without copying the row first.
+     *
+     * @param from the source vertex
+     * @param visitor called with each vertex adjacent to 'from'
+     * @return false if the visitor stopped early, true otherwise
+     */
+    public boolean forEachNeighbor(V from, NeighborVisitor<? super V> visitor)
+    {
+        Integer id = ids.get(from);
+        if (id == null) {
+            return true;
+        }
+        int u = id;
+        int[] row = targets[u];
+        for (int e = 0, end = degrees[u]; e < end; e++) {
+            if (!visitor.visit(vertex(row[e]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(V vertex)
+    {
+        return ids.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        Integer u = ids.get(from);
+        Integer w = ids.get(to);
+        return u != null && w != null && indexOf(u, w) >= 0;
+    }
+
+    /**
+     * Removes a vertex from the graph, along with every edge into or
+     * out of it.  Finding the edges into the vertex means scanning
+     * every row.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    public void removeVertex(V toRemove)
+    {
+        Integer id = ids.remove(toRemove);
+        if (id == null) {
+            return;
+        }
+        int x = id;
+        edgeCount -= degrees[x];
+        degrees[x] = 0;
+        targets[x] = NO_TARGETS;
+        weights[x] = NO_WEIGHTS;
+        for (int u = 0; u < idCount; u++) {
+            if (names[u] != null) {
+                removeFromRow(u, x);
+            }
+        }
+        names[x] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = x;
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * <p>Postcondition: If from and to were in the graph and (from,
+     * to) was an edge in the graph, then numEdges = numEdges' - 1
+     */
+    public void removeEdge(V from, V to)
+    {
+        Integer u = ids.get(from);
+        Integer w = ids.get(to);
+        if (u != null && w != null) {
+            removeFromRow(u, w);
+        }
+    }
+
+    /**
+     * Gets the cost of the cheapest path connecting two vertices,
+     * using Dijkstra's algorithm.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the total weight of the cheapest path from 'from' to
+     * 'to', or Double.POSITIVE_INFINITY if there is no path
+     */
+    public double cost(V from, V to)
+    {
+        return cost(from, to, null);
+    }
+
+    /**
+     * Gets the cost of the cheapest path connecting two vertices,
+     * using an A* search guided by a heuristic.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param heuristic a lower bound on the cost to 'to'
+     * @return the total weight of the cheapest path from 'from' to
+     * 'to', or Double.POSITIVE_INFINITY if there is no path
+     */
+    public double cost(V from, V to, Heuristic<? super V> heuristic)
+    {
+        if (BreadthFirstSearch.equal(from, to)) {
+            return 0.0;
+        }
+        Integer u = ids.get(from);
+        Integer w = ids.get(to);
+        if (u == null || w == null || !search(u, w, heuristic)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return cost[w];
+    }
+
+    /**
+     * Returns the vertices along the cheapest path connecting two
+     * vertices, using Dijkstra's algorithm.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the cheapest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getCheapestPath(V from, V to)
+    {
+        return getCheapestPath(from, to, null);
+    }
+
+    /**
+     * Returns the vertices along the cheapest path connecting two
+     * vertices, using an A* search guided by a heuristic.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param heuristic a lower bound on the cost to 'to'
+     * @return an Iterable collection of vertices along the cheapest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getCheapestPath(V from, V to, Heuristic<? super V> heuristic)
+    {
+        LinkedList<V> path = new LinkedList<V>();
+        Integer u = ids.get(from);
+        Integer w = ids.get(to);
+        if (u == null || w == null) {
+            return path;
+        }
+        if (u.equals(w) || search(u, w, heuristic)) {
+            for (int v = w; v != u; v = parent[v]) {
+                path.addFirst(vertex(v));
+            }
+            path.addFirst(vertex(u));
+        }
+        return path;
+    }
+
+    /**
+     * Searches from 'from' until 'to' is taken off the heap.  With no
+     * heuristic this is Dijkstra's algorithm.  Visits are marked by
+     * stamping a search number, so the scratch arrays are only cleared
+     * when the number wraps.
+     *
+     * @return true iff 'to' was reached; cost[to] is then its cost and
+     * parent leads back to 'from'
+     */
+    private boolean search(int from, int to, Heuristic<? super V> heuristic)
+    {
+        if (stamp.length < idCount) {
+            cost = new double[idCount];
+            estimate = new double[idCount];
+            parent = new int[idCount];
+            stamp = new int[idCount];
+            epoch = 0;
+        }
+        if (++epoch == 0) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+        heap.reset(idCount);
+        V target = vertex(to);
+        stamp[from] = epoch;
+        cost[from] = 0.0;
+        estimate[from] = heuristic == null ? 0.0 : heuristic.estimate(vertex(from), target);
+        heap.offer(from, estimate[from]);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (u == to) {
+                return true;
+            }
+            int[] row = targets[u];
+            double[] rowWeights = weights[u];
+            for (int e = 0, end = degrees[u]; e < end; e++) {
+                int v = row[e];
+                double c = cost[u] + rowWeights[e];
+                if (stamp[v] != epoch) {
+                    stamp[v] = epoch;
+                    estimate[v] = heuristic == null ? 0.0 : heuristic.estimate(vertex(v), target);
+                } else if (c >= cost[v]) {
+                    continue;
+                }
+                cost[v] = c;
+                parent[v] = u;
+                heap.offer(v, c + estimate[v]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the id of a vertex, throwing a RuntimeException if it is
+     * not in the graph.
+     */
+    private int id(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            throw new RuntimeException("Vertex not in graph: " + vertex);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the id for a vertex, adding the vertex if it is new.
+     * Ids freed by removeVertex are handed out again before new ones.
+     */
+    private int intern(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id != null) {
+            return id;
+        }
+        int x;
+        if (freeCount > 0) {
+            x = freeIds[--freeCount];
+        } else {
+            x = idCount++;
+            if (x == names.length) {
+                int size = names.length * 2;
+                names = Arrays.copyOf(names, size);
+                targets = Arrays.copyOf(targets, size);
+                weights = Arrays.copyOf(weights, size);
+                degrees = Arrays.copyOf(degrees, size);
+                Arrays.fill(targets, x, size, NO_TARGETS);
+                Arrays.fill(weights, x, size, NO_WEIGHTS);
+            }
+        }
+        names[x] = vertex;
+        ids.put(vertex, x);
+        return x;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertex(int id)
+    {
+        return (V) names[id];
+    }
+
+    /**
+     * @return the position of w in u's row, or -1
+     */
+    private int indexOf(int u, int w)
+    {
+        int[] row = targets[u];
+        for (int e = 0, end = degrees[u]; e < end; e++) {
+            if (row[e] == w) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the edge (u, w), growing u's row if it is full.
+     */
+    private void append(int u, int w, double weight)
+    {
+        int d = degrees[u];
+        if (d == targets[u].length) {
+            int size = Math.max(4, d * 2);
+            targets[u] = Arrays.copyOf(targets[u], size);
+            weights[u] = Arrays.copyOf(weights[u], size);
+        }
+        targets[u][d] = w;
+        weights[u][d] = weight;
+        degrees[u] = d + 1;
+        edgeCount++;
+    }
+
+    /**
+     * Removes (u, w) from u's row by moving the last edge into its
+     * place.
+     */
+    private void removeFromRow(int u, int w)
+    {
+        int e = indexOf(u, w);
+        if (e < 0) {
+            return;
+        }
+        int last = --degrees[u];
+        targets[u][e] = targets[u][last];
+        weights[u][e] = weights[u][last];
+        edgeCount--;
+    }
+}
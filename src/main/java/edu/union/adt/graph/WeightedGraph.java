@@ -0,0 +1,81 @@
+package edu.union.adt.graph;
+
+/**
+ * A graph whose edges have costs.  Every edge has a non-negative
+ * weight; edges added through the plain Graph.addEdge weigh 1.0.  The
+ * Graph path methods still count edges, while cost, getCheapestPath
+ * and their A* versions add up weights.
+ *
+ * @author Aaron G. Cass
+ * @version 1
+ */
+public interface WeightedGraph<V> extends Graph<V>
+{
+    /**
+     * Adds a directed edge with a weight, or changes the weight of an
+     * edge that is already in the graph.  If either vertex does not
+     * exist, it is added first.
+     *
+     * @param from the source vertex for the edge
+     * @param to the destination vertex for the edge
+     * @param weight the cost of the edge, at least zero
+     * @throws IllegalArgumentException if weight is negative or NaN
+     */
+    public void addEdge(V from, V to, double weight);
+
+    /**
+     * Gets the weight of an edge.  If the edge is not in the graph,
+     * throws a RuntimeException.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the weight of the edge (from, to)
+     */
+    public double weight(V from, V to);
+
+    /**
+     * Gets the cost of the cheapest path connecting two vertices,
+     * using Dijkstra's algorithm.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the total weight of the cheapest path from 'from' to
+     * 'to', or Double.POSITIVE_INFINITY if there is no path
+     */
+    public double cost(V from, V to);
+
+    /**
+     * Gets the cost of the cheapest path connecting two vertices,
+     * using an A* search guided by a heuristic.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param heuristic a lower bound on the cost to 'to'
+     * @return the total weight of the cheapest path from 'from' to
+     * 'to', or Double.POSITIVE_INFINITY if there is no path
+     */
+    public double cost(V from, V to, Heuristic<? super V> heuristic);
+
+    /**
+     * Returns the vertices along the cheapest path connecting two
+     * vertices, using Dijkstra's algorithm.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the cheapest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getCheapestPath(V from, V to);
+
+    /**
+     * Returns the vertices along the cheapest path connecting two
+     * vertices, using an A* search guided by a heuristic.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param heuristic a lower bound on the cost to 'to'
+     * @return an Iterable collection of vertices along the cheapest
+     * path from 'from' to 'to', empty if there is no path.
+     */
+    public Iterable<V> getCheapestPath(V from, V to, Heuristic<? super V> heuristic);
+}
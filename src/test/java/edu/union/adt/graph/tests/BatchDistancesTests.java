@@ -0,0 +1,115 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.BatchDistances;
+import edu.union.adt.graph.DistanceCallback;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+@RunWith(JUnit4.class)
+public class BatchDistancesTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "A");
+        g.addEdge("C", "D");
+        g.addVertex("E");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void answersEachPair()
+    {
+        List<String> from = Arrays.asList("A", "A", "A", "D", "E", "X", "X", "B", "A");
+        List<String> to = Arrays.asList("D", "C", "A", "A", "E", "X", "A", "D", "D");
+        int max = Integer.MAX_VALUE;
+
+        assertArrayEquals("Lengths, in the order asked",
+                          new int[] { 3, 2, 0, max, 0, 0, max, 2, 3 },
+                          BatchDistances.pathLengths(g, from, to));
+    }
+
+    @Test
+    public void callbackSeesEveryPair()
+    {
+        final List<String> from = Arrays.asList("A", "B", "D", "X");
+        final List<String> to = Arrays.asList("C", "A", "A", "A");
+        final AtomicIntegerArray seen = new AtomicIntegerArray(from.size());
+        BatchDistances.pathLengths(g, from, to, new DistanceCallback<String>() {
+            public void distance(int pair, String source, String target, int length)
+            {
+                assertEquals("Source of pair " + pair, from.get(pair), source);
+                assertEquals("Target of pair " + pair, to.get(pair), target);
+                assertEquals("Length of pair " + pair, g.pathLength(source, target), length);
+                seen.incrementAndGet(pair);
+            }
+        });
+        for (int i = 0; i < from.size(); i++) {
+            assertEquals("Calls for pair " + i, 1, seen.get(i));
+        }
+    }
+
+    @Test
+    public void matrix()
+    {
+        int[][] matrix = BatchDistances.pathLengthMatrix(g, Arrays.asList("A", "D"),
+                                                         Arrays.asList("A", "B", "C", "D"));
+        int max = Integer.MAX_VALUE;
+
+        assertArrayEquals("Row for A", new int[] { 0, 1, 2, 3 }, matrix[0]);
+        assertArrayEquals("Row for D", new int[] { max, max, max, 0 }, matrix[1]);
+    }
+
+    @Test
+    public void sizesMustMatch()
+    {
+        try {
+            BatchDistances.pathLengths(g, Arrays.asList("A"), Arrays.asList("B", "C"));
+            fail("Mismatched lists are rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void matchesPathLength()
+    {
+        Graph<Integer> graph = GraphFactory.<Integer>createGraph();
+        Random random = new Random(19);
+        for (int i = 0; i < 3000; i++) {
+            graph.addEdge(random.nextInt(1000), random.nextInt(1000));
+        }
+        List<Integer> from = new ArrayList<Integer>();
+        List<Integer> to = new ArrayList<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            from.add(random.nextInt(200));
+            to.add(random.nextInt(1000));
+        }
+        int[] lengths = BatchDistances.pathLengths(graph, from, to);
+        for (int i = 0; i < from.size(); i++) {
+            assertEquals(from.get(i) + " to " + to.get(i),
+                         graph.pathLength(from.get(i), to.get(i)), lengths[i]);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.BulkLoader;
+import edu.union.adt.graph.CsrGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class BulkLoaderTests
+{
+    @Test
+    public void duplicatesAreDropped()
+    {
+        Graph<String> g = new BulkLoader<String>()
+            .addEdge("a", "b")
+            .addEdge("a", "b")
+            .addEdge("b", "a")
+            .addEdge("a", "a")
+            .addVertex("c")
+            .buildImmutableGraph();
+
+        assertEquals("Each vertex is kept once", 3, g.numVertices());
+        assertEquals("Duplicate edges are dropped", 3, g.numEdges());
+        assertEquals("Self-loops are kept", 2, g.degree("a"));
+        assertEquals("Isolated vertex is kept", 0, g.degree("c"));
+    }
+
+    @Test
+    public void buildsMatchEdgeByEdge()
+    {
+        Graph<Integer> expected = GraphFactory.<Integer>createGraph();
+        BulkLoader<Integer> loader = new BulkLoader<Integer>(100, 1000);
+        Random random = new Random(11);
+        for (int i = 0; i < 1000; i++) {
+            int from = random.nextInt(100);
+            int to = random.nextInt(100);
+            expected.addEdge(from, to);
+            loader.addEdge(from, to);
+        }
+
+        assertEquals("Edges added counts duplicates", 1000, loader.numEdgesAdded());
+        assertEquals("Immutable graph matches", loader.buildImmutableGraph(), expected);
+        assertEquals("HashGraph matches",
+                     expected, loader.addTo(GraphFactory.<Integer>createIndexedGraph()));
+        CsrGraph<Integer> csr = loader.buildCsrGraph();
+        assertEquals("CsrGraph matches", csr, expected);
+        csr.addEdge(-1, 0);
+        csr.removeVertex(5);
+        expected.addEdge(-1, 0);
+        expected.removeVertex(5);
+        assertEquals("CsrGraph can be changed after loading", csr, expected);
+    }
+
+    @Test
+    public void parallelMatchesSequential()
+    {
+        int n = 20000;
+        Integer[] from = new Integer[4 * n];
+        Integer[] to = new Integer[4 * n];
+        Random random = new Random(12);
+        for (int i = 0; i < from.length; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+        }
+
+        Graph<Integer> sequential = new BulkLoader<Integer>().addEdges(from, to)
+            .buildImmutableGraph();
+        Graph<Integer> parallel = new BulkLoader<Integer>().parallel(true).addEdges(from, to)
+            .buildImmutableGraph();
+        assertEquals("Parallel build gives the same graph", sequential, parallel);
+    }
+
+    @Test
+    public void addToMergesIntoExistingGraph()
+    {
+        Graph<String> g = GraphFactory.<String>createIndexedGraph();
+        g.addEdge("a", "b");
+        g.addEdge("x", "y");
+
+        List<Map.Entry<String, String>> edges = new ArrayList<Map.Entry<String, String>>();
+        edges.add(new AbstractMap.SimpleEntry<String, String>("a", "b"));
+        edges.add(new AbstractMap.SimpleEntry<String, String>("a", "c"));
+        edges.add(new AbstractMap.SimpleEntry<String, String>("c", "a"));
+        new BulkLoader<String>().addEdges(edges).addTo(g);
+
+        assertEquals("Existing edge is not counted twice", 4, g.numEdges());
+        assertEquals("New and old vertices are all present", 5, g.numVertices());
+        assertTrue("New edge into an old vertex", g.hasEdge("c", "a"));
+        assertEquals("Incoming index is kept up to date", 1, g.inDegree("c"));
+        g.removeVertex("c");
+        assertEquals("Removal finds the loaded edges", 2, g.numEdges());
+    }
+
+    @Test
+    public void edgesByIdMatchEdgesByVertex()
+    {
+        BulkLoader<String> byId = new BulkLoader<String>();
+        BulkLoader<String> byVertex = new BulkLoader<String>();
+        String[] names = new String[50];
+        int[] ids = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "v" + i;
+            ids[i] = byId.intern(names[i]);
+            byVertex.addVertex(names[i]);
+        }
+        Random random = new Random(12);
+        for (int i = 0; i < 500; i++) {
+            int u = random.nextInt(names.length);
+            int w = random.nextInt(names.length);
+            byId.addEdgeById(ids[u], ids[w]);
+            byVertex.addEdge(names[u], names[w]);
+        }
+
+        assertEquals("Same graph", byId.buildImmutableGraph(), byVertex.buildImmutableGraph());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownIdIsRejected()
+    {
+        BulkLoader<String> loader = new BulkLoader<String>();
+        int a = loader.intern("a");
+        loader.addEdgeById(a, a + 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedArraysAreRejected()
+    {
+        new BulkLoader<String>().addEdges(new String[] { "a" }, new String[0]);
+    }
+}
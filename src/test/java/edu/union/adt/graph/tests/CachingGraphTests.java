@@ -0,0 +1,87 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CachingGraph;
+import edu.union.adt.graph.GraphFactory;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class CachingGraphTests
+{
+    private CachingGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new CachingGraph<String>(GraphFactory.<String>createIndexedGraph(), 2, 1);
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "d");
+        g.addEdge("x", "d");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void repeatedQueriesHitTheCache()
+    {
+        assertEquals("First query searches", 3, g.pathLength("a", "d"));
+        assertTrue("Same pair again", g.hasPath("a", "d"));
+        assertEquals("Same pair again", Arrays.asList("a", "b", "c", "d"), g.getPath("a", "d"));
+        assertEquals("One miss", 1, g.misses());
+        assertEquals("Two hits", 2, g.hits());
+
+        assertFalse("Missing vertex", g.hasPath("a", "nowhere"));
+        assertFalse("Missing vertex is never cached", g.hasPath("a", "nowhere"));
+        assertEquals("Both were misses", 3, g.misses());
+    }
+
+    @Test
+    public void changesInvalidateOnlyWhatTheyTouch()
+    {
+        g.pathLength("a", "d");
+        g.pathLength("x", "d");
+        g.removeEdge("b", "c");
+        assertEquals("Path through the removed edge is dropped", 1, g.invalidations());
+        assertFalse("Recomputed after removal", g.hasPath("a", "d"));
+        assertEquals("Untouched path is still cached", 1, g.pathLength("x", "d"));
+
+        g.removeEdge("b", "c");
+        assertEquals("Removing a missing edge invalidates nothing", 1, g.invalidations());
+
+        g.addEdge("a", "d");
+        assertEquals("A new edge empties the caches", 1, g.pathLength("a", "d"));
+        g.addEdge("a", "d");
+        g.removeVertex("x");
+        assertEquals("Path from a removed vertex", Integer.MAX_VALUE, g.pathLength("x", "d"));
+    }
+
+    @Test
+    public void distanceMapsAnswerPathLengths()
+    {
+        Map<String, Integer> distances = g.distancesFrom("a");
+        assertEquals("Distances", Integer.valueOf(3), distances.get("d"));
+        long misses = g.misses();
+        assertEquals("From the distance map", 2, g.pathLength("a", "c"));
+        assertEquals("No new search", misses, g.misses());
+
+        g.distancesFrom("b");
+        assertEquals("Only one distance map is kept", 1, g.evictions());
+        g.removeEdge("c", "d");
+        assertEquals("Distance map through the edge is dropped",
+                     Integer.MAX_VALUE, g.pathLength("b", "d"));
+    }
+}
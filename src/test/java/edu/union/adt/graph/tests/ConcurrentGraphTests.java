@@ -0,0 +1,165 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.ConcurrentGraph;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class ConcurrentGraphTests
+{
+    private static final int THREADS = 8;
+
+    private ConcurrentGraph<Integer> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new ConcurrentGraph<Integer>(THREADS);
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void removeVertexWithSelfLoop()
+    {
+        g.addEdge(1, 1);
+        g.addEdge(1, 2);
+        g.addEdge(3, 1);
+        g.removeVertex(1);
+
+        assertEquals("All edges touching the vertex are gone", 0, g.numEdges());
+        assertFalse("Removed vertex is gone", g.contains(1));
+        assertEquals("Predecessor index is cleaned up", 0, g.inDegree(2));
+    }
+
+    @Test
+    public void concurrentIngestion() throws Exception
+    {
+        final int perThread = 5000;
+        runThreads(new Worker() {
+            public void work(int thread)
+            {
+                Random random = new Random(thread);
+                for (int i = 0; i < perThread; i++) {
+                    g.addEdge(random.nextInt(500), random.nextInt(500));
+                    g.hasEdge(random.nextInt(500), random.nextInt(500));
+                }
+            }
+        });
+
+        Set<Long> expected = new HashSet<Long>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Random random = new Random(thread);
+            for (int i = 0; i < perThread; i++) {
+                long from = random.nextInt(500);
+                long to = random.nextInt(500);
+                expected.add(from * 1000 + to);
+                random.nextInt(500);
+                random.nextInt(500);
+            }
+        }
+        assertEquals("Every distinct edge is counted once", expected.size(), g.numEdges());
+        checkConsistent();
+    }
+
+    @Test
+    public void concurrentChurn() throws Exception
+    {
+        runThreads(new Worker() {
+            public void work(int thread)
+            {
+                Random random = new Random(100 + thread);
+                for (int i = 0; i < 3000; i++) {
+                    int from = random.nextInt(200);
+                    int to = random.nextInt(200);
+                    switch (random.nextInt(10)) {
+                    case 0:
+                        g.removeVertex(from);
+                        break;
+                    case 1:
+                    case 2:
+                        g.removeEdge(from, to);
+                        break;
+                    default:
+                        g.addEdge(from, to);
+                    }
+                }
+            }
+        });
+
+        checkConsistent();
+    }
+
+    /**
+     * Checks that the edge count, adjacency sets and predecessor sets
+     * all agree.
+     */
+    private void checkConsistent()
+    {
+        int edges = 0;
+        for (Integer u : g.getVertices()) {
+            for (Integer v : g.adjacentTo(u)) {
+                edges++;
+                assertTrue("Edge target is a vertex", g.contains(v));
+                assertTrue("Edge is in the predecessor index",
+                           contains(g.adjacentFrom(v), u));
+            }
+            for (Integer p : g.adjacentFrom(u)) {
+                assertTrue("Predecessor index matches an edge", g.hasEdge(p, u));
+            }
+        }
+        assertEquals("Edge count matches the adjacency sets", edges, g.numEdges());
+    }
+
+    private boolean contains(Iterable<Integer> vertices, Integer x)
+    {
+        for (Integer v : vertices) {
+            if (v.equals(x)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private interface Worker
+    {
+        void work(int thread);
+    }
+
+    private void runThreads(final Worker worker) throws Exception
+    {
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads[t] = new Thread() {
+                public void run()
+                {
+                    try {
+                        worker.work(thread);
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue("Worker threads failed: " + failures, failures.isEmpty());
+    }
+}
@@ -0,0 +1,238 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CsrGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class CsrGraphTests
+{
+    private CsrGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new CsrGraph<String>();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void edgesSurviveCompaction()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("a", "c");
+        g.compact();
+        g.addEdge("a", "d");
+        g.addEdge("a", "b");
+
+        assertEquals("Duplicate edge across buffer and arrays is ignored",
+                     3, g.numEdges());
+        assertEquals("Degree counts compacted and buffered edges",
+                     3, g.degree("a"));
+        g.compact();
+        assertTrue("Buffered edge is kept by compaction", g.hasEdge("a", "d"));
+        assertTrue("Compacted edge is kept by compaction", g.hasEdge("a", "c"));
+    }
+
+    @Test
+    public void removeVertexRemovesIncomingEdges()
+    {
+        g.addEdge("a", "x");
+        g.addEdge("b", "x");
+        g.compact();
+        g.addEdge("c", "x");
+        g.addEdge("x", "a");
+        g.removeVertex("x");
+
+        assertFalse("Removed vertex is gone", g.contains("x"));
+        assertEquals("All edges touching the vertex are gone", 0, g.numEdges());
+        assertEquals("Other vertices remain", 3, g.numVertices());
+        assertFalse("Adjacency lists no longer mention the vertex",
+                    g.adjacentTo("a").iterator().hasNext());
+
+        g.addEdge("y", "a");
+        assertTrue("A reused id starts with no edges", g.hasEdge("y", "a"));
+        assertEquals("A reused id starts with no edges", 1, g.degree("y"));
+    }
+
+    @Test
+    public void pathsInCyclicGraph()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("b", "a");
+        g.addEdge("b", "c");
+        g.addEdge("c", "d");
+        g.addEdge("a", "d");
+
+        assertTrue("Path exists", g.hasPath("b", "d"));
+        assertFalse("Search terminates on a cycle", g.hasPath("d", "a"));
+        assertEquals("Shortest path is taken", 2, g.pathLength("b", "d"));
+        assertEquals("No path gives MAX_VALUE",
+                     Integer.MAX_VALUE, g.pathLength("d", "a"));
+        assertEquals("Path lists every vertex",
+                     Arrays.asList("b", "a", "d"), g.getPath("b", "d"));
+    }
+
+    @Test
+    public void manyEdges()
+    {
+        for (int i = 0; i < 5000; i++) {
+            g.addEdge("v" + i, "v" + (i + 1));
+        }
+        g.removeEdge("v10", "v11");
+
+        assertEquals("Edge count after growth", 4999, g.numEdges());
+        assertFalse("Removed edge breaks the chain", g.hasPath("v0", "v20"));
+        assertEquals("Chain beyond the break", 100, g.pathLength("v11", "v111"));
+    }
+
+    @Test
+    public void equalsHashGraph()
+    {
+        Graph<String> h = GraphFactory.<String>createGraph();
+        h.addEdge("a", "b");
+        h.addEdge("b", "b");
+        h.addVertex("c");
+        g.addEdge("b", "b");
+        g.addVertex("c");
+        g.addEdge("a", "b");
+
+        assertEquals("Graphs with the same edges are equal", g, h);
+    }
+
+    @Test
+    public void parallelDistancesMatchSequential()
+    {
+        Graph<Integer> h = GraphFactory.<Integer>createGraph();
+        CsrGraph<Integer> c = new CsrGraph<Integer>();
+        Random random = new Random(8);
+        int n = 20000;
+        for (int i = 0; i < 8 * n; i++) {
+            int from = random.nextInt(n);
+            int to = random.nextInt(n);
+            h.addEdge(from, to);
+            c.addEdge(from, to);
+        }
+        for (int i = 0; i < n; i += 2) {
+            h.addEdge(n + i, n + i + 1);
+            c.addEdge(n + i, n + i + 1);
+        }
+
+        assertEquals("Parallel distances match from a random vertex",
+                     h.distancesFrom(17), c.distancesFrom(17));
+        assertEquals("Parallel distances match from an isolated pair",
+                     h.distancesFrom(n), c.distancesFrom(n));
+        assertTrue("Missing vertex has no distances",
+                   c.distancesFrom(-1).isEmpty());
+    }
+
+    @Test
+    public void idsSkipTheLookup()
+    {
+        int a = g.intern("a");
+        int b = g.intern("b");
+        g.addEdgeById(a, b);
+        g.compact();
+        g.addEdgeById(b, a);
+        g.addEdgeById(a, b);
+
+        assertEquals("Ids name their vertices", "b", g.vertex(b));
+        assertEquals("idOf agrees with intern", a, g.idOf("a"));
+        assertEquals("Missing vertex has no id", -1, g.idOf("c"));
+        assertTrue("Compacted edge by id", g.hasEdgeById(a, b));
+        assertTrue("Buffered edge by id", g.hasEdge("b", "a"));
+        assertEquals("Duplicate edge by id is ignored", 2, g.numEdges());
+
+        g.removeVertex("a");
+        assertEquals("Freed id is reused", a, g.intern("c"));
+        assertFalse("Reused id has no old edges", g.hasEdgeById(b, a));
+    }
+
+    @Test
+    public void nullVertexInPathQueries()
+    {
+        g.addEdge("a", "b");
+        assertEquals("Missing null source", Integer.MAX_VALUE, g.pathLength(null, "b"));
+        g.addEdge(null, "a");
+        assertEquals("Path from null", 2, g.pathLength(null, "b"));
+        assertEquals("Null to itself", 0, g.pathLength(null, null));
+    }
+
+    @Test
+    public void freedIdIsRejected()
+    {
+        g.addEdge("a", "b");
+        int c = g.intern("c");
+        g.removeVertex("c");
+        try {
+            g.addEdgeById(g.idOf("a"), c);
+            fail("Freed id is not a vertex");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            g.hasEdgeById(c, g.idOf("a"));
+            fail("Freed id is not a vertex");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals("No edge to a non-vertex", 1, g.numEdges());
+        assertEquals("Neighbors unchanged", Arrays.asList("b"), g.adjacentTo("a"));
+    }
+
+    @Test
+    public void outOfRangeIdIsRejected()
+    {
+        int a = g.intern("a");
+        int[] bad = { -1, a + 1, Integer.MAX_VALUE };
+        for (int id : bad) {
+            try {
+                g.addEdgeById(a, id);
+                fail("Id " + id + " is out of range");
+            } catch (IllegalArgumentException expected) {
+            }
+            try {
+                g.hasEdgeById(id, a);
+                fail("Id " + id + " is out of range");
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        assertEquals("No edges added", 0, g.numEdges());
+    }
+
+    @Test
+    public void stringGraphMatchesCsrGraph()
+    {
+        Graph<String> expected = new CsrGraph<String>();
+        Graph<String> strings = GraphFactory.createStringGraph();
+        Random random = new Random(25);
+        for (int i = 0; i < 5000; i++) {
+            String from = "v" + random.nextInt(300);
+            String to = "w\u00e9" + random.nextInt(300);
+            expected.addEdge(from, to);
+            strings.addEdge(from, to);
+        }
+        for (int i = 0; i < 30; i++) {
+            expected.removeVertex("v" + i);
+            strings.removeVertex("v" + i);
+        }
+
+        assertEquals("Same graph", strings, expected);
+        assertEquals("Same snapshot", strings.snapshot(), expected.snapshot());
+    }
+}
@@ -0,0 +1,96 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.ConcurrentGraph;
+import edu.union.adt.graph.CsrGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphBuilder;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.HashGraph;
+import edu.union.adt.graph.OffHeapGraph;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class GraphBuilderTests
+{
+    @Test
+    public void picksImplementationForWorkload()
+    {
+        assertTrue("Default", GraphFactory.<String>builder().build() instanceof HashGraph);
+        assertTrue("Read-mostly", GraphFactory.<String>builder()
+                   .workload(GraphBuilder.Workload.READ_MOSTLY).build() instanceof CsrGraph);
+        assertTrue("Write-heavy", GraphFactory.<String>builder()
+                   .workload(GraphBuilder.Workload.WRITE_HEAVY).build() instanceof HashGraph);
+        assertTrue("Memory-constrained", GraphFactory.<String>builder()
+                   .workload(GraphBuilder.Workload.MEMORY_CONSTRAINED).build() instanceof OffHeapGraph);
+        assertTrue("Concurrency wins over workload", GraphFactory.<String>builder()
+                   .workload(GraphBuilder.Workload.READ_MOSTLY)
+                   .concurrencyLevel(8).build() instanceof ConcurrentGraph);
+    }
+
+    @Test
+    public void presizedGraphsGrowPastTheirSize()
+    {
+        Graph<Integer> expected = GraphFactory.createGraph();
+        for (int i = 0; i < 100; i++) {
+            expected.addEdge(i, (i + 1) % 100);
+            expected.addEdge(i, (i * 7) % 100);
+        }
+        for (GraphBuilder.Workload workload : GraphBuilder.Workload.values()) {
+            Graph<Integer> g = GraphFactory.<Integer>builder()
+                .expectedVertices(20)
+                .expectedEdges(30)
+                .workload(workload)
+                .build();
+            for (int i = 0; i < 100; i++) {
+                g.addEdge(i, (i + 1) % 100);
+                g.addEdge(i, (i * 7) % 100);
+            }
+            assertEquals("Vertices " + workload, 100, g.numVertices());
+            assertEquals("Edges " + workload, 200, g.numEdges());
+            assertEquals("Path " + workload, expected.pathLength(3, 50), g.pathLength(3, 50));
+            assertEquals("Same graph " + workload, g, expected);
+        }
+    }
+
+    @Test
+    public void readMostlyGraphBuffersExpectedEdges()
+    {
+        Graph<Integer> expected = GraphFactory.createGraph();
+        Graph<Integer> g = GraphFactory.<Integer>builder()
+            .expectedVertices(1000)
+            .expectedEdges(10000)
+            .workload(GraphBuilder.Workload.READ_MOSTLY)
+            .build();
+        for (int i = 0; i < 5000; i++) {
+            expected.addEdge(i % 1000, (i * 31) % 1000);
+            g.addEdge(i % 1000, (i * 31) % 1000);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            expected.removeEdge(i, (i * 31) % 1000);
+            g.removeEdge(i, (i * 31) % 1000);
+        }
+        assertEquals("Edges", expected.numEdges(), g.numEdges());
+        assertEquals("Degree", expected.degree(7), g.degree(7));
+        assertEquals("Path", expected.pathLength(3, 500), g.pathLength(3, 500));
+        assertEquals("Same graph", g, expected);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSizeIsRejected()
+    {
+        GraphFactory.<String>builder().expectedVertices(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void concurrencyLevelMustBePositive()
+    {
+        GraphFactory.<String>builder().concurrencyLevel(0);
+    }
+}
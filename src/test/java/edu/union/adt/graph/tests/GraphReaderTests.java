@@ -0,0 +1,100 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.BulkLoader;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class GraphReaderTests
+{
+    @Test
+    public void edgeList() throws IOException
+    {
+        Graph<String> g = GraphReader.readEdgeList(
+            channel("# a comment\r\na b\r\n\tb  c 0.5\n\n% another\nd\nc a\na b"),
+            new BulkLoader<String>()).buildImmutableGraph();
+
+        assertEquals("Vertices, including one with no edges", 4, g.numVertices());
+        assertEquals("Duplicate last line without a newline", 3, g.numEdges());
+        assertTrue("Tabs, extra spaces and weights are handled", g.hasEdge("b", "c"));
+        assertTrue("Carriage returns are not part of names", g.hasEdge("a", "b"));
+        assertEquals("Lone vertex", 0, g.degree("d"));
+    }
+
+    @Test
+    public void adjacencyListReadsToStringOutput() throws IOException
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "A");
+        g.addEdge("A", "B");
+        g.addEdge("C", "A");
+        g.addEdge("C", "B");
+        g.addEdge("caf\u00e9 au lait", "C");
+
+        Graph<String> read = GraphReader.readAdjacencyList(channel(g.toString()),
+                                                           new BulkLoader<String>())
+            .buildImmutableGraph();
+        assertEquals("Reading toString output gives the same graph", read, g);
+    }
+
+    @Test
+    public void largeInputCrossesBufferBoundaries() throws IOException
+    {
+        Graph<String> expected = GraphFactory.<String>createGraph();
+        StringBuilder text = new StringBuilder();
+        StringBuilder longLine = new StringBuilder("hub:");
+        Random random = new Random(14);
+        for (int i = 0; i < 30000; i++) {
+            String from = "v" + random.nextInt(5000);
+            String to = "v" + random.nextInt(5000);
+            expected.addEdge(from, to);
+            text.append(from).append(": ").append(to).append('\n');
+            expected.addEdge("hub", "w" + i);
+            longLine.append(i == 0 ? " " : ", ").append("w").append(i);
+        }
+        text.append(longLine);
+
+        Graph<String> read = GraphReader.readAdjacencyList(channel(text.toString()),
+                                                           new BulkLoader<String>())
+            .buildImmutableGraph();
+        assertEquals("Every edge is read", read, expected);
+    }
+
+    @Test(expected = IOException.class)
+    public void adjacencyLineWithoutColon() throws IOException
+    {
+        GraphReader.readAdjacencyList(channel("A: B\nB C\n"), new BulkLoader<String>());
+    }
+
+    @Test
+    public void errorNamesTheLine() throws IOException
+    {
+        try {
+            GraphReader.readAdjacencyList(channel("A: B\n\n  \nC: A\nB C"),
+                                          new BulkLoader<String>());
+            fail("Line without ':' is rejected");
+        } catch (IOException e) {
+            assertTrue("Blank lines are counted: " + e.getMessage(),
+                       e.getMessage().startsWith("Line 5:"));
+        }
+    }
+
+    private static ReadableByteChannel channel(String text) throws IOException
+    {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes("UTF-8")));
+    }
+}
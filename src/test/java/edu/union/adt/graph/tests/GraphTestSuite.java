@@ -10,7 +10,27 @@ import edu.union.adt.graph.tests.goodricn.GoodrichGraphTests;
 ({
     SimpleGraphTests.class,
     GraphTestsUsingEquals.class,
-    GoodrichGraphTests.class
+    GoodrichGraphTests.class,
+    CsrGraphTests.class,
+    HashGraphTests.class,
+    ConcurrentGraphTests.class,
+    SnapshotTests.class,
+    BulkLoaderTests.class,
+    GraphWriterTests.class,
+    MappedGraphTests.class,
+    GraphReaderTests.class,
+    OffHeapGraphTests.class,
+    CachingGraphTests.class,
+    ReachabilityIndexTests.class,
+    WeightedGraphTests.class,
+    BatchDistancesTests.class,
+    NeighborVisitorTests.class,
+    StronglyConnectedComponentsTests.class,
+    TopologicalSortTests.class,
+    InstrumentedGraphTests.class,
+    GraphBuilderTests.class,
+    UndirectedGraphTests.class,
+    VertexDictionaryTests.class
 
 })
 public class GraphTestSuite
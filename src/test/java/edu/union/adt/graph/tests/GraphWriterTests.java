@@ -0,0 +1,59 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class GraphWriterTests
+{
+    @Test
+    public void hashGraphListsItsOwnNeighbors() throws IOException
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "A");
+        g.addEdge("A", "B");
+        g.addVertex("B");
+        g.addEdge("C", "D");
+        g.addEdge("D", "B");
+
+        Set<String> lines = new HashSet<String>(Arrays.asList(g.toString().split("\n")));
+        Set<String> orderedA = new HashSet<String>(Arrays.asList(
+            "A: A, B", "B:", "C: D", "D: B"));
+        Set<String> reversedA = new HashSet<String>(Arrays.asList(
+            "A: B, A", "B:", "C: D", "D: B"));
+        assertTrue("One line per vertex listing its own neighbors",
+                   lines.equals(orderedA) || lines.equals(reversedA));
+
+        StringWriter out = new StringWriter();
+        GraphWriter.write(g, out);
+        assertEquals("Writer output matches toString", g.toString(), out.toString());
+    }
+
+    @Test
+    public void everyImplementationWritesTheSameLines()
+    {
+        Graph<Integer> hash = GraphFactory.<Integer>createGraph();
+        Graph<Integer> csr = GraphFactory.<Integer>createCsrGraph();
+        for (int i = 0; i < 100; i++) {
+            hash.addEdge(i, (i * 7) % 100);
+            csr.addEdge(i, (i * 7) % 100);
+        }
+
+        assertEquals("Same lines whatever the implementation",
+                     new HashSet<String>(Arrays.asList(hash.toString().split("\n"))),
+                     new HashSet<String>(Arrays.asList(csr.toString().split("\n"))));
+        assertEquals("Empty graph writes nothing", "",
+                     GraphFactory.<Integer>createGraph().toString());
+    }
+}
@@ -0,0 +1,275 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.HashGraph;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class HashGraphTests
+{
+    private HashGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new HashGraph<String>();
+        g.setConsistencyChecking(true);
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void edgeCountTracksAddEdge()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("a", "b");
+        g.addEdge("b", "b");
+        g.addVertex("c");
+
+        assertEquals("Duplicate edges are not counted", 2, g.numEdges());
+    }
+
+    @Test
+    public void edgeCountTracksRemoveEdge()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("a", "c");
+        g.removeEdge("a", "b");
+        g.removeEdge("a", "b");
+        g.removeEdge("x", "y");
+
+        assertEquals("Only edges actually removed are uncounted", 1, g.numEdges());
+    }
+
+    @Test
+    public void removeEdgeLeavesReverseEdge()
+    {
+        HashGraph<String> indexed = new HashGraph<String>(true);
+        indexed.setConsistencyChecking(true);
+        g.addEdge("a", "b");
+        g.addEdge("b", "a");
+        indexed.addEdge("a", "b");
+        indexed.addEdge("b", "a");
+        g.removeEdge("a", "b");
+        indexed.removeEdge("a", "b");
+
+        assertTrue("Reverse edge stays", g.hasEdge("b", "a"));
+        assertEquals("One edge left", 1, g.numEdges());
+        assertTrue("Reverse edge stays when indexed", indexed.hasEdge("b", "a"));
+        assertEquals("Index keeps the reverse edge", 1, indexed.inDegree("a"));
+        assertEquals("Index drops the removed edge", 0, indexed.inDegree("b"));
+    }
+
+    @Test
+    public void equalsIsSymmetricAcrossImplementations()
+    {
+        Graph<String> csr = GraphFactory.createCsrGraph();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        csr.addEdge("a", "b");
+        csr.addEdge("b", "c");
+
+        assertTrue("HashGraph equals CsrGraph", g.equals(csr));
+        assertTrue("CsrGraph equals HashGraph", csr.equals(g));
+        assertEquals("Same hash", csr.hashCode(), g.hashCode());
+        assertFalse("Not equal to a non-graph", g.equals("a: b"));
+        csr.addEdge("c", "a");
+        assertFalse("Extra edge", g.equals(csr));
+        assertFalse("Extra edge the other way", csr.equals(g));
+    }
+
+    @Test
+    public void edgeCountTracksRemoveVertex()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("b", "a");
+        g.addEdge("b", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "b");
+        g.addEdge("c", "a");
+        g.removeVertex("b");
+
+        assertEquals("Inbound, outbound and self edges are uncounted",
+                     1, g.numEdges());
+        g.removeVertex("b");
+        assertEquals("Removing a missing vertex changes nothing",
+                     1, g.numEdges());
+    }
+
+    @Test
+    public void indexedRemoveVertex()
+    {
+        HashGraph<String> indexed = new HashGraph<String>(true);
+        indexed.setConsistencyChecking(true);
+        indexed.addEdge("a", "b");
+        indexed.addEdge("b", "a");
+        indexed.addEdge("b", "b");
+        indexed.addEdge("b", "c");
+        indexed.addEdge("c", "b");
+        indexed.addEdge("c", "a");
+        indexed.removeVertex("b");
+
+        assertEquals("Inbound, outbound and self edges are removed",
+                     1, indexed.numEdges());
+        assertFalse("Inbound edge is gone from its source",
+                    indexed.hasEdge("a", "b"));
+        assertEquals("Index no longer lists the removed vertex",
+                     1, indexed.inDegree("a"));
+    }
+
+    @Test
+    public void inDegreeWithAndWithoutIndex()
+    {
+        HashGraph<String> indexed = new HashGraph<String>(true);
+        String[][] edges = { {"a", "c"}, {"b", "c"}, {"c", "c"}, {"c", "a"} };
+        for (String[] e : edges) {
+            g.addEdge(e[0], e[1]);
+            indexed.addEdge(e[0], e[1]);
+        }
+        g.removeEdge("b", "c");
+        indexed.removeEdge("b", "c");
+
+        assertEquals("In-degree counts sources", 2, g.inDegree("c"));
+        assertEquals("Indexed in-degree agrees", 2, indexed.inDegree("c"));
+        assertEquals("adjacentFrom lists sources",
+                     sorted(g.adjacentFrom("c")), sorted(indexed.adjacentFrom("c")));
+        assertTrue("Missing vertex has no sources",
+                   !indexed.adjacentFrom("zzz").iterator().hasNext());
+    }
+
+    private List<String> sorted(Iterable<String> vertices)
+    {
+        List<String> list = new ArrayList<String>();
+        for (String v : vertices) {
+            list.add(v);
+        }
+        Collections.sort(list);
+        return list;
+    }
+
+    @Test
+    public void hubVertex()
+    {
+        for (int i = 0; i < 1000; i++) {
+            g.addEdge("hub", "v" + i);
+            g.addEdge("hub", "v" + i);
+        }
+        g.addEdge("hub", null);
+
+        assertEquals("Duplicates are ignored at high degree", 1001, g.degree("hub"));
+        assertTrue("High-degree edge is found", g.hasEdge("hub", "v500"));
+        assertTrue("Null neighbor is found", g.hasEdge("hub", null));
+
+        for (int i = 0; i < 998; i++) {
+            g.removeEdge("hub", "v" + i);
+        }
+        g.removeEdge("hub", null);
+
+        assertEquals("Edges are removed at high degree", 2, g.degree("hub"));
+        assertFalse("Removed edge is gone", g.hasEdge("hub", "v500"));
+        assertTrue("Remaining edge survives shrinking", g.hasEdge("hub", "v999"));
+        assertEquals("Edge count follows", 2, g.numEdges());
+    }
+
+    @Test
+    public void adjacentToIsReadOnly()
+    {
+        g.addEdge("a", "b");
+        Collection<String> adjacent = (Collection<String>) g.adjacentTo("a");
+        try {
+            adjacent.add("c");
+            fail("adjacentTo cannot be used to add edges");
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            adjacent.clear();
+            fail("adjacentTo cannot be used to remove edges");
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals("Edge count unchanged", 1, g.numEdges());
+
+        g.addEdge("a", "c");
+        assertEquals("The view is live", 2, adjacent.size());
+        assertFalse("Missing vertex has no neighbors",
+                    g.adjacentTo("x").iterator().hasNext());
+    }
+
+    @Test
+    public void searchTerminatesOnCycles()
+    {
+        HashGraph<Object> cyclic = new HashGraph<Object>();
+        Object a = new Object();
+        Object b = new Object();
+        Object c = new Object();
+        Object d = new Object();
+        cyclic.addEdge(a, b);
+        cyclic.addEdge(b, c);
+        cyclic.addEdge(c, a);
+        cyclic.addEdge(c, c);
+        cyclic.addVertex(d);
+
+        assertTrue("Path around a cycle is found", cyclic.hasPath(b, a));
+        assertFalse("Unreachable vertex is not found", cyclic.hasPath(a, d));
+        assertEquals("Length around a cycle", 2, cyclic.pathLength(b, a));
+        assertEquals("No path gives MAX_VALUE",
+                     Integer.MAX_VALUE, cyclic.pathLength(a, d));
+        assertEquals("Path around a cycle",
+                     Arrays.asList(b, c, a), cyclic.getPath(b, a));
+        assertFalse("No path gives an empty path",
+                    cyclic.getPath(a, d).iterator().hasNext());
+    }
+
+    @Test
+    public void bidirectionalMatchesBreadthFirst()
+    {
+        HashGraph<Integer> plain = new HashGraph<Integer>();
+        HashGraph<Integer> indexed = new HashGraph<Integer>(true);
+        Random random = new Random(7);
+        for (int i = 0; i < 400; i++) {
+            int from = random.nextInt(100);
+            int to = random.nextInt(100);
+            plain.addEdge(from, to);
+            indexed.addEdge(from, to);
+        }
+
+        for (int from = 0; from < 100; from += 3) {
+            for (int to = 0; to < 100; to += 7) {
+                int length = plain.pathLength(from, to);
+                assertEquals("Both searches find the same length",
+                             length, indexed.pathLength(from, to));
+                if (length == Integer.MAX_VALUE) {
+                    assertFalse("No path", indexed.hasPath(from, to));
+                    continue;
+                }
+                List<Integer> path = new ArrayList<Integer>();
+                for (Integer v : indexed.getPath(from, to)) {
+                    path.add(v);
+                }
+                assertEquals("Path has the shortest length", length + 1, path.size());
+                assertEquals("Path starts at the source", (Integer) from, path.get(0));
+                assertEquals("Path ends at the destination", (Integer) to,
+                             path.get(path.size() - 1));
+                for (int i = 0; i + 1 < path.size(); i++) {
+                    assertTrue("Path follows edges",
+                               indexed.hasEdge(path.get(i), path.get(i + 1)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphStats;
+import edu.union.adt.graph.InstrumentedGraph;
+import edu.union.adt.graph.InstrumentedGraph.Operation;
+import edu.union.adt.graph.LatencyHistogram;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+@RunWith(JUnit4.class)
+public class InstrumentedGraphTests
+{
+    private InstrumentedGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.createInstrumentedGraph(GraphFactory.<String>createGraph());
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "d");
+        g.addEdge("x", "d");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void countsAndTimesEachOperation()
+    {
+        assertTrue("Edge passes through", g.hasEdge("a", "b"));
+        assertFalse("Edge passes through", g.hasEdge("b", "a"));
+        assertEquals("Degree passes through", 1, g.degree("a"));
+        g.removeVertex("x");
+        g.numEdges();
+
+        GraphStats stats = g.stats();
+        assertEquals("Four edges added", 4, stats.count(Operation.ADD_EDGE));
+        assertEquals("Two edge lookups", 2, stats.count(Operation.HAS_EDGE));
+        assertEquals("One degree", 1, stats.count(Operation.DEGREE));
+        assertEquals("One removal", 1, stats.count(Operation.REMOVE_VERTEX));
+        assertEquals("numEdges is not counted", 8, stats.totalCount());
+        LatencyHistogram latency = stats.latency(Operation.ADD_EDGE);
+        assertTrue("Percentiles are ordered",
+                   latency.percentile(50) <= latency.percentile(99)
+                   && latency.percentile(99) <= latency.max());
+
+        g.hasEdge("a", "b");
+        assertEquals("Snapshot does not change", 2, stats.count(Operation.HAS_EDGE));
+        g.reset();
+        assertEquals("Reset forgets", 0, g.stats().totalCount());
+    }
+
+    @Test
+    public void countsSearchWork()
+    {
+        List<Graph<String>> graphs = new ArrayList<Graph<String>>();
+        graphs.add(GraphFactory.<String>createGraph());
+        graphs.add(GraphFactory.<String>createIndexedGraph());
+        graphs.add(GraphFactory.<String>createCsrGraph());
+        graphs.add(GraphFactory.<String>createOffHeapGraph());
+        for (Graph<String> graph : graphs) {
+            InstrumentedGraph<String> h = GraphFactory.createInstrumentedGraph(graph);
+            h.addEdge("a", "b");
+            h.addEdge("b", "c");
+            h.addEdge("c", "d");
+            h.addEdge("x", "d");
+
+            assertEquals("Path found", 3, h.pathLength("a", "d"));
+            GraphStats stats = h.stats();
+            assertEquals("One search " + graph.getClass(), 1, stats.traversals());
+            assertTrue("Searched " + graph.getClass(), stats.visitedVertices() > 0);
+            assertTrue("No more edges than the graph has " + graph.getClass(),
+                       stats.visitedEdges() <= 4);
+
+            h.reset();
+            assertFalse("No path", h.hasPath("a", "x"));
+            assertEquals("Every vertex reachable from a " + graph.getClass(),
+                         4, h.stats().visitedVertices());
+            assertEquals("Every edge reachable from a " + graph.getClass(),
+                         3, h.stats().visitedEdges());
+        }
+    }
+
+    @Test
+    public void searchesFromOneSideCountExactly()
+    {
+        g.getPath("a", "d");
+        GraphStats stats = g.stats();
+        assertEquals("Expanded a, b and c", 3, stats.visitedVertices());
+        assertEquals("Followed three edges", 3, stats.visitedEdges());
+
+        assertEquals("Distances", 4, g.distancesFrom("a").size());
+        assertEquals("Two searches", 2, g.stats().traversals());
+        assertEquals("Then every vertex from a", 7, g.stats().visitedVertices());
+
+        g.pathLength("a", "a");
+        assertEquals("Same vertex needs no search", 7, g.stats().visitedVertices());
+    }
+
+    @Test
+    public void nestedGraphsBothCount()
+    {
+        InstrumentedGraph<String> outer = GraphFactory.createInstrumentedGraph((Graph<String>) g);
+        g.reset();
+        outer.pathLength("a", "d");
+        assertEquals("Inner counts", 3, g.stats().visitedVertices());
+        assertEquals("Outer counts", 3, outer.stats().visitedVertices());
+    }
+
+    @Test
+    public void tracksMaxDegree()
+    {
+        assertEquals("Found when wrapped", 1, g.stats().maxDegree());
+        g.addEdge("a", "c");
+        g.addEdge("a", "d");
+        assertEquals("Raised by addEdge", 3, g.stats().maxDegree());
+        g.removeEdge("a", "d");
+        assertEquals("A high-water mark", 3, g.stats().maxDegree());
+        g.reset();
+        assertEquals("Found again on reset", 2, g.stats().maxDegree());
+    }
+
+    @Test
+    public void histogramPercentiles()
+    {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals("Empty", 0, h.percentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            h.record(i);
+        }
+        assertEquals("Count", 1000, h.count());
+        assertEquals("Mean", 500.5, h.mean(), 1e-9);
+        assertEquals("Max", 1000, h.max());
+        assertEquals("Top percentile is the max", 1000, h.percentile(100));
+        assertEquals("Small values are exact", 10, h.percentile(1));
+        long median = h.percentile(50);
+        assertTrue("Median within 1/16: " + median, median >= 500 && median <= 500 + 500 / 16);
+
+        h.record(Long.MAX_VALUE);
+        assertEquals("Largest value", Long.MAX_VALUE, h.percentile(100));
+        h.reset();
+        assertEquals("Reset", 0, h.count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentileOutOfRange()
+    {
+        new LatencyHistogram().percentile(101);
+    }
+
+    @Test
+    public void registersWithJmx() throws Exception
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = g.register("tests");
+        try {
+            g.pathLength("a", "d");
+            assertEquals("Max degree", 1, server.getAttribute(name, "MaxDegree"));
+            assertEquals("Traversals", 1L, server.getAttribute(name, "Traversals"));
+            assertEquals("Vertices", 5, server.getAttribute(name, "NumVertices"));
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals("Reset over JMX", 0, g.stats().totalCount());
+        } finally {
+            g.unregister();
+        }
+        assertFalse("Unregistered", server.isRegistered(name));
+    }
+}
@@ -0,0 +1,103 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphFile;
+import edu.union.adt.graph.IntegerCodec;
+import edu.union.adt.graph.MappedGraph;
+import edu.union.adt.graph.StringCodec;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class MappedGraphTests
+{
+    private File file;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        file = File.createTempFile("graph", ".bin");
+    }
+
+    @After
+    public void tearDown()
+    {
+        file.delete();
+    }
+
+    @Test
+    public void roundTripsStrings() throws IOException
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+        g.addEdge("c", "c");
+        g.addEdge("\u00e9t\u00e9", "a");
+        g.addVertex("lonely");
+
+        GraphFile.write(g, file, new StringCodec());
+        MappedGraph<String> m = GraphFile.open(file, new StringCodec());
+
+        assertEquals("Same vertices and edges", m, g);
+        assertEquals("Vertex counts match", 5, m.numVertices());
+        assertTrue("Non-ASCII names survive", m.hasEdge("\u00e9t\u00e9", "a"));
+        assertFalse("Missing vertex", m.contains("d"));
+        assertEquals("Degree of an isolated vertex", 0, m.degree("lonely"));
+        assertEquals("In-degree", 2, m.inDegree("a"));
+        assertEquals("Shortest path", Arrays.asList("b", "c", "a"), m.getPath("b", "a"));
+        assertEquals("No path", Integer.MAX_VALUE, m.pathLength("lonely", "a"));
+        assertEquals("Distances", g.distancesFrom("a"), m.distancesFrom("a"));
+    }
+
+    @Test
+    public void largeGraphMatches() throws IOException
+    {
+        Graph<Integer> g = GraphFactory.<Integer>createCsrGraph();
+        Random random = new Random(13);
+        for (int i = 0; i < 50000; i++) {
+            g.addEdge(random.nextInt(10000), random.nextInt(10000));
+        }
+
+        GraphFile.write(g, file, new IntegerCodec());
+        MappedGraph<Integer> m = GraphFile.open(file, new IntegerCodec());
+
+        assertEquals("Same vertices and edges", m, g);
+        for (int i = 0; i < 100; i++) {
+            int from = random.nextInt(10000);
+            int to = random.nextInt(10000);
+            assertEquals("Path lengths match", g.pathLength(from, to), m.pathLength(from, to));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotBeChanged() throws IOException
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("a", "b");
+        GraphFile.write(g, file, new StringCodec());
+        GraphFile.open(file, new StringCodec()).addEdge("b", "a");
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException
+    {
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("A: B, C\nB:\nC:\n".getBytes("UTF-8"));
+        out.close();
+        GraphFile.open(file, new StringCodec());
+    }
+}
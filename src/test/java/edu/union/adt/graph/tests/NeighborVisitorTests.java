@@ -0,0 +1,110 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.NeighborVisitor;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class NeighborVisitorTests
+{
+    private static List<Graph<String>> graphs()
+    {
+        List<Graph<String>> graphs = new ArrayList<Graph<String>>();
+        graphs.add(GraphFactory.<String>createGraph());
+        graphs.add(GraphFactory.<String>createIndexedGraph());
+        graphs.add(GraphFactory.<String>createCsrGraph());
+        graphs.add(GraphFactory.<String>createConcurrentGraph());
+        graphs.add(GraphFactory.<String>createOffHeapGraph());
+        graphs.add(GraphFactory.<String>createWeightedGraph());
+        graphs.add(GraphFactory.createCachingGraph(GraphFactory.<String>createGraph()));
+        return graphs;
+    }
+
+    @Test
+    public void visitsWhatAdjacentToLists()
+    {
+        for (Graph<String> g : graphs()) {
+            for (int i = 0; i < 20; i++) {
+                g.addEdge("hub", "v" + i);
+            }
+            g.removeEdge("hub", "v7");
+            g.addEdge("v1", "hub");
+            checkVisits(g);
+            checkVisits(g.snapshot());
+        }
+    }
+
+    @Test
+    public void stopsWhenAsked()
+    {
+        for (Graph<String> g : graphs()) {
+            g.addEdge("a", "b");
+            g.addEdge("a", "c");
+            g.addEdge("a", "d");
+            final List<String> seen = new ArrayList<String>();
+            boolean finished = g.forEachNeighbor("a", new NeighborVisitor<String>() {
+                public boolean visit(String neighbor)
+                {
+                    seen.add(neighbor);
+                    return seen.size() < 2;
+                }
+            });
+
+            assertFalse(name(g) + ": reports stopping early", finished);
+            assertEquals(name(g) + ": no visits after stopping", 2, seen.size());
+        }
+    }
+
+    @Test
+    public void missingVertexHasNoNeighbors()
+    {
+        for (Graph<String> g : graphs()) {
+            g.addEdge("a", "b");
+            boolean finished = g.forEachNeighbor("x", new NeighborVisitor<String>() {
+                public boolean visit(String neighbor)
+                {
+                    throw new AssertionError("Visited " + neighbor);
+                }
+            });
+
+            assertTrue(name(g) + ": nothing to stop", finished);
+            assertFalse(name(g) + ": adjacentTo is empty too",
+                        g.adjacentTo("x").iterator().hasNext());
+        }
+    }
+
+    private static void checkVisits(Graph<String> g)
+    {
+        for (String v : g.getVertices()) {
+            final List<String> seen = new ArrayList<String>();
+            boolean finished = g.forEachNeighbor(v, new NeighborVisitor<String>() {
+                public boolean visit(String neighbor)
+                {
+                    seen.add(neighbor);
+                    return true;
+                }
+            });
+            List<String> expected = new ArrayList<String>();
+            for (String w : g.adjacentTo(v)) {
+                expected.add(w);
+            }
+
+            assertTrue(name(g) + ": visited every neighbor", finished);
+            assertEquals(name(g) + ": neighbors of " + v, expected, seen);
+        }
+    }
+
+    private static String name(Graph<String> g)
+    {
+        return g.getClass().getSimpleName();
+    }
+}
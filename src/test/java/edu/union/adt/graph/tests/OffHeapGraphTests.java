@@ -0,0 +1,138 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.OffHeapGraph;
+import edu.union.adt.graph.VertexDictionary;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class OffHeapGraphTests
+{
+    private OffHeapGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        // Small slabs, so that tests cross slab boundaries.
+        g = new OffHeapGraph<String>(64);
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void rowsGrowPastASlab()
+    {
+        for (int i = 0; i < 200; i++) {
+            g.addEdge("hub", "v" + i);
+            g.addEdge("v" + i, "hub");
+        }
+        g.addEdge("hub", "v7");
+
+        assertEquals("A row larger than a slab keeps every edge", 200, g.degree("hub"));
+        assertEquals("Edge count", 400, g.numEdges());
+        assertTrue("Last edge of a big row", g.hasEdge("hub", "v199"));
+        assertEquals("Paths through the hub", 2, g.pathLength("v3", "v150"));
+    }
+
+    @Test
+    public void removalsFreeAndReuseRows()
+    {
+        g.addEdge("a", "a");
+        g.addEdge("a", "b");
+        g.addEdge("b", "a");
+        g.addEdge("c", "a");
+        g.removeVertex("a");
+
+        assertEquals("Every edge touching the vertex is gone", 0, g.numEdges());
+        assertFalse("Vertex is gone", g.contains("a"));
+
+        g.addEdge("d", "b");
+        g.addEdge("d", "c");
+        g.removeEdge("d", "b");
+        g.removeEdge("d", "x");
+        assertEquals("A reused id starts with no edges", 1, g.degree("d"));
+        assertEquals("Remaining edge", Arrays.asList("c"), g.adjacentTo("d"));
+    }
+
+    @Test
+    public void matchesCsrGraph()
+    {
+        Graph<String> expected = GraphFactory.<String>createCsrGraph();
+        Random random = new Random(15);
+        for (int i = 0; i < 20000; i++) {
+            String from = "v" + random.nextInt(500);
+            String to = "v" + random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                expected.removeEdge(from, to);
+                g.removeEdge(from, to);
+            } else {
+                expected.addEdge(from, to);
+                g.addEdge(from, to);
+            }
+        }
+        for (int i = 0; i < 20; i++) {
+            expected.removeVertex("v" + i);
+            g.removeVertex("v" + i);
+        }
+
+        assertEquals("Same graph after random changes", g, expected);
+        assertEquals("Same path", expected.pathLength("v100", "v200"),
+                     g.pathLength("v100", "v200"));
+        assertEquals("Same distances", expected.distancesFrom("v300"), g.distancesFrom("v300"));
+    }
+
+    @Test
+    public void idsSkipTheLookup()
+    {
+        OffHeapGraph<String> strings =
+            new OffHeapGraph<String>(64, VertexDictionary.forStrings());
+        int a = strings.intern("a");
+        int b = strings.intern("b");
+        strings.addEdgeById(a, b);
+        strings.addEdgeById(a, b);
+
+        assertTrue("Edge by id", strings.hasEdgeById(a, b));
+        assertFalse("No reverse edge", strings.hasEdgeById(b, a));
+        assertTrue("Edge by vertex", strings.hasEdge("a", "b"));
+        assertEquals("Duplicate edge by id is ignored", 1, strings.numEdges());
+        assertEquals("Ids name their vertices", "a", strings.vertex(a));
+
+        strings.removeVertex("b");
+        assertEquals("Incoming edge goes with the vertex", 0, strings.numEdges());
+        assertEquals("Freed id is reused", b, strings.intern("c"));
+        List<String> vertices = new ArrayList<String>();
+        for (String v : strings.getVertices()) {
+            vertices.add(v);
+        }
+        assertEquals("Vertices in id order", Arrays.asList("a", "c"), vertices);
+
+        strings.removeVertex("c");
+        try {
+            strings.addEdgeById(a, b);
+            fail("Freed id is not a vertex");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            strings.hasEdgeById(a, -1);
+            fail("Negative id is not a vertex");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals("No edge to a non-vertex", 0, strings.degree("a"));
+    }
+}
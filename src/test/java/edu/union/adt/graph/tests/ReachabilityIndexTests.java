@@ -0,0 +1,87 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.ReachabilityIndex;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class ReachabilityIndexTests
+{
+    @Test
+    public void cyclesAreCondensed()
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+        g.addEdge("c", "d");
+        g.addVertex("e");
+        ReachabilityIndex<String> index = new ReachabilityIndex<String>(g);
+
+        assertEquals("One component for the cycle", 3, index.numComponents());
+        assertTrue("Around the cycle", index.hasPath("c", "b"));
+        assertTrue("Out of the cycle", index.hasPath("b", "d"));
+        assertFalse("Not back into it", index.hasPath("d", "a"));
+        assertFalse("Isolated vertex", index.hasPath("a", "e"));
+        assertFalse("Missing vertex", index.hasPath("a", "z"));
+        assertTrue("A vertex reaches itself", index.hasPath("z", "z"));
+    }
+
+    @Test
+    public void matchesSearchOnRandomGraphs()
+    {
+        Random random = new Random(17);
+        for (int trial = 0; trial < 5; trial++) {
+            Graph<Integer> g = GraphFactory.<Integer>createCsrGraph();
+            int n = 300;
+            for (int i = 0; i < 600; i++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                // Mostly acyclic, with a few back edges to make cycles.
+                if (from > to || random.nextInt(20) == 0) {
+                    g.addEdge(from, to);
+                }
+            }
+            ReachabilityIndex<Integer> index = new ReachabilityIndex<Integer>(g);
+            checkAgainstSearch(g, index, random);
+
+            for (int i = 0; i < 100; i++) {
+                int from = random.nextInt(n + 10);
+                int to = random.nextInt(n + 10);
+                g.addEdge(from, to);
+                index.edgeAdded(from, to);
+            }
+            checkAgainstSearch(g, index, random);
+
+            for (int i = 0; i < 50; i++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                g.removeEdge(from, to);
+                index.edgeRemoved(from, to);
+            }
+            g.removeVertex(7);
+            index.vertexRemoved(7);
+            checkAgainstSearch(g, index, random);
+        }
+    }
+
+    private void checkAgainstSearch(Graph<Integer> g, ReachabilityIndex<Integer> index,
+                                    Random random)
+    {
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(320);
+            int to = random.nextInt(320);
+            assertEquals("Index agrees with search from " + from + " to " + to,
+                         g.hasPath(from, to), index.hasPath(from, to));
+        }
+    }
+}
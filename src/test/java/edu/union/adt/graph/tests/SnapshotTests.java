@@ -0,0 +1,151 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.ConcurrentGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class SnapshotTests
+{
+    @Test
+    public void snapshotsOfEveryImplementation()
+    {
+        List<Graph<String>> graphs = new ArrayList<Graph<String>>();
+        graphs.add(GraphFactory.<String>createGraph());
+        graphs.add(GraphFactory.<String>createIndexedGraph());
+        graphs.add(GraphFactory.<String>createCsrGraph());
+        graphs.add(GraphFactory.<String>createConcurrentGraph());
+
+        for (Graph<String> g : graphs) {
+            g.addEdge("a", "b");
+            g.addEdge("b", "c");
+            g.addEdge("c", "a");
+            g.addEdge("a", "d");
+            g.addVertex("gone");
+            g.removeVertex("gone");
+            g.addVertex("e");
+            Graph<String> snapshot = g.snapshot();
+
+            assertEquals("Snapshot equals the graph it was taken from", snapshot, g);
+            assertEquals("Snapshot has the same paths", 2, snapshot.pathLength("b", "a"));
+            assertEquals("Snapshot has predecessors", 1, snapshot.inDegree("a"));
+            assertEquals("Snapshot lists paths",
+                         Arrays.asList("b", "c", "a", "d"), snapshot.getPath("b", "d"));
+
+            g.addEdge("e", "a");
+            g.removeEdge("a", "b");
+            assertFalse("Later additions do not show in the snapshot",
+                        snapshot.hasEdge("e", "a"));
+            assertTrue("Later removals do not show in the snapshot",
+                       snapshot.hasEdge("a", "b"));
+            assertEquals("Snapshot edge count is unchanged", 4, snapshot.numEdges());
+        }
+    }
+
+    @Test
+    public void snapshotCannotChange()
+    {
+        Graph<String> snapshot = GraphFactory.<String>createGraph().snapshot();
+        try {
+            snapshot.addEdge("a", "b");
+            fail("Snapshot accepted a new edge");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        assertTrue("Snapshot of an empty graph is empty", snapshot.isEmpty());
+    }
+
+    @Test
+    public void snapshotWhileWriting() throws Exception
+    {
+        final ConcurrentGraph<Integer> g = new ConcurrentGraph<Integer>();
+        Thread writer = new Thread() {
+            public void run()
+            {
+                Random random = new Random(3);
+                for (int i = 0; i < 20000; i++) {
+                    g.addEdge(random.nextInt(300), random.nextInt(300));
+                    if (i % 10 == 0) {
+                        g.removeVertex(random.nextInt(300));
+                    }
+                }
+            }
+        };
+        writer.start();
+        while (writer.isAlive()) {
+            Graph<Integer> snapshot = g.snapshot();
+            int edges = 0;
+            for (Integer v : snapshot.getVertices()) {
+                edges += snapshot.degree(v);
+                for (Integer w : snapshot.adjacentTo(v)) {
+                    assertTrue("Every edge target is in the snapshot",
+                               snapshot.contains(w));
+                }
+            }
+            assertEquals("Snapshot edge count matches its edges",
+                         edges, snapshot.numEdges());
+        }
+        writer.join();
+    }
+
+    @Test
+    public void readersShareASnapshot() throws Exception
+    {
+        Graph<Integer> g = GraphFactory.<Integer>createGraph();
+        Random random = new Random(10);
+        for (int i = 0; i < 500; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            g.addEdge(random.nextInt(500), random.nextInt(500));
+        }
+        final Graph<Integer> snapshot = g.snapshot();
+        // HashGraph is not safe to query from many threads, so the
+        // answers are worked out first.
+        final int[] inDegrees = new int[500];
+        final int[][] lengths = new int[500][];
+        for (int v = 0; v < 500; v++) {
+            inDegrees[v] = g.inDegree(v);
+            lengths[v] = new int[] { g.pathLength(v, (v * 7) % 500),
+                                     g.pathLength(v, (v * 13) % 500) };
+        }
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+        Thread[] readers = new Thread[8];
+        for (int t = 0; t < readers.length; t++) {
+            final int seed = t;
+            readers[t] = new Thread() {
+                public void run()
+                {
+                    try {
+                        Random random = new Random(seed);
+                        for (int i = 0; i < 2000; i++) {
+                            int v = random.nextInt(500);
+                            assertEquals("In-degree", inDegrees[v], snapshot.inDegree(v));
+                            assertEquals("Path length", lengths[v][0],
+                                         snapshot.pathLength(v, (v * 7) % 500));
+                            assertEquals("Path length", lengths[v][1],
+                                         snapshot.pathLength(v, (v * 13) % 500));
+                        }
+                    } catch (Throwable failure) {
+                        failures.add(failure);
+                    }
+                }
+            };
+            readers[t].start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertTrue("Readers agree with the graph: " + failures, failures.isEmpty());
+    }
+}
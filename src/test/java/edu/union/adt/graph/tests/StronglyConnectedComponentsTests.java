@@ -0,0 +1,174 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.StronglyConnectedComponents;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class StronglyConnectedComponentsTests
+{
+    @Test
+    public void findsComponents()
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+        g.addEdge("c", "d");
+        g.addEdge("d", "e");
+        g.addEdge("e", "d");
+        g.addVertex("f");
+
+        for (StronglyConnectedComponents<String> scc : both(g)) {
+            assertEquals("Component count", 3, scc.count());
+            assertEquals("a and c together", scc.component("a"), scc.component("c"));
+            assertEquals("d and e together", scc.component("d"), scc.component("e"));
+            assertTrue("Upstream component is numbered higher",
+                       scc.component("a") > scc.component("d"));
+            assertEquals("Members of a cycle",
+                         new HashSet<String>(Arrays.asList("a", "b", "c")),
+                         new HashSet<String>(scc.members(scc.component("b"))));
+            assertFalse("Graph has cycles", scc.isAcyclic());
+            checkOrder(g, scc);
+        }
+    }
+
+    @Test
+    public void acyclicAndSelfLoops()
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+
+        for (StronglyConnectedComponents<String> scc : both(g)) {
+            assertEquals("Every vertex alone", 3, scc.count());
+            assertTrue("No cycles", scc.isAcyclic());
+        }
+        g.addEdge("b", "b");
+        for (StronglyConnectedComponents<String> scc : both(g)) {
+            assertEquals("A self-loop does not merge components", 3, scc.count());
+            assertFalse("A self-loop is a cycle", scc.isAcyclic());
+        }
+        try {
+            new StronglyConnectedComponents<String>(g).component("x");
+            fail("Component of a missing vertex");
+        } catch (RuntimeException expected) {
+        }
+    }
+
+    @Test
+    public void longPathsDoNotOverflowTheStack()
+    {
+        Graph<Integer> g = GraphFactory.<Integer>createCsrGraph();
+        int n = 200000;
+        for (int i = 0; i + 1 < n; i++) {
+            g.addEdge(i, i + 1);
+        }
+        g.addEdge(n - 1, 0);
+
+        for (StronglyConnectedComponents<Integer> scc : both(g)) {
+            assertEquals("One long cycle", 1, scc.count());
+        }
+    }
+
+    @Test
+    public void parallelMatchesTarjan()
+    {
+        Graph<Integer> g = GraphFactory.<Integer>createCsrGraph();
+        Random random = new Random(21);
+        int n = 30000;
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+        }
+        // Many small cycles, chained together, with random edges on top.
+        for (int i = 0; i < n; i++) {
+            g.addEdge(i, i % 5 == 4 ? i - 4 : i + 1);
+        }
+        for (int i = 0; i < 20000; i++) {
+            int u = random.nextInt(n);
+            g.addEdge(u, Math.min(n - 1, u + 1 + random.nextInt(50)));
+        }
+        for (int i = 0; i < 40; i++) {
+            int u = random.nextInt(n);
+            g.addEdge(u, random.nextInt(n));
+        }
+
+        StronglyConnectedComponents<Integer> sequential =
+            new StronglyConnectedComponents<Integer>(g);
+        StronglyConnectedComponents<Integer> parallel = StronglyConnectedComponents.parallel(g);
+        assertEquals("Same number of components", sequential.count(), parallel.count());
+        Map<Integer, Integer> matching = new HashMap<Integer, Integer>();
+        for (Integer v : sequential.vertices()) {
+            Integer previous = matching.put(sequential.component(v), parallel.component(v));
+            if (previous != null) {
+                assertEquals("Same partition at " + v, previous,
+                             Integer.valueOf(parallel.component(v)));
+            }
+        }
+        checkOrder(g, sequential);
+        checkOrder(g, parallel);
+    }
+
+    @Test(timeout = 30000)
+    public void manySmallCyclesDoNotOverflowTheStack()
+    {
+        // Trimming removes none of these, and each pivot finds only
+        // one of them.
+        Graph<Integer> disjoint = GraphFactory.<Integer>createCsrGraph();
+        Graph<Integer> chained = GraphFactory.<Integer>createCsrGraph();
+        int cycles = 100000;
+        for (int i = 0; i < cycles; i++) {
+            disjoint.addEdge(2 * i, 2 * i + 1);
+            disjoint.addEdge(2 * i + 1, 2 * i);
+            chained.addEdge(2 * i, 2 * i + 1);
+            chained.addEdge(2 * i + 1, 2 * i);
+            if (i > 0 && i % 3 != 0) {
+                chained.addEdge(2 * i, 2 * i - 1);
+            }
+        }
+
+        StronglyConnectedComponents<Integer> scc = StronglyConnectedComponents.parallel(disjoint);
+        assertEquals("One component per cycle", cycles, scc.count());
+        for (int i = 0; i < cycles; i += 997) {
+            assertEquals("Cycle ends together", scc.component(2 * i), scc.component(2 * i + 1));
+        }
+        scc = StronglyConnectedComponents.parallel(chained);
+        assertEquals("Chained cycles stay apart", cycles, scc.count());
+        checkOrder(chained, scc);
+    }
+
+    private static <V> List<StronglyConnectedComponents<V>> both(Graph<V> g)
+    {
+        List<StronglyConnectedComponents<V>> both = new ArrayList<StronglyConnectedComponents<V>>();
+        both.add(new StronglyConnectedComponents<V>(g));
+        both.add(StronglyConnectedComponents.parallel(g));
+        return both;
+    }
+
+    /**
+     * Checks that components are in reverse topological order.
+     */
+    private static <V> void checkOrder(Graph<V> g, StronglyConnectedComponents<V> scc)
+    {
+        int[] components = scc.components();
+        List<V> vertices = scc.vertices();
+        for (int i = 0; i < vertices.size(); i++) {
+            V u = vertices.get(i);
+            assertEquals("Component array matches", scc.component(u), components[i]);
+            for (V w : g.adjacentTo(u)) {
+                assertTrue("Edge " + u + " -> " + w + " goes down",
+                           scc.component(u) >= scc.component(w));
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.TopologicalSort;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class TopologicalSortTests
+{
+    @Test
+    public void ordersADag()
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("shirt", "tie");
+        g.addEdge("tie", "jacket");
+        g.addEdge("trousers", "shoes");
+        g.addEdge("trousers", "belt");
+        g.addEdge("belt", "jacket");
+        g.addEdge("shirt", "belt");
+        g.addVertex("watch");
+
+        for (TopologicalSort<String> sort : both(g)) {
+            assertTrue("No cycles", sort.isAcyclic());
+            assertEquals("Every vertex ordered", 7, sort.order().size());
+            checkOrder(g, sort.order());
+            assertEquals("Sources are level 0", 0, sort.level("watch"));
+            assertEquals("Longest path to jacket", 2, sort.level("jacket"));
+            assertEquals("Levels", 3, sort.numLevels());
+        }
+    }
+
+    @Test
+    public void stopsAtCycles()
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "b");
+        g.addEdge("c", "d");
+        g.addEdge("a", "e");
+
+        for (TopologicalSort<String> sort : both(g)) {
+            assertFalse("Has a cycle", sort.isAcyclic());
+            assertEquals("Only vertices before the cycle",
+                         new HashSet<String>(Arrays.asList("a", "e")),
+                         new HashSet<String>(sort.order()));
+            assertEquals("On the cycle", -1, sort.level("b"));
+            assertEquals("After the cycle", -1, sort.level("d"));
+        }
+    }
+
+    @Test
+    public void parallelMatchesSequential()
+    {
+        Graph<Integer> g = GraphFactory.<Integer>createCsrGraph();
+        Random random = new Random(21);
+        int n = 50000;
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 0; i < 200000; i++) {
+            int u = random.nextInt(n - 1);
+            g.addEdge(u, u + 1 + random.nextInt(Math.min(5000, n - 1 - u)));
+        }
+
+        TopologicalSort<Integer> sequential = new TopologicalSort<Integer>(g);
+        TopologicalSort<Integer> parallel = TopologicalSort.parallel(g);
+        assertTrue("No cycles", parallel.isAcyclic());
+        assertEquals("Same vertex indexes", sequential.vertices(), parallel.vertices());
+        assertArrayEquals("Same levels", sequential.levels(), parallel.levels());
+        checkOrder(g, sequential.order());
+        checkOrder(g, parallel.order());
+    }
+
+    private static <V> List<TopologicalSort<V>> both(Graph<V> g)
+    {
+        List<TopologicalSort<V>> both = new ArrayList<TopologicalSort<V>>();
+        both.add(new TopologicalSort<V>(g));
+        both.add(TopologicalSort.parallel(g));
+        return both;
+    }
+
+    private static <V> void checkOrder(Graph<V> g, List<V> order)
+    {
+        Map<V, Integer> position = new HashMap<V, Integer>();
+        for (V v : order) {
+            position.put(v, position.size());
+        }
+        for (V u : order) {
+            for (V w : g.adjacentTo(u)) {
+                assertTrue("Edge " + u + " -> " + w + " goes forward",
+                           position.get(u) < position.get(w));
+            }
+        }
+    }
+}
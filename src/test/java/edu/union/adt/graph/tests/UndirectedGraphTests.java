@@ -0,0 +1,207 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CachingGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphFile;
+import edu.union.adt.graph.MappedGraph;
+import edu.union.adt.graph.StringCodec;
+import edu.union.adt.graph.UndirectedGraph;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class UndirectedGraphTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.createUndirectedGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void edgesGoBothWaysAndCountOnce()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("b", "a");
+        g.addEdge("b", "c");
+        g.addEdge("c", "c");
+
+        assertEquals("Each edge counted once", 3, g.numEdges());
+        assertTrue("Edge one way", g.hasEdge("a", "b"));
+        assertTrue("Edge the other way", g.hasEdge("b", "a"));
+        assertEquals("Degree counts neighbors", 2, g.degree("b"));
+        assertEquals("Self-loop counts once", 2, g.degree("c"));
+        assertEquals("In-degree is degree", 2, g.inDegree("b"));
+        assertEquals("adjacentFrom is adjacentTo",
+                     sorted(g.adjacentTo("b")), sorted(g.adjacentFrom("b")));
+    }
+
+    @Test
+    public void removeEdgeInEitherOrder()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.removeEdge("b", "a");
+        assertFalse("Removed", g.hasEdge("a", "b"));
+        assertEquals("One edge left", 1, g.numEdges());
+        g.removeEdge("b", "a");
+        g.removeEdge("x", "y");
+        assertEquals("Removing a missing edge changes nothing", 1, g.numEdges());
+        assertEquals("Vertices stay", 3, g.numVertices());
+    }
+
+    @Test
+    public void removeVertexTakesItsEdges()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("b", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+        g.removeVertex("b");
+
+        assertEquals("Edges touching b are gone", 1, g.numEdges());
+        assertEquals("Neighbors forget b", 1, g.degree("a"));
+        assertFalse("No edge to b", g.hasEdge("c", "b"));
+        g.removeVertex("b");
+        assertEquals("Removing a missing vertex changes nothing", 1, g.numEdges());
+    }
+
+    @Test
+    public void pathsMatchTwoDirectedEdges()
+    {
+        Random random = new Random(7);
+        Graph<Integer> u = new UndirectedGraph<Integer>();
+        Graph<Integer> d = GraphFactory.createGraph();
+        for (int i = 0; i < 300; i++) {
+            int a = random.nextInt(100);
+            int b = random.nextInt(100);
+            u.addEdge(a, b);
+            d.addEdge(a, b);
+            d.addEdge(b, a);
+        }
+        for (int i = 0; i < 100; i++) {
+            int a = random.nextInt(100);
+            int b = random.nextInt(100);
+            if (!u.contains(a) || !u.contains(b)) {
+                continue;
+            }
+            assertEquals("Path length " + a + " " + b, d.pathLength(a, b), u.pathLength(a, b));
+            assertEquals("Both ways", u.pathLength(b, a), u.pathLength(a, b));
+            List<Integer> path = new ArrayList<Integer>();
+            for (Integer v : u.getPath(a, b)) {
+                path.add(v);
+            }
+            for (int k = 0; k + 1 < path.size(); k++) {
+                assertTrue("Path follows edges", u.hasEdge(path.get(k), path.get(k + 1)));
+            }
+        }
+        assertEquals("Distances", d.distancesFrom(0), u.distancesFrom(0));
+
+        Graph<Integer> snapshot = u.snapshot();
+        assertEquals("Snapshot is the directed equivalent", snapshot, d);
+    }
+
+    @Test
+    public void equalsIgnoresOrderOfEnds()
+    {
+        Graph<String> other = new UndirectedGraph<String>();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        other.addEdge("c", "b");
+        other.addEdge("b", "a");
+        assertEquals("Same edges", g, other);
+        assertEquals("Same hash", g.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void equalToItsSnapshot()
+    {
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "c");
+        g.addVertex("d");
+        Graph<String> snapshot = g.snapshot();
+
+        assertEquals("Snapshot holds each edge both ways", 5, snapshot.numEdges());
+        assertEquals("Graph equals its snapshot", g, snapshot);
+        assertEquals("Snapshot equals the graph", snapshot, g);
+        assertEquals("Same hash", g.hashCode(), snapshot.hashCode());
+        snapshot = GraphFactory.<String>createGraph();
+        snapshot.addEdge("a", "b");
+        snapshot.addEdge("b", "c");
+        snapshot.addEdge("c", "c");
+        snapshot.addVertex("d");
+        assertFalse("One direction only is not equal", g.equals(snapshot));
+    }
+
+    @Test
+    public void writesToGraphFile() throws IOException
+    {
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "c");
+        File file = File.createTempFile("graph", ".bin");
+        try {
+            GraphFile.write(g, file, new StringCodec());
+            MappedGraph<String> m = GraphFile.open(file, new StringCodec());
+            assertEquals("File holds the snapshot", m, g.snapshot());
+            assertEquals("File equals the graph", g, m);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void cacheDropsPathsUsingEitherDirection()
+    {
+        CachingGraph<String> cached = GraphFactory.createCachingGraph(g);
+        cached.addEdge("a", "b");
+        cached.addEdge("b", "c");
+        assertEquals("Path", 2, cached.pathLength("c", "a"));
+        cached.removeEdge("a", "b");
+        assertFalse("Path that used (b, a) is gone", cached.hasPath("c", "a"));
+    }
+
+    @Test
+    public void builderMakesUndirectedGraphs()
+    {
+        assertTrue("Undirected", GraphFactory.<String>builder()
+                   .directed(false).expectedVertices(1000).build() instanceof UndirectedGraph);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noConcurrentUndirectedGraph()
+    {
+        GraphFactory.<String>builder().directed(false).concurrencyLevel(4).build();
+    }
+
+    private List<String> sorted(Iterable<String> vertices)
+    {
+        List<String> list = new ArrayList<String>();
+        for (String v : vertices) {
+            list.add(v);
+        }
+        Collections.sort(list);
+        return list;
+    }
+}
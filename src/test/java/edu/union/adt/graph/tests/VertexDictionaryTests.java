@@ -0,0 +1,129 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.VertexDictionary;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class VertexDictionaryTests
+{
+    @Test
+    public void internGivesDenseIds()
+    {
+        VertexDictionary<String> d = new VertexDictionary<String>();
+        assertEquals("First id", 0, d.intern("a"));
+        assertEquals("Second id", 1, d.intern("b"));
+        assertEquals("Same vertex, same id", 0, d.intern("a"));
+        assertEquals("Null is a vertex", 2, d.intern(null));
+        assertEquals("Null is found", 2, d.id(null));
+        assertEquals("Missing vertex", -1, d.id("c"));
+        assertEquals("Size", 3, d.size());
+        assertEquals("Vertex by id", "b", d.vertex(1));
+    }
+
+    @Test
+    public void removedIdsAreReused()
+    {
+        VertexDictionary<String> d = new VertexDictionary<String>();
+        d.intern("a");
+        d.intern("b");
+        d.intern("c");
+        assertEquals("Remove gives the id", 1, d.remove("b"));
+        assertEquals("Removing again does nothing", -1, d.remove("b"));
+        assertFalse("Id is free", d.contains(1));
+        assertNull("Free id has no vertex", d.vertex(1));
+        assertEquals("Ids before and after stay", 2, d.id("c"));
+
+        assertEquals("Freed id is reused", 1, d.intern("d"));
+        assertEquals("Id limit is unchanged", 3, d.idLimit());
+        assertEquals("Vertices in id order", Arrays.asList("a", "d", "c"), list(d));
+    }
+
+    @Test
+    public void matchesHashMapUnderChurn()
+    {
+        VertexDictionary<Integer> d = new VertexDictionary<Integer>();
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        Random random = new Random(25);
+        for (int i = 0; i < 100000; i++) {
+            // Multiples of 1024 collide in the low bits.
+            Integer v = random.nextInt(2000) * 1024;
+            if (random.nextInt(3) == 0) {
+                Integer id = expected.remove(v);
+                assertEquals("Remove", id == null ? -1 : (int) id, d.remove(v));
+            } else {
+                int id = d.intern(v);
+                Integer old = expected.put(v, id);
+                assertTrue("Id is stable", old == null || old == id);
+            }
+        }
+        assertEquals("Size", expected.size(), d.size());
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals("Every vertex is found", (int) e.getValue(), d.id(e.getKey()));
+            assertEquals("Every id names its vertex", e.getKey(), d.vertex(e.getValue()));
+        }
+        assertEquals("Iteration sees every vertex",
+                     expected.keySet(), new HashSet<Integer>(list(d)));
+    }
+
+    @Test
+    public void stringsRoundTrip()
+    {
+        VertexDictionary<String> d = VertexDictionary.forStrings();
+        String[] names = { "", "plain", "caf\u00e9", "\u65e5\u672c", "mixed \u0101 x" };
+        for (int i = 0; i < names.length; i++) {
+            assertEquals("Dense ids", i, d.intern(names[i]));
+        }
+        for (int i = 0; i < names.length; i++) {
+            assertEquals("Found by an equal String", i, d.id(new String(names[i])));
+            assertEquals("Characters come back", names[i], d.vertex(i));
+        }
+        assertEquals("Missing String", -1, d.id("cafe"));
+        try {
+            d.intern(null);
+            fail("Null is not a String vertex");
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    @Test
+    public void stringArenaIsCompacted()
+    {
+        VertexDictionary<String> d = VertexDictionary.forStrings();
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 5000; i++) {
+                d.intern("round " + round + " vertex " + i);
+            }
+            for (int i = 0; i < 5000; i++) {
+                if (i % 10 != 0) {
+                    d.remove("round " + round + " vertex " + i);
+                }
+            }
+        }
+        assertEquals("Survivors", 20 * 500, d.size());
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 5000; i += 10) {
+                String name = "round " + round + " vertex " + i;
+                assertEquals("Survivor keeps its characters", name, d.vertex(d.id(name)));
+            }
+        }
+    }
+
+    private static <V> List<V> list(VertexDictionary<V> d)
+    {
+        List<V> list = new ArrayList<V>();
+        for (V v : d.vertices()) {
+            list.add(v);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,250 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Heuristic;
+import edu.union.adt.graph.WeightedArrayGraph;
+import edu.union.adt.graph.WeightedGraph;
+import java.util.*;
+
+@RunWith(JUnit4.class)
+public class WeightedGraphTests
+{
+    private static final double DELTA = 1e-9;
+
+    private WeightedGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createWeightedGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void cheapestIsNotShortest()
+    {
+        g.addEdge("A", "D", 10.0);
+        g.addEdge("A", "B", 1.0);
+        g.addEdge("B", "C", 2.0);
+        g.addEdge("C", "D", 3.0);
+
+        assertEquals("Fewest edges", 1, g.pathLength("A", "D"));
+        assertEquals("Lowest cost", 6.0, g.cost("A", "D"), DELTA);
+        assertEquals("Cheapest path", Arrays.asList("A", "B", "C", "D"),
+                     g.getCheapestPath("A", "D"));
+
+        g.addEdge("A", "D", 5.0);
+        assertEquals("Changed weight", 5.0, g.weight("A", "D"), DELTA);
+        assertEquals("Edge count unchanged by reweighting", 4, g.numEdges());
+        assertEquals("Cheapest path after reweighting", Arrays.asList("A", "D"),
+                     g.getCheapestPath("A", "D"));
+    }
+
+    @Test
+    public void unweightedEdgesWeighOne()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "B", 0.5);
+        g.addEdge("A", "B");
+
+        assertEquals("Plain addEdge keeps an existing weight", 0.5, g.weight("A", "B"), DELTA);
+        g.addEdge("B", "C");
+        assertEquals("Plain addEdge weighs 1.0", 1.0, g.weight("B", "C"), DELTA);
+    }
+
+    @Test
+    public void edgeCases()
+    {
+        g.addEdge("A", "B", 0.0);
+        g.addVertex("C");
+
+        assertEquals("Zero-weight edge", 0.0, g.cost("A", "B"), DELTA);
+        assertEquals("No path", Double.POSITIVE_INFINITY, g.cost("B", "A"), DELTA);
+        assertTrue("No path, no vertices", isEmpty(g.getCheapestPath("A", "C")));
+        assertEquals("Missing vertex", Double.POSITIVE_INFINITY, g.cost("A", "X"), DELTA);
+        assertTrue("Missing vertex, no vertices", isEmpty(g.getCheapestPath("X", "A")));
+        assertEquals("Path to itself", 0.0, g.cost("C", "C"), DELTA);
+        assertEquals("Path to itself", Arrays.asList("C"), g.getCheapestPath("C", "C"));
+
+        try {
+            g.addEdge("A", "C", -1.0);
+            fail("Negative weights are rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            g.addEdge("A", "C", Double.NaN);
+            fail("NaN weights are rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertFalse("Rejected edge was not added", g.hasEdge("A", "C"));
+        try {
+            g.weight("B", "A");
+            fail("Weight of a missing edge");
+        } catch (RuntimeException expected) {
+        }
+    }
+
+    @Test
+    public void removals()
+    {
+        g.addEdge("A", "B", 1.0);
+        g.addEdge("B", "C", 1.0);
+        g.addEdge("A", "C", 5.0);
+        g.addEdge("C", "B", 1.0);
+
+        g.removeVertex("B");
+        assertEquals("Edges touching the vertex are gone", 1, g.numEdges());
+        assertEquals("Detour", 5.0, g.cost("A", "C"), DELTA);
+
+        g.removeEdge("A", "C");
+        assertEquals("No path left", Double.POSITIVE_INFINITY, g.cost("A", "C"), DELTA);
+
+        g.addEdge("D", "A", 2.0);
+        assertEquals("A reused id starts with no edges", 1, g.degree("D"));
+        assertEquals("Weight on a reused id", 2.0, g.cost("D", "A"), DELTA);
+    }
+
+    @Test
+    public void presizedGraphGrowsPastItsSize()
+    {
+        WeightedGraph<Integer> sized = new WeightedArrayGraph<Integer>(10);
+        for (int i = 0; i < 100; i++) {
+            sized.addEdge(i, i + 1, 0.5);
+        }
+        assertEquals("Vertices past the expected count", 101, sized.numVertices());
+        assertEquals("Cost along the chain", 50.0, sized.cost(0, 100), 1e-9);
+    }
+
+    @Test
+    public void matchesFloydWarshall()
+    {
+        Random random = new Random(18);
+        int n = 40;
+        double[][] best = new double[n][n];
+        for (double[] row : best) {
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+        }
+        for (int i = 0; i < 200; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            double w = random.nextInt(20);
+            g.addEdge("v" + u, "v" + v, w);
+            best[u][v] = w;
+        }
+        for (int i = 0; i < n; i++) {
+            g.addVertex("v" + i);
+            best[i][i] = 0.0;
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    best[i][j] = Math.min(best[i][j], best[i][k] + best[k][j]);
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                String from = "v" + i;
+                String to = "v" + j;
+                assertEquals(from + " to " + to, best[i][j], g.cost(from, to), DELTA);
+                assertEquals("Path cost " + from + " to " + to, best[i][j],
+                             pathCost(g.getCheapestPath(from, to)), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void aStarMatchesDijkstraOnAGrid()
+    {
+        final int side = 30;
+        Random random = new Random(42);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                if (c + 1 < side) {
+                    g.addEdge(cell(r, c), cell(r, c + 1), 1 + random.nextInt(5));
+                    g.addEdge(cell(r, c + 1), cell(r, c), 1 + random.nextInt(5));
+                }
+                if (r + 1 < side) {
+                    g.addEdge(cell(r, c), cell(r + 1, c), 1 + random.nextInt(5));
+                    g.addEdge(cell(r + 1, c), cell(r, c), 1 + random.nextInt(5));
+                }
+            }
+        }
+        Heuristic<String> manhattan = new Heuristic<String>() {
+            public double estimate(String vertex, String target)
+            {
+                return Math.abs(row(vertex) - row(target)) + Math.abs(col(vertex) - col(target));
+            }
+        };
+        for (int i = 0; i < 50; i++) {
+            String from = cell(random.nextInt(side), random.nextInt(side));
+            String to = cell(random.nextInt(side), random.nextInt(side));
+            double expected = g.cost(from, to);
+            assertEquals("A* cost " + from + " to " + to, expected,
+                         g.cost(from, to, manhattan), DELTA);
+            Iterable<String> path = g.getCheapestPath(from, to, manhattan);
+            assertEquals("A* path cost " + from + " to " + to, expected, pathCost(path), DELTA);
+            assertEquals("A* path ends", to, last(path));
+        }
+    }
+
+    private double pathCost(Iterable<String> path)
+    {
+        double total = 0.0;
+        String previous = null;
+        boolean any = false;
+        for (String v : path) {
+            if (previous != null) {
+                total += g.weight(previous, v);
+            }
+            previous = v;
+            any = true;
+        }
+        return any ? total : Double.POSITIVE_INFINITY;
+    }
+
+    private static String cell(int r, int c)
+    {
+        return r + "," + c;
+    }
+
+    private static int row(String cell)
+    {
+        return Integer.parseInt(cell.substring(0, cell.indexOf(',')));
+    }
+
+    private static int col(String cell)
+    {
+        return Integer.parseInt(cell.substring(cell.indexOf(',') + 1));
+    }
+
+    private static <T> T last(Iterable<T> items)
+    {
+        T last = null;
+        for (T item : items) {
+            last = item;
+        }
+        return last;
+    }
+
+    private static boolean isEmpty(Iterable<?> items)
+    {
+        return !items.iterator().hasNext();
+    }
+}